@@ -0,0 +1,21 @@
+package com.letocart.java_apirest_2026.application.port.in;
+
+import com.letocart.java_apirest_2026.dto.AccountImportReport;
+import com.letocart.java_apirest_2026.dto.AccountImportRow;
+
+import java.util.Iterator;
+
+/**
+ * Port d'entrée pour l'import de comptes en masse
+ * (Hexagonal Architecture - Input Port / Use Case Interface)
+ */
+public interface ImportAccountsUseCase {
+
+    /**
+     * Crée les comptes lus au fil de l'eau, par lots
+     * Chaque ligne est créée ou rejetée indépendamment des autres.
+     * @param rows Lignes du fichier, lues à la demande
+     * @return Rapport ligne par ligne
+     */
+    AccountImportReport importAccounts(Iterator<AccountImportRow> rows);
+}
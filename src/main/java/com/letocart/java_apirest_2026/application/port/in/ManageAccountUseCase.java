@@ -1,7 +1,8 @@
 package com.letocart.java_apirest_2026.application.port.in;
 
+import com.letocart.java_apirest_2026.dto.AccountView;
+import com.letocart.java_apirest_2026.dto.CursorPage;
 import com.letocart.java_apirest_2026.model.Account;
-import java.util.List;
 
 /**
  * Port d'entrée pour la gestion des comptes
@@ -9,9 +10,9 @@ import java.util.List;
  */
 public interface ManageAccountUseCase {
     
-    List<Account> getAllAccounts();
+    CursorPage<AccountView> getAllAccounts(String after, int limit);
     
-    Account getAccountById(Long id);
+    AccountView getAccountById(Long id);
     
     Account updateAccount(Long id, Account account);
     
@@ -0,0 +1,219 @@
+package com.letocart.java_apirest_2026.application.usecase;
+
+import com.letocart.java_apirest_2026.application.port.in.ImportAccountsUseCase;
+import com.letocart.java_apirest_2026.domain.port.out.AccountRepositoryPort;
+import com.letocart.java_apirest_2026.domain.port.out.AddressValidationPort;
+import com.letocart.java_apirest_2026.dto.AccountImportReport;
+import com.letocart.java_apirest_2026.dto.AccountImportRow;
+import com.letocart.java_apirest_2026.model.Account;
+import com.letocart.java_apirest_2026.model.Address;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Use Case d'import de comptes en masse (onboarding d'un partenaire)
+ * Couche Application - Architecture Hexagonale
+ *
+ * Les lignes sont traitées par lots de CHUNK_SIZE, chaque lot en un nombre fixe d'allers-retours :
+ * - une requête pour les emails déjà utilisés
+ * - un appel de géocodage par lot pour les adresses (cache consulté d'abord)
+ * - une transaction d'insertions en batch JDBC
+ * Le fichier n'est jamais chargé entièrement en mémoire.
+ *
+ * @author LetoCart Team
+ * @version 1.0
+ */
+@Service
+@Timed(value = "app.usecase", histogram = true)
+public class AccountImportUseCaseImpl implements ImportAccountsUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountImportUseCaseImpl.class);
+
+    static final int CHUNK_SIZE = 500;
+
+    private final AccountRepositoryPort accountRepository;
+    private final AddressValidationPort addressValidation;
+
+    public AccountImportUseCaseImpl(
+            AccountRepositoryPort accountRepository,
+            AddressValidationPort addressValidation) {
+        this.accountRepository = accountRepository;
+        this.addressValidation = addressValidation;
+    }
+
+    /**
+     * Importe les comptes lus au fil de l'eau
+     * @param rows Lignes du fichier
+     * @return Rapport ligne par ligne (créé avec son ID, ou rejeté avec le motif)
+     */
+    @Override
+    public AccountImportReport importAccounts(Iterator<AccountImportRow> rows) {
+        AccountImportReport report = new AccountImportReport();
+        Set<String> seenEmails = new HashSet<>();
+        List<AccountImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == CHUNK_SIZE) {
+                importChunk(chunk, seenEmails, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, seenEmails, report);
+        }
+        return report;
+    }
+
+    private void importChunk(List<AccountImportRow> chunk, Set<String> seenEmails, AccountImportReport report) {
+        String[] rejections = new String[chunk.size()];
+        Long[] accountIds = new Long[chunk.size()];
+
+        // 1. Lignes illisibles, champs obligatoires et doublons dans le fichier
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            AccountImportRow row = chunk.get(i);
+            if (row.error() != null) {
+                rejections[i] = row.error();
+                continue;
+            }
+            String missing = missingField(row.account());
+            if (missing != null) {
+                rejections[i] = "Champ obligatoire manquant : " + missing;
+            } else if (!seenEmails.add(normalizeEmail(row.account()))) {
+                rejections[i] = "Email en double dans le fichier";
+            } else {
+                // Forme normalisée (casse indifférente avec la collation MySQL par défaut) et forme saisie
+                emails.add(normalizeEmail(row.account()));
+                emails.add(row.account().getEmail().trim());
+            }
+        }
+
+        // 2. Unicité de l'email : une seule requête pour tout le lot
+        if (!emails.isEmpty()) {
+            Set<String> existing = accountRepository.findExistingEmails(emails);
+            for (int i = 0; i < chunk.size(); i++) {
+                if (rejections[i] == null && existing.contains(normalizeEmail(chunk.get(i).account()))) {
+                    rejections[i] = "Un compte avec cet email existe déjà";
+                }
+            }
+        }
+
+        // 3. Validation des adresses : un seul appel de géocodage par lot
+        List<Integer> addressRows = new ArrayList<>();
+        List<Address> addresses = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (rejections[i] == null && chunk.get(i).account().getAddress() != null) {
+                addressRows.add(i);
+                addresses.add(chunk.get(i).account().getAddress());
+            }
+        }
+        if (!addresses.isEmpty()) {
+            List<Boolean> valid = addressValidation.validateAddresses(addresses);
+            for (int i = 0; i < addressRows.size(); i++) {
+                if (valid.get(i) == null) {
+                    rejections[addressRows.get(i)] = "Validation de l'adresse indisponible, réessayez plus tard";
+                } else if (!valid.get(i)) {
+                    rejections[addressRows.get(i)] = "L'adresse fournie n'est pas valide ou n'existe pas";
+                }
+            }
+        }
+
+        // 4. Enregistrement des lignes acceptées
+        List<Integer> acceptedRows = new ArrayList<>();
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (rejections[i] == null) {
+                Account account = chunk.get(i).account();
+                if (account.getAddress() != null) {
+                    account.getAddress().setAccount(account);
+                }
+                acceptedRows.add(i);
+                accounts.add(account);
+            }
+        }
+        save(accounts, acceptedRows, accountIds, rejections);
+
+        // 5. Rapport, dans l'ordre du fichier
+        for (int i = 0; i < chunk.size(); i++) {
+            AccountImportRow row = chunk.get(i);
+            String email = row.account() != null ? row.account().getEmail() : null;
+            if (rejections[i] != null) {
+                report.rejected(row.line(), email, rejections[i]);
+            } else {
+                report.created(row.line(), email, accountIds[i]);
+            }
+        }
+    }
+
+    /**
+     * Enregistre le lot en une transaction ; si elle échoue (email créé entre-temps par exemple),
+     * les comptes sont réessayés un par un pour n'écarter que les lignes fautives
+     */
+    private void save(List<Account> accounts, List<Integer> rows, Long[] accountIds, String[] rejections) {
+        if (accounts.isEmpty()) {
+            return;
+        }
+        try {
+            List<Account> saved = accountRepository.saveAll(accounts);
+            for (int i = 0; i < saved.size(); i++) {
+                accountIds[rows.get(i)] = saved.get(i).getAccountId();
+            }
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Lot de {} comptes non enregistré, réessai compte par compte", accounts.size(), e);
+        }
+        for (int i = 0; i < accounts.size(); i++) {
+            Account account = accounts.get(i);
+            clearGeneratedIds(account);
+            try {
+                accountIds[rows.get(i)] = accountRepository.saveAll(List.of(account)).get(0).getAccountId();
+            } catch (RuntimeException e) {
+                log.warn("Échec de l'enregistrement d'un compte importé", e);
+                clearGeneratedIds(account);
+                rejections[rows.get(i)] = "Échec de l'enregistrement du compte";
+            }
+        }
+    }
+
+    /**
+     * Les identifiants attribués lors d'une transaction annulée ne correspondent à aucune ligne en base
+     */
+    private static void clearGeneratedIds(Account account) {
+        account.setAccountId(null);
+        if (account.getAddress() != null) {
+            account.getAddress().setAddressId(null);
+        }
+    }
+
+    private static String missingField(Account account) {
+        if (isBlank(account.getFirstName())) return "firstName";
+        if (isBlank(account.getLastName())) return "lastName";
+        if (isBlank(account.getEmail())) return "email";
+        if (isBlank(account.getPassword())) return "password";
+        Address address = account.getAddress();
+        if (address != null) {
+            if (isBlank(address.getStreet())) return "street";
+            if (isBlank(address.getPostalCode())) return "postalCode";
+            if (isBlank(address.getCity())) return "city";
+            if (isBlank(address.getCountry())) return "country";
+        }
+        return null;
+    }
+
+    private static String normalizeEmail(Account account) {
+        return account.getEmail().trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
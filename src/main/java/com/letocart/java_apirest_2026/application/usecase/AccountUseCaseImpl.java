@@ -4,11 +4,14 @@ import com.letocart.java_apirest_2026.application.port.in.CreateAccountUseCase;
 import com.letocart.java_apirest_2026.application.port.in.ManageAccountUseCase;
 import com.letocart.java_apirest_2026.domain.port.out.AccountRepositoryPort;
 import com.letocart.java_apirest_2026.domain.port.out.AddressValidationPort;
+import com.letocart.java_apirest_2026.dto.AccountView;
+import com.letocart.java_apirest_2026.dto.CursorPage;
 import com.letocart.java_apirest_2026.model.Account;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Use Case pour la gestion des comptes (Account)
@@ -19,6 +22,7 @@ import java.util.List;
  * @version 1.0
  */
 @Service
+@Timed(value = "app.usecase", histogram = true)
 @Transactional
 public class AccountUseCaseImpl implements CreateAccountUseCase, ManageAccountUseCase {
 
@@ -45,6 +49,11 @@ public class AccountUseCaseImpl implements CreateAccountUseCase, ManageAccountUs
      */
     @Override
     public Account createAccount(Account account) {
+        // Lancer la validation d'adresse (appel HTTP non bloquant) pendant la vérification de l'email
+        CompletableFuture<Boolean> addressValid = account.getAddress() != null
+                ? addressValidation.validateAddressAsync(account.getAddress())
+                : CompletableFuture.completedFuture(true);
+
         // 1. Vérifier l'unicité de l'email (règle métier)
         if (accountRepository.existsByEmail(account.getEmail())) {
             throw new IllegalArgumentException("Un compte avec cet email existe déjà");
@@ -52,7 +61,7 @@ public class AccountUseCaseImpl implements CreateAccountUseCase, ManageAccountUs
 
         // 2. Valider l'adresse via API gouvernementale (exigence TD)
         if (account.getAddress() != null) {
-            if (!addressValidation.validateAddress(account.getAddress())) {
+            if (!addressValid.join()) {
                 throw new IllegalArgumentException("L'adresse fournie n'est pas valide ou n'existe pas");
             }
             // Établir la relation bidirectionnelle
@@ -64,23 +73,28 @@ public class AccountUseCaseImpl implements CreateAccountUseCase, ManageAccountUs
     }
 
     /**
-     * Récupérer tous les comptes
-     * @return Liste de tous les comptes
+     * Récupérer les comptes page par page (pagination keyset)
+     * @param after Curseur opaque de la page précédente (null pour la première page)
+     * @param limit Taille de page demandée
+     * @return Page de comptes avec le curseur suivant
+     * @throws IllegalArgumentException si le curseur est invalide
      */
     @Override
-    public List<Account> getAllAccounts() {
-        return accountRepository.findAll();
+    @Transactional(readOnly = true)
+    public CursorPage<AccountView> getAllAccounts(String after, int limit) {
+        return accountRepository.findPage(after, limit);
     }
 
     /**
      * Récupérer un compte par son ID
      * @param id L'identifiant du compte
-     * @return Le compte trouvé
+     * @return Le compte trouvé (vue en lecture seule)
      * @throws RuntimeException si le compte n'existe pas
      */
     @Override
-    public Account getAccountById(Long id) {
-        return accountRepository.findById(id)
+    @Transactional(readOnly = true)
+    public AccountView getAccountById(Long id) {
+        return accountRepository.findViewById(id)
                 .orElseThrow(() -> new RuntimeException("Compte non trouvé avec l'ID : " + id));
     }
 
@@ -93,7 +107,8 @@ public class AccountUseCaseImpl implements CreateAccountUseCase, ManageAccountUs
      */
     @Override
     public Account updateAccount(Long id, Account account) {
-        Account existingAccount = getAccountById(id);
+        Account existingAccount = accountRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Compte non trouvé avec l'ID : " + id));
         
         // Mise à jour des champs (pattern: modifier les champs un par un)
         existingAccount.setFirstName(account.getFirstName());
@@ -0,0 +1,88 @@
+package com.letocart.java_apirest_2026.config;
+
+import com.letocart.java_apirest_2026.datasource.ReadWriteRoutingDataSource;
+import com.letocart.java_apirest_2026.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routage lecture / écriture : transactions en lecture seule sur les réplicas MySQL
+ *
+ * Actif dès qu'un réplica est déclaré (app.datasource.replicas[0].url) ; sinon la source de
+ * données auto-configurée par Spring Boot est utilisée telle quelle. Le primaire garde les
+ * réglages spring.datasource.* ; chaque réplica reprend ses identifiants et son pilote sauf
+ * s'ils sont redéfinis, et accepte ses propres réglages Hikari (app.datasource.replicas[n].hikari.*).
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas[0].url")
+public class DataSourceRoutingConfig {
+
+    private static final String REPLICAS = "app.datasource.replicas";
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(DataSourceProperties properties, Environment environment,
+                                                                 MeterRegistry meterRegistry) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        configure(primary, ReadWriteRoutingDataSource.PRIMARY, meterRegistry);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; binder.bind(REPLICAS + "[" + i + "].url", String.class).isBound(); i++) {
+            String prefix = REPLICAS + "[" + i + "]";
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(binder.bind(prefix + ".url", String.class).get())
+                    .username(binder.bind(prefix + ".username", String.class).orElse(properties.determineUsername()))
+                    .password(binder.bind(prefix + ".password", String.class).orElse(properties.determinePassword()))
+                    .driverClassName(binder.bind(prefix + ".driver-class-name", String.class)
+                            .orElse(properties.determineDriverClassName()))
+                    .build();
+            binder.bind(prefix + ".hikari", Bindable.ofInstance(replica));
+            configure(replica, "replica-" + (i + 1), meterRegistry);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReadWriteRoutingDataSource(primary, replicas, meterRegistry);
+    }
+
+    /**
+     * Source de données de l'application (JPA, JdbcTemplate) : la connexion réelle n'est choisie
+     * qu'à la première requête, une fois la transaction (et son caractère lecture seule) ouverte
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReadWriteRoutingDataSource readWriteRoutingDataSource,
+                                               @Value("${app.datasource.replica-max-lag-ms:5000}") long maxLagMillis) {
+        return new ReplicaLagMonitor(readWriteRoutingDataSource, maxLagMillis);
+    }
+
+    /**
+     * Nom du pool (tag des métriques hikaricp.*) et métriques Micrometer, avant la première connexion
+     */
+    private static void configure(HikariDataSource pool, String name, MeterRegistry meterRegistry) {
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+    }
+}
@@ -19,6 +19,7 @@ public class OpenApiConfig {
     public OpenAPI customOpenAPI() {
         // Nom du schéma de sécurité
         final String securitySchemeName = "basicAuth";
+        final String bearerSchemeName = "bearerAuth";
 
         return new OpenAPI()
                 // Informations sur l'API
@@ -39,8 +40,16 @@ public class OpenApiConfig {
                                         .name(securitySchemeName)
                                         .type(SecurityScheme.Type.HTTP)
                                         .scheme("basic")
-                                        .description("Authentification HTTP Basic - Utilisez 'admin/adminpassword' pour accès complet")))
-                // Application du schéma de sécurité à toutes les opérations
-                .addSecurityItem(new SecurityRequirement().addList(securitySchemeName));
+                                        .description("Authentification HTTP Basic - Utilisez 'admin/adminpassword' pour accès complet"))
+                        // Jeton obtenu via POST /api/auth/token (évite un calcul BCrypt par requête)
+                        .addSecuritySchemes(bearerSchemeName,
+                                new SecurityScheme()
+                                        .name(bearerSchemeName)
+                                        .type(SecurityScheme.Type.HTTP)
+                                        .scheme("bearer")
+                                        .description("Jeton obtenu via POST /api/auth/token")))
+                // Application des schémas de sécurité à toutes les opérations (l'un ou l'autre)
+                .addSecurityItem(new SecurityRequirement().addList(securitySchemeName))
+                .addSecurityItem(new SecurityRequirement().addList(bearerSchemeName));
     }
 }
@@ -1,7 +1,10 @@
 package com.letocart.java_apirest_2026.config;
 
+import com.letocart.java_apirest_2026.security.BearerTokenAuthenticationFilter;
+import com.letocart.java_apirest_2026.security.TokenService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -13,6 +16,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
@@ -52,7 +56,7 @@ public class SecurityConfig {
      * Configuration de la chaîne de filtres de sécurité
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, TokenService tokenService) throws Exception {
         http
                 // Configuration de l'autorisation des requêtes
                 .authorizeHttpRequests(auth -> auth
@@ -60,10 +64,18 @@ public class SecurityConfig {
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html", "/swagger-resources/**", "/webjars/**").permitAll()
                         // Endpoints de test accessibles sans authentification
                         .requestMatchers("/", "/status").permitAll()
+                        // Supervision : santé ouverte ; le scrape Prometheus (requêtes SQL par URI, erreurs BAN,
+                        // pool, retard des réplicas) et les autres endpoints Actuator sont réservés aux ADMIN
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        // Émission / révocation de jeton : tout utilisateur authentifié
+                        .requestMatchers("/api/auth/token").authenticated()
                         // Endpoints ADMIN : gestion des comptes réservée aux ADMIN uniquement
                         .requestMatchers("/api/accounts/**").hasRole("ADMIN")
                         // Endpoints USER : consultation des produits accessible aux utilisateurs authentifiés
                         .requestMatchers("/api/products/**").hasAnyRole("USER", "ADMIN")
+                        // Changement de statut des commandes en masse (logistique) réservé aux ADMIN
+                        .requestMatchers(HttpMethod.PATCH, "/api/orders/status").hasRole("ADMIN")
                         // Endpoints USER : gestion des commandes et avis accessible aux utilisateurs authentifiés
                         .requestMatchers("/api/orders/**", "/api/notices/**").hasAnyRole("USER", "ADMIN")
                         // Tous les autres endpoints nécessitent une authentification
@@ -76,6 +88,8 @@ public class SecurityConfig {
                 )
                 // Activation de l'authentification HTTP Basic
                 .httpBasic(Customizer.withDefaults())
+                // Jeton Bearer (POST /api/auth/token) : vérification HMAC au lieu d'un BCrypt par requête
+                .addFilterBefore(new BearerTokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class)
                 // Désactivation de CSRF (pour les API REST)
                 .csrf(csrf -> csrf.disable())
                 // Configuration des headers pour permettre à Swagger de fonctionner
@@ -0,0 +1,24 @@
+package com.letocart.java_apirest_2026.config;
+
+import com.letocart.java_apirest_2026.monitoring.SqlStatementCounter;
+import com.letocart.java_apirest_2026.monitoring.SqlTimingSessionListener;
+import org.hibernate.cfg.JdbcSettings;
+import org.hibernate.cfg.SessionEventSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Branche le comptage des requêtes SQL sur Hibernate (budget par requête HTTP : SqlStatementBudgetFilter)
+ */
+@Configuration
+public class SqlMonitoringConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementMonitoring() {
+        return properties -> {
+            properties.put(JdbcSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+            properties.put(SessionEventSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingSessionListener.class.getName());
+        };
+    }
+}
@@ -1,17 +1,24 @@
 package com.letocart.java_apirest_2026.controller;
 
 import com.letocart.java_apirest_2026.application.port.in.CreateAccountUseCase;
+import com.letocart.java_apirest_2026.application.port.in.ImportAccountsUseCase;
 import com.letocart.java_apirest_2026.application.port.in.ManageAccountUseCase;
+import com.letocart.java_apirest_2026.dto.AccountImportReport;
+import com.letocart.java_apirest_2026.dto.AccountView;
+import com.letocart.java_apirest_2026.dto.CursorPage;
+import com.letocart.java_apirest_2026.infrastructure.adapter.in.file.AccountImportReader;
 import com.letocart.java_apirest_2026.model.Account;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.InputStream;
 
 /**
  * REST Controller pour la gestion des comptes (Account)
@@ -30,17 +37,25 @@ public class AccountController {
 
     private final CreateAccountUseCase createAccountUseCase;
     private final ManageAccountUseCase manageAccountUseCase;
+    private final ImportAccountsUseCase importAccountsUseCase;
+    private final AccountImportReader accountImportReader;
 
     /**
      * Injection des use cases via constructeur
      * @param createAccountUseCase Use case de création de compte
      * @param manageAccountUseCase Use case de gestion des comptes
+     * @param importAccountsUseCase Use case d'import de comptes en masse
+     * @param accountImportReader Lecture des fichiers d'import (CSV / NDJSON)
      */
     public AccountController(
             CreateAccountUseCase createAccountUseCase,
-            ManageAccountUseCase manageAccountUseCase) {
+            ManageAccountUseCase manageAccountUseCase,
+            ImportAccountsUseCase importAccountsUseCase,
+            AccountImportReader accountImportReader) {
         this.createAccountUseCase = createAccountUseCase;
         this.manageAccountUseCase = manageAccountUseCase;
+        this.importAccountsUseCase = importAccountsUseCase;
+        this.accountImportReader = accountImportReader;
     }
 
     /**
@@ -55,20 +70,49 @@ public class AccountController {
     public ResponseEntity<?> createAccount(@RequestBody Account account) {
         try {
             Account createdAccount = createAccountUseCase.createAccount(account);
-            return new ResponseEntity<>(createdAccount, HttpStatus.CREATED);
+            return new ResponseEntity<>(AccountView.from(createdAccount), HttpStatus.CREATED);
         } catch (IllegalArgumentException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
 
     /**
-     * GET /api/accounts - Récupérer tous les comptes
+     * POST /api/accounts/bulk - Importer des comptes en masse (fichier CSV ou NDJSON lu en continu)
+     */
+    @PostMapping(value = "/bulk", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Importer des comptes", description = "Crée des comptes depuis un fichier CSV (en-tête firstName,lastName,email,password,street,postalCode,city,country) ou NDJSON, par lots, et renvoie un rapport ligne par ligne")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Rapport d'import (lignes créées et rejetées)"),
+        @ApiResponse(responseCode = "400", description = "Fichier illisible ou en-tête CSV incomplet")
+    })
+    public ResponseEntity<?> importAccounts(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                            InputStream body) {
+        try {
+            AccountImportReport report = importAccountsUseCase.importAccounts(
+                    accountImportReader.read(body, MediaType.parseMediaType(contentType)));
+            return new ResponseEntity<>(report, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * GET /api/accounts?after=&limit= - Récupérer les comptes page par page
      */
     @GetMapping
-    @Operation(summary = "Liste des comptes", description = "Récupère tous les comptes enregistrés")
-    public ResponseEntity<List<Account>> getAllAccounts() {
-        List<Account> accounts = manageAccountUseCase.getAllAccounts();
-        return new ResponseEntity<>(accounts, HttpStatus.OK);
+    @Operation(summary = "Liste des comptes", description = "Récupère les comptes par pages (curseur opaque 'after', taille 'limit' ≤ " + CursorPage.MAX_LIMIT + ")")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page de comptes"),
+        @ApiResponse(responseCode = "400", description = "Curseur invalide")
+    })
+    public ResponseEntity<?> getAllAccounts(@RequestParam(required = false) String after,
+                                            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        try {
+            CursorPage<AccountView> accounts = manageAccountUseCase.getAllAccounts(after, limit);
+            return new ResponseEntity<>(accounts, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
     }
 
     /**
@@ -82,7 +126,7 @@ public class AccountController {
     })
     public ResponseEntity<?> getAccountById(@PathVariable Long id) {
         try {
-            Account account = manageAccountUseCase.getAccountById(id);
+            AccountView account = manageAccountUseCase.getAccountById(id);
             return new ResponseEntity<>(account, HttpStatus.OK);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
@@ -102,7 +146,7 @@ public class AccountController {
     public ResponseEntity<?> updateAccount(@PathVariable Long id, @RequestBody Account account) {
         try {
             Account updatedAccount = manageAccountUseCase.updateAccount(id, account);
-            return new ResponseEntity<>(updatedAccount, HttpStatus.OK);
+            return new ResponseEntity<>(AccountView.from(updatedAccount), HttpStatus.OK);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
@@ -0,0 +1,65 @@
+package com.letocart.java_apirest_2026.controller;
+
+import com.letocart.java_apirest_2026.dto.TokenResponse;
+import com.letocart.java_apirest_2026.security.TokenAuthentication;
+import com.letocart.java_apirest_2026.security.TokenService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller d'émission des jetons d'accès
+ * Les identifiants HTTP Basic (BCrypt) ne sont vérifiés qu'une fois, à l'émission du jeton.
+ */
+@RestController
+@RequestMapping("/api/auth/token")
+@Tag(name = "Authentification", description = "Échange des identifiants HTTP Basic contre un jeton Bearer")
+public class AuthController {
+
+    private final TokenService tokenService;
+
+    public AuthController(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    /**
+     * POST /api/auth/token - Obtenir un jeton (authentification HTTP Basic obligatoire)
+     */
+    @PostMapping
+    @Operation(summary = "Obtenir un jeton", description = "Échange les identifiants HTTP Basic contre un jeton Bearer de courte durée")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Jeton émis"),
+        @ApiResponse(responseCode = "400", description = "Un jeton ne peut pas être renouvelé avec lui-même"),
+        @ApiResponse(responseCode = "401", description = "Identifiants invalides")
+    })
+    public ResponseEntity<?> issueToken(Authentication authentication) {
+        // Sans cette règle, un jeton pourrait être prolongé indéfiniment sans mot de passe
+        if (authentication instanceof TokenAuthentication) {
+            return new ResponseEntity<>("Un jeton doit être obtenu avec les identifiants HTTP Basic", HttpStatus.BAD_REQUEST);
+        }
+        TokenResponse token = new TokenResponse(
+                tokenService.issue(authentication), "Bearer", tokenService.getTtl().toSeconds());
+        return new ResponseEntity<>(token, HttpStatus.OK);
+    }
+
+    /**
+     * DELETE /api/auth/token - Révoquer tous les jetons de l'utilisateur courant
+     */
+    @DeleteMapping
+    @Operation(summary = "Révoquer les jetons", description = "Invalide tous les jetons déjà émis pour l'utilisateur courant")
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "Jetons révoqués")
+    })
+    public ResponseEntity<?> revokeTokens(Authentication authentication) {
+        tokenService.revoke(authentication.getName());
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
@@ -1,11 +1,14 @@
 package com.letocart.java_apirest_2026.controller;
 
+import com.letocart.java_apirest_2026.dto.CursorPage;
+import com.letocart.java_apirest_2026.dto.NoticeView;
 import com.letocart.java_apirest_2026.model.Notice;
 import com.letocart.java_apirest_2026.service.NoticeService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 import java.util.Map;
 
@@ -29,27 +32,38 @@ public class NoticeController {
             String comment = noticeRequest.get("comment").toString();
 
             Notice createdNotice = noticeService.createNotice(accountId, productId, rating, comment);
-            return new ResponseEntity<>(createdNotice, HttpStatus.CREATED);
+            return new ResponseEntity<>(NoticeView.from(createdNotice), HttpStatus.CREATED);
         } catch (Exception e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
 
     @GetMapping
-    public ResponseEntity<List<Notice>> getAllNotices() {
-        List<Notice> notices = noticeService.getAllNotices();
-        return new ResponseEntity<>(notices, HttpStatus.OK);
+    public ResponseEntity<?> getAllNotices(@RequestParam(required = false) String after,
+                                           @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        try {
+            CursorPage<NoticeView> notices = noticeService.getAllNotices(after, limit);
+            return new ResponseEntity<>(notices, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
     }
 
+    /**
+     * Requête conditionnelle (If-None-Match) : 304 avant toute lecture des avis s'ils n'ont pas changé
+     */
     @GetMapping("/product/{productId}")
-    public ResponseEntity<List<Notice>> getNoticesByProduct(@PathVariable Long productId) {
-        List<Notice> notices = noticeService.getNoticesByProduct(productId);
+    public ResponseEntity<List<NoticeView>> getNoticesByProduct(@PathVariable Long productId, WebRequest request) {
+        if (request.checkNotModified(noticeService.getNoticesByProductETag(productId))) {
+            return null;
+        }
+        List<NoticeView> notices = noticeService.getNoticesByProduct(productId);
         return new ResponseEntity<>(notices, HttpStatus.OK);
     }
 
     @GetMapping("/account/{accountId}")
-    public ResponseEntity<List<Notice>> getNoticesByAccount(@PathVariable Long accountId) {
-        List<Notice> notices = noticeService.getNoticesByAccount(accountId);
+    public ResponseEntity<List<NoticeView>> getNoticesByAccount(@PathVariable Long accountId) {
+        List<NoticeView> notices = noticeService.getNoticesByAccount(accountId);
         return new ResponseEntity<>(notices, HttpStatus.OK);
     }
 
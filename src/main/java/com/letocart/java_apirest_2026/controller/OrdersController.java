@@ -1,53 +1,134 @@
 package com.letocart.java_apirest_2026.controller;
 
-import com.letocart.java_apirest_2026.model.Orders;
+import com.letocart.java_apirest_2026.dto.CursorPage;
+import com.letocart.java_apirest_2026.dto.OrderStatusUpdateReport;
+import com.letocart.java_apirest_2026.dto.OrderStatusUpdateRequest;
+import com.letocart.java_apirest_2026.dto.OrderView;
 import com.letocart.java_apirest_2026.model.OrdersDetails;
+import com.letocart.java_apirest_2026.service.CheckoutBatcher;
+import com.letocart.java_apirest_2026.service.OrderIdempotencyService;
+import com.letocart.java_apirest_2026.service.OrdersExportService;
 import com.letocart.java_apirest_2026.service.OrdersService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/orders")
 public class OrdersController {
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    // true si la réponse provient d'une exécution précédente de la même clé
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final OrdersService ordersService;
+    private final OrdersExportService ordersExportService;
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final CheckoutBatcher checkoutBatcher;
 
     @Autowired
-    public OrdersController(OrdersService ordersService) {
+    public OrdersController(OrdersService ordersService, OrdersExportService ordersExportService,
+                            OrderIdempotencyService orderIdempotencyService, CheckoutBatcher checkoutBatcher) {
         this.ordersService = ordersService;
+        this.ordersExportService = ordersExportService;
+        this.orderIdempotencyService = orderIdempotencyService;
+        this.checkoutBatcher = checkoutBatcher;
     }
 
+    /**
+     * Avec un en-tête Idempotency-Key, un renvoi de la même requête rejoue la réponse de la première
+     * création (en-tête Idempotent-Replayed: true) au lieu de créer une seconde commande.
+     * Sans clé, la commande passe par la validation groupée si elle est activée (CheckoutBatcher).
+     */
     @PostMapping("/account/{accountId}")
     public ResponseEntity<?> createOrder(@PathVariable Long accountId,
+                                         @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
                                          @RequestBody List<OrdersDetails> orderDetails) {
         try {
-            Orders createdOrder = ordersService.createOrder(accountId, orderDetails);
+            if (idempotencyKey != null) {
+                OrderIdempotencyService.IdempotentResponse response =
+                        orderIdempotencyService.createOrder(accountId, idempotencyKey, orderDetails);
+                return ResponseEntity.status(response.status())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(response.replayed()))
+                        .body(response.body());
+            }
+            OrderView createdOrder = checkoutBatcher.createOrder(accountId, orderDetails);
             return new ResponseEntity<>(createdOrder, HttpStatus.CREATED);
+        } catch (RejectedExecutionException e) {
+            // Validation groupée : file pleine, arrêt ou délai dépassé
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (OrderIdempotencyService.KeyInUseException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        } catch (OrderIdempotencyService.KeyMismatchException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
         } catch (Exception e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
 
     @GetMapping
-    public ResponseEntity<List<Orders>> getAllOrders() {
-        List<Orders> orders = ordersService.getAllOrders();
-        return new ResponseEntity<>(orders, HttpStatus.OK);
+    public ResponseEntity<?> getAllOrders(@RequestParam(required = false) String after,
+                                          @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        try {
+            CursorPage<OrderView> orders = ordersService.getAllOrders(after, limit);
+            return new ResponseEntity<>(orders, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Le type de retour ResponseEntity<StreamingResponseBody> est requis pour que le corps soit écrit
+     * en flux (traitement asynchrone) : même l'erreur de format est donc un StreamingResponseBody
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(defaultValue = "ndjson") String format) {
+        OrdersExportService.Format exportFormat;
+        try {
+            exportFormat = OrdersExportService.Format.parse(format);
+        } catch (IllegalArgumentException e) {
+            byte[] message = e.getMessage().getBytes(StandardCharsets.UTF_8);
+            return ResponseEntity.badRequest()
+                    .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                    .body(out -> out.write(message));
+        }
+
+        StreamingResponseBody body = out -> ordersExportService.exportOrders(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"orders." + exportFormat.getExtension() + "\"")
+                .body(body);
     }
 
+    /**
+     * Requête conditionnelle (If-None-Match) : 304 avant toute lecture de la commande si elle n'a pas changé
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getOrderById(@PathVariable Long id) {
+    public ResponseEntity<?> getOrderById(@PathVariable Long id, WebRequest request) {
+        Optional<String> etag = ordersService.getOrderETag(id);
+        if (etag.isPresent() && request.checkNotModified(etag.get())) {
+            return null;
+        }
         return ordersService.getOrderById(id)
                 .map(order -> new ResponseEntity<>(order, HttpStatus.OK))
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     @GetMapping("/account/{accountId}")
-    public ResponseEntity<List<Orders>> getOrdersByAccount(@PathVariable Long accountId) {
-        List<Orders> orders = ordersService.getOrdersByAccount(accountId);
+    public ResponseEntity<List<OrderView>> getOrdersByAccount(@PathVariable Long accountId) {
+        List<OrderView> orders = ordersService.getOrdersByAccount(accountId);
         return new ResponseEntity<>(orders, HttpStatus.OK);
     }
 
@@ -56,13 +137,26 @@ public class OrdersController {
                                                @RequestBody Map<String, String> statusUpdate) {
         try {
             String newStatus = statusUpdate.get("status");
-            Orders updatedOrder = ordersService.updateOrderStatus(id, newStatus);
+            OrderView updatedOrder = ordersService.updateOrderStatus(id, newStatus);
             return new ResponseEntity<>(updatedOrder, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
 
+    /**
+     * Changement de statut en masse (ADMIN) : liste d'identifiants ou filtre, résultat par commande
+     */
+    @PatchMapping("/status")
+    public ResponseEntity<?> updateOrderStatuses(@RequestBody OrderStatusUpdateRequest request) {
+        try {
+            OrderStatusUpdateReport report = ordersService.updateOrderStatuses(request);
+            return new ResponseEntity<>(report, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteOrder(@PathVariable Long id) {
         try {
@@ -1,11 +1,21 @@
 package com.letocart.java_apirest_2026.controller;
 
+import com.letocart.java_apirest_2026.dto.CursorPage;
+import com.letocart.java_apirest_2026.dto.ProductFilterView;
+import com.letocart.java_apirest_2026.dto.ProductRatingView;
+import com.letocart.java_apirest_2026.dto.ProductSuggestion;
+import com.letocart.java_apirest_2026.dto.ProductView;
 import com.letocart.java_apirest_2026.model.Product;
+import com.letocart.java_apirest_2026.service.ProductFilterIndex;
+import com.letocart.java_apirest_2026.service.ProductJsonCache;
 import com.letocart.java_apirest_2026.service.ProductService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import java.math.BigDecimal;
 import java.util.List;
 
 @RestController
@@ -13,22 +23,37 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductJsonCache productJsonCache;
 
     @Autowired
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductJsonCache productJsonCache) {
         this.productService = productService;
+        this.productJsonCache = productJsonCache;
     }
 
     @PostMapping
-    public ResponseEntity<Product> createProduct(@RequestBody Product product) {
+    public ResponseEntity<ProductView> createProduct(@RequestBody Product product) {
         Product createdProduct = productService.createProduct(product);
-        return new ResponseEntity<>(createdProduct, HttpStatus.CREATED);
+        return new ResponseEntity<>(ProductView.from(createdProduct), HttpStatus.CREATED);
     }
 
+    /**
+     * Page du catalogue, assemblée à partir du JSON pré-sérialisé de chaque produit (ProductJsonCache)
+     * Requête conditionnelle (If-None-Match) : 304 sans accès à la base si le catalogue n'a pas changé.
+     */
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        List<Product> products = productService.getAllProducts();
-        return new ResponseEntity<>(products, HttpStatus.OK);
+    public ResponseEntity<?> getAllProducts(@RequestParam(required = false) String after,
+                                            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit,
+                                            WebRequest request) {
+        try {
+            if (request.checkNotModified(productService.getAllProductsETag(after, limit))) {
+                return null;
+            }
+            CursorPage<ProductView> products = productService.getAllProducts(after, limit);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(productJsonCache.page(products));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
     }
 
     @GetMapping("/{id}")
@@ -38,23 +63,78 @@ public class ProductController {
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    @GetMapping("/{id}/rating")
+    public ResponseEntity<ProductRatingView> getProductRating(@PathVariable Long id) {
+        return productService.getRating(id)
+                .map(rating -> new ResponseEntity<>(rating, HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping("/top-rated")
+    public ResponseEntity<?> getTopRatedProducts(@RequestParam(defaultValue = "10") int limit,
+                                                 @RequestParam(defaultValue = "1") int minRatings) {
+        try {
+            List<ProductRatingView> products = productService.getTopRated(limit, minRatings);
+            return new ResponseEntity<>(products, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<List<Product>> searchProducts(@RequestParam String name) {
-        List<Product> products = productService.searchProductsByName(name);
-        return new ResponseEntity<>(products, HttpStatus.OK);
+    public ResponseEntity<?> searchProducts(@RequestParam String name,
+                                            @RequestParam(required = false) String after,
+                                            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        try {
+            CursorPage<ProductView> products = productService.searchProducts(name, after, limit);
+            return new ResponseEntity<>(products, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/filter")
+    public ResponseEntity<?> filterProducts(@RequestParam(required = false) BigDecimal minPrice,
+                                            @RequestParam(required = false) BigDecimal maxPrice,
+                                            @RequestParam(defaultValue = "false") boolean inStock,
+                                            @RequestParam(required = false) BigDecimal minRating,
+                                            @RequestParam(required = false) String sort,
+                                            @RequestParam(required = false) String after,
+                                            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        try {
+            CursorPage<ProductFilterView> products = productService.filterProducts(
+                    new ProductFilterIndex.Criteria(minPrice, maxPrice, inStock, minRating), sort, after, limit);
+            return new ResponseEntity<>(products, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggestProducts(@RequestParam String prefix,
+                                             @RequestParam(defaultValue = "5") int k) {
+        try {
+            List<ProductSuggestion> suggestions = productService.suggest(prefix, k);
+            return new ResponseEntity<>(suggestions, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
     }
 
+    /**
+     * Produits en stock, assemblés à partir du JSON pré-sérialisé de chaque produit (ProductJsonCache)
+     */
     @GetMapping("/in-stock")
-    public ResponseEntity<List<Product>> getProductsInStock() {
-        List<Product> products = productService.getProductsInStock();
-        return new ResponseEntity<>(products, HttpStatus.OK);
+    public ResponseEntity<byte[]> getProductsInStock() {
+        List<ProductView> products = productService.getProductsInStock();
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(productJsonCache.list(products));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<?> updateProduct(@PathVariable Long id, @RequestBody Product product) {
         try {
             Product updatedProduct = productService.updateProduct(id, product);
-            return new ResponseEntity<>(updatedProduct, HttpStatus.OK);
+            return new ResponseEntity<>(ProductView.from(updatedProduct), HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
         }
@@ -0,0 +1,161 @@
+package com.letocart.java_apirest_2026.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Source de données routée : écritures sur le primaire, transactions en lecture seule sur un réplica
+ *
+ * Une transaction @Transactional(readOnly = true) est envoyée au réplica suivant (tourniquet)
+ * parmi ceux dont le retard de réplication est acceptable (ReplicaLagMonitor). Si aucun réplica
+ * n'est à jour, elle est servie par le primaire. Tout le reste (écritures, lectures hors
+ * transaction en lecture seule) va au primaire.
+ *
+ * Doit être enveloppée dans un LazyConnectionDataSourceProxy : Hibernate demande sa connexion
+ * au début de la transaction, avant que l'indicateur de lecture seule ne soit positionné ;
+ * le proxy ne choisit la connexion réelle qu'à la première requête SQL.
+ *
+ * Chaque pool Hikari publie ses métriques (hikaricp.*, tag pool = primary, replica-1...).
+ * Routage : app.datasource.routing (tags pool, reason = write / read / fallback).
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    public static final String PRIMARY = "primary";
+
+    /**
+     * Réplica et son état, mis à jour par ReplicaLagMonitor
+     */
+    public static final class Replica {
+        private final String name;
+        private final HikariDataSource pool;
+        private final Counter reads;
+        // Retard mesuré en millisecondes (-1 : inconnu, réplica injoignable ou sans battement)
+        private volatile long lagMillis = -1;
+        private volatile boolean healthy;
+
+        Replica(String name, HikariDataSource pool, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.pool = pool;
+            this.reads = routingCounter(meterRegistry, name, "read");
+            Gauge.builder("app.datasource.replica.lag", this, r -> r.lagMillis)
+                    .baseUnit("milliseconds")
+                    .description("Retard de réplication mesuré (-1 : inconnu)")
+                    .tag("pool", name)
+                    .register(meterRegistry);
+            Gauge.builder("app.datasource.replica.healthy", this, r -> r.healthy ? 1 : 0)
+                    .description("1 si le réplica reçoit les lectures, 0 s'il est écarté (retard ou panne)")
+                    .tag("pool", name)
+                    .register(meterRegistry);
+        }
+
+        public String getName() { return name; }
+
+        public HikariDataSource getPool() { return pool; }
+
+        public long getLagMillis() { return lagMillis; }
+
+        public boolean isHealthy() { return healthy; }
+
+        /**
+         * Enregistre une mesure du retard de réplication
+         * @param lagMillis Retard en millisecondes, -1 si inconnu
+         * @param healthy Le réplica peut recevoir les lectures
+         */
+        public void update(long lagMillis, boolean healthy) {
+            this.lagMillis = lagMillis;
+            if (this.healthy != healthy) {
+                if (healthy) {
+                    log.info("Réplica {} rétabli (retard {} ms) : il reçoit de nouveau les lectures", name, lagMillis);
+                } else {
+                    log.warn("Réplica {} écarté (retard {} ms) : ses lectures sont servies par le primaire", name, lagMillis);
+                }
+            }
+            this.healthy = healthy;
+        }
+    }
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter writes;
+    private final Counter fallbacks;
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicaPools, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = new ArrayList<>(replicaPools.size());
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (HikariDataSource pool : replicaPools) {
+            Replica replica = new Replica(pool.getPoolName(), pool, meterRegistry);
+            replicas.add(replica);
+            targets.put(replica.getName(), pool);
+        }
+        this.writes = routingCounter(meterRegistry, PRIMARY, "write");
+        this.fallbacks = routingCounter(meterRegistry, PRIMARY, "fallback");
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            return PRIMARY;
+        }
+        Replica replica = nextHealthyReplica();
+        if (replica == null) {
+            fallbacks.increment();
+            return PRIMARY;
+        }
+        replica.reads.increment();
+        return replica.getName();
+    }
+
+    /**
+     * Réplica suivant à jour, ou null si aucun ne l'est
+     */
+    private Replica nextHealthyReplica() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isHealthy()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    public HikariDataSource getPrimary() { return primary; }
+
+    public List<Replica> getReplicas() { return replicas; }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.getPool().close());
+        primary.close();
+    }
+
+    private static Counter routingCounter(MeterRegistry meterRegistry, String pool, String reason) {
+        return Counter.builder("app.datasource.routing")
+                .description("Connexions attribuées par le routage lecture / écriture")
+                .tag("pool", pool)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,77 @@
+package com.letocart.java_apirest_2026.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+
+/**
+ * Mesure du retard de réplication par battement de cœur (heartbeat)
+ *
+ * À chaque cycle, l'heure courante est écrite dans la table replication_heartbeat du primaire,
+ * puis relue sur chaque réplica : le retard est l'écart entre l'heure courante et le dernier
+ * battement répliqué (à un intervalle de mesure près). Un réplica en retard de plus de
+ * app.datasource.replica-max-lag-ms, injoignable, ou qui n'a encore reçu aucun battement est
+ * écarté : ses lectures sont servies par le primaire jusqu'à la mesure suivante.
+ *
+ * Ne dépend d'aucun privilège de réplication (SHOW REPLICA STATUS) : fonctionne avec tout
+ * mécanisme qui réplique les tables, et se teste avec deux bases locales.
+ */
+public class ReplicaLagMonitor implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String BEAT_SQL =
+            "INSERT INTO replication_heartbeat (id, beat_millis) VALUES (1, ?) ON DUPLICATE KEY UPDATE beat_millis = ?";
+    private static final String READ_BEAT_SQL = "SELECT beat_millis FROM replication_heartbeat WHERE id = 1";
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+    private final JdbcTemplate primary;
+    private final long maxLagMillis;
+
+    public ReplicaLagMonitor(ReadWriteRoutingDataSource routingDataSource, long maxLagMillis) {
+        this.routingDataSource = routingDataSource;
+        this.primary = new JdbcTemplate(routingDataSource.getPrimary());
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    /**
+     * Première mesure avant l'ouverture du serveur HTTP (réplicas écartés jusque-là)
+     * La table replication_heartbeat est créée par la migration V5__replication_heartbeat.sql.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        check();
+    }
+
+    /**
+     * Écrit un battement sur le primaire et met à jour le retard de chaque réplica
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica-check-interval-ms:1000}")
+    public void check() {
+        long now = System.currentTimeMillis();
+        try {
+            primary.update(BEAT_SQL, now, now);
+        } catch (DataAccessException e) {
+            log.warn("Battement de réplication non écrit sur le primaire", e);
+        }
+        for (ReadWriteRoutingDataSource.Replica replica : routingDataSource.getReplicas()) {
+            long lag = lagMillis(replica, now);
+            replica.update(lag, lag >= 0 && lag <= maxLagMillis);
+        }
+    }
+
+    private long lagMillis(ReadWriteRoutingDataSource.Replica replica, long now) {
+        try {
+            List<Long> beats = new JdbcTemplate(replica.getPool()).queryForList(READ_BEAT_SQL, Long.class);
+            return beats.isEmpty() ? -1 : Math.max(0, now - beats.get(0));
+        } catch (DataAccessException e) {
+            log.debug("Réplica {} injoignable", replica.getName(), e);
+            return -1;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.letocart.java_apirest_2026.domain.port.out;
 
+import com.letocart.java_apirest_2026.dto.AccountView;
+import com.letocart.java_apirest_2026.dto.CursorPage;
 import com.letocart.java_apirest_2026.model.Account;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Port de sortie pour la persistance des comptes
@@ -16,9 +20,34 @@ public interface AccountRepositoryPort {
     
     Optional<Account> findByEmail(String email);
     
-    List<Account> findAll();
+    /**
+     * Récupère une page de comptes triés par identifiant (pagination keyset)
+     * Vue en lecture seule : compte et adresse en une seule requête.
+     * @param after Curseur opaque de la page précédente (null pour la première page)
+     * @param limit Nombre maximum de comptes
+     */
+    CursorPage<AccountView> findPage(String after, int limit);
+    
+    /**
+     * Vue en lecture seule d'un compte et de son adresse (une seule requête)
+     */
+    Optional<AccountView> findViewById(Long id);
     
     void deleteById(Long id);
     
     boolean existsByEmail(String email);
+    
+    /**
+     * Emails déjà utilisés parmi ceux fournis (une seule requête, sur l'index unique de l'email)
+     * La comparaison suit la collation de la colonne (insensible à la casse par défaut sous MySQL) :
+     * l'appelant fournit aussi la forme normalisée (minuscules, sans espaces).
+     * @return Emails existants, en minuscules
+     */
+    Set<String> findExistingEmails(Collection<String> emails);
+    
+    /**
+     * Enregistre un lot de comptes dans une seule transaction (insertions en batch JDBC)
+     * Les comptes sont détachés après l'écriture pour que la mémoire reste bornée.
+     */
+    List<Account> saveAll(List<Account> accounts);
 }
@@ -2,6 +2,9 @@ package com.letocart.java_apirest_2026.domain.port.out;
 
 import com.letocart.java_apirest_2026.model.Address;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Port de sortie pour la validation d'adresse via API externe
  * (Hexagonal Architecture - Output Port)
@@ -14,4 +17,20 @@ public interface AddressValidationPort {
      * @return true si l'adresse est valide (score > 0.5)
      */
     boolean validateAddress(Address address);
+
+    /**
+     * Valide une adresse sans bloquer le thread appelant
+     * Le futur est toujours complété dans un délai borné (false si l'API ne répond pas)
+     * @param address Adresse à valider
+     * @return Futur complété par true si l'adresse est valide (score > 0.5)
+     */
+    CompletableFuture<Boolean> validateAddressAsync(Address address);
+
+    /**
+     * Valide un lot d'adresses en un seul appel (géocodage CSV par lot de la BAN)
+     * @param addresses Adresses à valider
+     * @return Résultat de chaque adresse, dans le même ordre : true si valide (score > 0.5),
+     *         false si invalide, null si l'adresse n'a pas pu être vérifiée (API indisponible)
+     */
+    List<Boolean> validateAddresses(List<Address> addresses);
 }
@@ -0,0 +1,44 @@
+package com.letocart.java_apirest_2026.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rapport d'import de comptes : un résultat par ligne du fichier
+ */
+public class AccountImportReport {
+
+    public enum Status { CREATED, REJECTED }
+
+    /**
+     * Résultat d'une ligne
+     * @param line Numéro de ligne dans le fichier
+     * @param email Email du compte (null si la ligne est illisible)
+     * @param status Compte créé ou ligne rejetée
+     * @param accountId Identifiant du compte créé
+     * @param message Motif du rejet
+     */
+    public record RowResult(int line, String email, Status status, Long accountId, String message) {}
+
+    private int created;
+    private int rejected;
+    private final List<RowResult> results = new ArrayList<>();
+
+    public void created(int line, String email, Long accountId) {
+        created++;
+        results.add(new RowResult(line, email, Status.CREATED, accountId, null));
+    }
+
+    public void rejected(int line, String email, String message) {
+        rejected++;
+        results.add(new RowResult(line, email, Status.REJECTED, null, message));
+    }
+
+    public int getTotal() { return created + rejected; }
+
+    public int getCreated() { return created; }
+
+    public int getRejected() { return rejected; }
+
+    public List<RowResult> getResults() { return results; }
+}
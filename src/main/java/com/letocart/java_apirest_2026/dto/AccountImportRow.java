@@ -0,0 +1,20 @@
+package com.letocart.java_apirest_2026.dto;
+
+import com.letocart.java_apirest_2026.model.Account;
+
+/**
+ * Ligne lue dans un fichier d'import de comptes (CSV ou NDJSON)
+ * @param line Numéro de ligne dans le fichier (1 = première ligne)
+ * @param account Compte lu, null si la ligne est illisible
+ * @param error Motif de l'erreur de lecture, null si la ligne est lisible
+ */
+public record AccountImportRow(int line, Account account, String error) {
+
+    public static AccountImportRow of(int line, Account account) {
+        return new AccountImportRow(line, account, null);
+    }
+
+    public static AccountImportRow invalid(int line, String error) {
+        return new AccountImportRow(line, null, error);
+    }
+}
@@ -0,0 +1,29 @@
+package com.letocart.java_apirest_2026.dto;
+
+import com.letocart.java_apirest_2026.model.Account;
+
+/**
+ * Compte tel que renvoyé par l'API (lecture seule)
+ *
+ * Projection JPQL : compte et adresse lus en une seule requête (jointure), sans mot de passe
+ * ni historique de commandes et d'avis (disponibles par leurs propres endpoints).
+ */
+public record AccountView(Long accountId, String firstName, String lastName, String email, AddressView address) {
+
+    /**
+     * Constructeur de la projection JPQL "select new" (colonnes de l'adresse à plat, null sans adresse)
+     */
+    public AccountView(Long accountId, String firstName, String lastName, String email,
+                       Long addressId, String street, String city, String postalCode, String country) {
+        this(accountId, firstName, lastName, email, addressId == null ? null
+                : new AddressView(addressId, street, city, postalCode, country));
+    }
+
+    /**
+     * Vue d'un compte déjà chargé (l'adresse est chargée avec le compte)
+     */
+    public static AccountView from(Account account) {
+        return new AccountView(account.getAccountId(), account.getFirstName(), account.getLastName(),
+                account.getEmail(), AddressView.from(account.getAddress()));
+    }
+}
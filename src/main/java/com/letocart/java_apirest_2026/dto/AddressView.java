@@ -0,0 +1,14 @@
+package com.letocart.java_apirest_2026.dto;
+
+import com.letocart.java_apirest_2026.model.Address;
+
+/**
+ * Adresse d'un compte telle que renvoyée par l'API
+ */
+public record AddressView(Long addressId, String street, String city, String postalCode, String country) {
+
+    public static AddressView from(Address address) {
+        return address == null ? null : new AddressView(address.getAddressId(), address.getStreet(),
+                address.getCity(), address.getPostalCode(), address.getCountry());
+    }
+}
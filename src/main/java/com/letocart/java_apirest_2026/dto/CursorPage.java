@@ -0,0 +1,110 @@
+package com.letocart.java_apirest_2026.dto;
+
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page de résultats paginée par curseur (keyset pagination)
+ *
+ * Le curseur est opaque pour le client : il encode l'identifiant du dernier
+ * élément de la page. La page suivante est obtenue avec "WHERE id > :curseur
+ * ORDER BY id LIMIT :limit", donc chaque page coûte le même prix quelle que
+ * soit sa profondeur (aucun OFFSET). La requête lit une ligne de plus que la
+ * taille de page (lookahead) pour savoir s'il existe une page suivante.
+ *
+ * Structure JSON :
+ * {
+ *   "items": [ ... ],
+ *   "nextCursor": "MTIz",
+ *   "hasNext": true
+ * }
+ *
+ * @param <T> Type des éléments de la page
+ */
+public class CursorPage<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private final List<T> items;
+    private final String nextCursor;
+    private final boolean hasNext;
+
+    public CursorPage(List<T> items, String nextCursor, boolean hasNext) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    /**
+     * Construit une page à partir des lignes d'une requête keyset
+     * @param rows Lignes lues avec lookahead(requested), triées par identifiant
+     * @param requested Taille de page demandée
+     * @param idExtractor Fonction retournant l'identifiant (clé du keyset) d'un élément
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int requested, Function<T, Long> idExtractor) {
+        int size = limit(requested).max();
+        boolean hasNext = rows.size() > size;
+        List<T> items = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? encodeCursor(idExtractor.apply(items.get(items.size() - 1))) : null;
+        return new CursorPage<>(items, nextCursor, hasNext);
+    }
+
+    /**
+     * Identifiant après lequel commence la page : "WHERE id > :after"
+     * @param after Curseur reçu du client (null pour la première page)
+     * @return Identifiant décodé, ou 0 pour la première page
+     * @throws IllegalArgumentException si le curseur est invalide
+     */
+    public static long idAfter(String after) {
+        if (after == null || after.isBlank()) {
+            return 0L;
+        }
+        return decodeCursor(after);
+    }
+
+    /**
+     * Borne la taille de page demandée entre 1 et MAX_LIMIT
+     */
+    public static Limit limit(int requested) {
+        return Limit.of(Math.max(1, Math.min(requested, MAX_LIMIT)));
+    }
+
+    /**
+     * Nombre de lignes à lire : la taille de page bornée, plus une pour détecter la page suivante
+     */
+    public static Limit lookahead(int requested) {
+        return Limit.of(limit(requested).max() + 1);
+    }
+
+    public static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decodeCursor(String cursor) {
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Curseur de pagination invalide : " + cursor);
+        }
+    }
+
+    /**
+     * Transforme les éléments de la page en conservant le curseur
+     */
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor, hasNext);
+    }
+
+    // Getters
+    public List<T> getItems() { return items; }
+
+    public String getNextCursor() { return nextCursor; }
+
+    public boolean isHasNext() { return hasNext; }
+}
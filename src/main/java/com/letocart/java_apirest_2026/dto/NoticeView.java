@@ -0,0 +1,17 @@
+package com.letocart.java_apirest_2026.dto;
+
+import com.letocart.java_apirest_2026.model.Notice;
+
+import java.time.LocalDateTime;
+
+/**
+ * Avis tel que renvoyé par l'API : le compte et le produit sont désignés par leur identifiant
+ */
+public record NoticeView(Long noticeId, Integer rating, String comment, LocalDateTime createdAt,
+                         Long accountId, Long productId) {
+
+    public static NoticeView from(Notice notice) {
+        return new NoticeView(notice.getNoticeId(), notice.getRating(), notice.getComment(), notice.getCreatedAt(),
+                notice.getAccount().getAccountId(), notice.getProduct().getProductId());
+    }
+}
@@ -0,0 +1,24 @@
+package com.letocart.java_apirest_2026.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Ligne plate de l'export des commandes : une commande jointe à l'une de ses lignes
+ *
+ * Projection JPQL (constructeur) : les objets ne sont pas gérés par le contexte
+ * de persistance, la mémoire reste donc constante pendant l'export.
+ * Les champs de la ligne sont null pour une commande sans détail.
+ */
+public record OrderExportRow(
+        Long ordersId,
+        LocalDateTime orderDate,
+        String status,
+        BigDecimal totalAmount,
+        Long accountId,
+        Long lineId,
+        Long productId,
+        Integer quantity,
+        BigDecimal unitPrice,
+        BigDecimal subtotal) {
+}
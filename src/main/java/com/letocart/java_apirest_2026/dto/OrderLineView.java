@@ -0,0 +1,29 @@
+package com.letocart.java_apirest_2026.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.letocart.java_apirest_2026.model.OrdersDetails;
+
+import java.math.BigDecimal;
+
+/**
+ * Ligne de commande telle que renvoyée par l'API
+ * ordersId sert uniquement à rattacher les lignes lues par lot à leur commande.
+ */
+public record OrderLineView(
+        @JsonIgnore Long ordersId,
+        Long id,
+        Long productId,
+        String productName,
+        Integer quantity,
+        BigDecimal unitPrice,
+        BigDecimal subtotal) {
+
+    /**
+     * Vue d'une ligne déjà chargée avec son produit
+     */
+    public static OrderLineView from(OrdersDetails detail) {
+        return new OrderLineView(detail.getOrders().getOrdersId(), detail.getId(),
+                detail.getProduct().getProductId(), detail.getProduct().getName(),
+                detail.getQuantity(), detail.getUnitPrice(), detail.getSubtotal());
+    }
+}
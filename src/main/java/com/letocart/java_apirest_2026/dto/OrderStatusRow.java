@@ -0,0 +1,7 @@
+package com.letocart.java_apirest_2026.dto;
+
+/**
+ * Statut courant d'une commande, lu par projection (sans charger l'entité)
+ */
+public record OrderStatusRow(Long ordersId, String status) {
+}
@@ -0,0 +1,53 @@
+package com.letocart.java_apirest_2026.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rapport d'un changement de statut en masse : un résultat par commande
+ */
+public class OrderStatusUpdateReport {
+
+    public enum Outcome {
+        // Statut modifié
+        UPDATED,
+        // Déjà dans le statut demandé
+        UNCHANGED,
+        NOT_FOUND,
+        // Transition interdite depuis le statut courant
+        INVALID_TRANSITION,
+        // Statut modifié entre la lecture et la mise à jour
+        CONFLICT
+    }
+
+    /**
+     * Résultat d'une commande
+     * @param ordersId Identifiant de la commande
+     * @param outcome Résultat
+     * @param previousStatus Statut avant la mise à jour (null si la commande n'existe pas)
+     */
+    public record Result(Long ordersId, Outcome outcome, String previousStatus) {}
+
+    private final String status;
+    private int updated;
+    private final List<Result> results = new ArrayList<>();
+
+    public OrderStatusUpdateReport(String status) {
+        this.status = status;
+    }
+
+    public void add(Long ordersId, Outcome outcome, String previousStatus) {
+        if (outcome == Outcome.UPDATED) {
+            updated++;
+        }
+        results.add(new Result(ordersId, outcome, previousStatus));
+    }
+
+    public String getStatus() { return status; }
+
+    public int getTotal() { return results.size(); }
+
+    public int getUpdated() { return updated; }
+
+    public List<Result> getResults() { return results; }
+}
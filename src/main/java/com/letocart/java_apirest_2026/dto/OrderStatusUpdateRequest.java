@@ -0,0 +1,17 @@
+package com.letocart.java_apirest_2026.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Changement de statut en masse (PATCH /api/orders/status) : une liste d'identifiants ou un filtre
+ *
+ * @param status Nouveau statut
+ * @param ids Commandes à modifier (exclusif avec fromStatus)
+ * @param fromStatus Filtre : commandes actuellement dans ce statut
+ * @param orderedBefore Filtre : commandes passées avant cette date (optionnel)
+ * @param limit Filtre : nombre maximal de commandes traitées par appel (optionnel)
+ */
+public record OrderStatusUpdateRequest(String status, List<Long> ids, String fromStatus,
+                                       LocalDateTime orderedBefore, Integer limit) {
+}
@@ -0,0 +1,42 @@
+package com.letocart.java_apirest_2026.dto;
+
+import com.letocart.java_apirest_2026.model.Orders;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Commande telle que renvoyée par l'API, avec ses lignes
+ *
+ * Lue en deux requêtes pour toute une page : les en-têtes de commande (projection JPQL),
+ * puis les lignes de toutes ces commandes avec le nom du produit (where ordersId in ...).
+ */
+public record OrderView(
+        Long ordersId,
+        LocalDateTime orderDate,
+        BigDecimal totalAmount,
+        String status,
+        Long accountId,
+        List<OrderLineView> ordersDetails) {
+
+    /**
+     * Constructeur de la projection JPQL "select new" : en-tête seul, lignes ajoutées par withLines
+     */
+    public OrderView(Long ordersId, LocalDateTime orderDate, BigDecimal totalAmount, String status, Long accountId) {
+        this(ordersId, orderDate, totalAmount, status, accountId, List.of());
+    }
+
+    public OrderView withLines(List<OrderLineView> lines) {
+        return new OrderView(ordersId, orderDate, totalAmount, status, accountId, lines);
+    }
+
+    /**
+     * Vue d'une commande déjà chargée avec ses lignes et leurs produits
+     */
+    public static OrderView from(Orders order) {
+        return new OrderView(order.getOrdersId(), order.getOrderDate(), order.getTotalAmount(), order.getStatus(),
+                order.getAccount().getAccountId(),
+                order.getOrdersDetails().stream().map(OrderLineView::from).toList());
+    }
+}
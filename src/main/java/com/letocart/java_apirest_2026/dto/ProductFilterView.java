@@ -0,0 +1,11 @@
+package com.letocart.java_apirest_2026.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Produit d'une page de catalogue filtrée (GET /api/products/filter), avec sa note
+ * @param averageRating Note moyenne arrondie à 2 décimales (0 sans avis)
+ */
+public record ProductFilterView(Long productId, String name, String description, BigDecimal price,
+                                Integer stockQuantity, BigDecimal averageRating, int ratingCount) {
+}
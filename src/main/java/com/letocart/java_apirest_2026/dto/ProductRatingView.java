@@ -0,0 +1,33 @@
+package com.letocart.java_apirest_2026.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Note d'un produit : nombre d'avis, moyenne et répartition par nombre d'étoiles
+ * @param histogram Nombre d'avis par note, de "1" à "5"
+ */
+public record ProductRatingView(Long productId, String productName, int ratingCount, BigDecimal averageRating,
+                                Map<String, Integer> histogram) {
+
+    /**
+     * Constructeur de la projection JPQL "select new" (agrégat lu à plat, moyenne calculée sur la somme exacte)
+     */
+    public ProductRatingView(Long productId, String productName, int ratingCount, long ratingSum,
+                             int count1, int count2, int count3, int count4, int count5) {
+        this(productId, productName, ratingCount,
+                ratingCount == 0 ? BigDecimal.ZERO.setScale(2)
+                        : BigDecimal.valueOf(ratingSum).divide(BigDecimal.valueOf(ratingCount), 2, RoundingMode.HALF_UP),
+                histogram(count1, count2, count3, count4, count5));
+    }
+
+    private static Map<String, Integer> histogram(int... counts) {
+        Map<String, Integer> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            histogram.put(String.valueOf(i + 1), counts[i]);
+        }
+        return histogram;
+    }
+}
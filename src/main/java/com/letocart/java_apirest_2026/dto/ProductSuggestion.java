@@ -0,0 +1,8 @@
+package com.letocart.java_apirest_2026.dto;
+
+/**
+ * Suggestion de saisie semi-automatique : produit dont le nom commence par le préfixe saisi
+ * @param unitsSold Nombre d'unités vendues (critère de classement)
+ */
+public record ProductSuggestion(Long productId, String name, long unitsSold) {
+}
@@ -0,0 +1,16 @@
+package com.letocart.java_apirest_2026.dto;
+
+import com.letocart.java_apirest_2026.model.Product;
+
+import java.math.BigDecimal;
+
+/**
+ * Produit tel que renvoyé par l'API (sans ses lignes de commande ni ses avis)
+ */
+public record ProductView(Long productId, String name, String description, BigDecimal price, Integer stockQuantity) {
+
+    public static ProductView from(Product product) {
+        return new ProductView(product.getProductId(), product.getName(), product.getDescription(),
+                product.getPrice(), product.getStockQuantity());
+    }
+}
@@ -0,0 +1,9 @@
+package com.letocart.java_apirest_2026.dto;
+
+/**
+ * Réponse de POST /api/auth/token
+ * @param accessToken Jeton à envoyer dans l'en-tête "Authorization: Bearer ..."
+ * @param tokenType Toujours "Bearer"
+ * @param expiresIn Durée de validité en secondes
+ */
+public record TokenResponse(String accessToken, String tokenType, long expiresIn) {}
@@ -0,0 +1,22 @@
+package com.letocart.java_apirest_2026.dto;
+
+/**
+ * Empreinte des versions d'une ressource ou d'une collection, lue par une requête d'agrégat
+ *
+ * Les versions (@Version) ne font que croître et les identifiants ne sont jamais réutilisés :
+ * une création change le nombre ou le plus grand identifiant, une modification la somme des
+ * versions, une suppression le nombre. Deux empreintes égales désignent donc le même contenu.
+ *
+ * @param count Nombre de lignes
+ * @param versionSum Somme de leurs versions
+ * @param maxId Plus grand identifiant
+ */
+public record VersionStamp(Long count, Long versionSum, Long maxId) {
+
+    /**
+     * ETag fort (sans les guillemets) : préfixe de la ressource suivi de l'empreinte
+     */
+    public String etag(String resource) {
+        return resource + "-" + count + "-" + versionSum + "-" + maxId;
+    }
+}
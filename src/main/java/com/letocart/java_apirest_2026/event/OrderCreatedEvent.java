@@ -0,0 +1,15 @@
+package com.letocart.java_apirest_2026.event;
+
+import java.util.Map;
+
+/**
+ * Commande créée, publiée par OrdersService dans la transaction de création
+ *
+ * Les écouteurs la reçoivent après validation de la transaction
+ * (@TransactionalEventListener) : une commande annulée n'est jamais vue.
+ *
+ * @param ordersId Identifiant de la commande
+ * @param quantitiesByProductId Quantité commandée par produit
+ */
+public record OrderCreatedEvent(Long ordersId, Map<Long, Integer> quantitiesByProductId) {
+}
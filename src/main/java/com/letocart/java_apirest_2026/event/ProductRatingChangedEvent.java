@@ -0,0 +1,14 @@
+package com.letocart.java_apirest_2026.event;
+
+import java.util.Set;
+
+/**
+ * Agrégats de notes modifiés (avis créé ou supprimé, avis d'un compte supprimés en cascade)
+ *
+ * Publié dans la transaction qui modifie la table product_rating ; les écouteurs
+ * le reçoivent après validation (@TransactionalEventListener).
+ *
+ * @param productIds Produits dont la note a changé
+ */
+public record ProductRatingChangedEvent(Set<Long> productIds) {
+}
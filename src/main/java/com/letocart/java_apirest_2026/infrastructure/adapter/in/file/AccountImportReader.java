@@ -0,0 +1,184 @@
+package com.letocart.java_apirest_2026.infrastructure.adapter.in.file;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.letocart.java_apirest_2026.dto.AccountImportRow;
+import com.letocart.java_apirest_2026.model.Account;
+import com.letocart.java_apirest_2026.model.Address;
+import com.letocart.java_apirest_2026.util.Csv;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Lecture en continu d'un fichier d'import de comptes
+ * Couche Infrastructure - Architecture Hexagonale (Adapter IN)
+ *
+ * Formats acceptés :
+ * - text/csv : ligne d'en-tête firstName,lastName,email,password[,street,postalCode,city,country]
+ * - application/x-ndjson : un compte par ligne, au format JSON de POST /api/accounts
+ *
+ * Les lignes sont lues à la demande : une ligne illisible est signalée dans le rapport
+ * sans interrompre l'import.
+ */
+@Component
+public class AccountImportReader {
+
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("firstname", "lastname", "email", "password");
+
+    private final ObjectReader accountReader;
+
+    public AccountImportReader(ObjectMapper objectMapper) {
+        this.accountReader = objectMapper.readerFor(Account.class);
+    }
+
+    /**
+     * Ouvre la lecture du fichier selon son type
+     * @throws IllegalArgumentException si le type n'est pas supporté ou l'en-tête CSV incomplet
+     */
+    public Iterator<AccountImportRow> read(InputStream in, MediaType contentType) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        if (MediaType.parseMediaType("text/csv").isCompatibleWith(contentType)) {
+            return new CsvRows(reader);
+        }
+        if (NDJSON.isCompatibleWith(contentType)) {
+            return new NdjsonRows(reader);
+        }
+        throw new IllegalArgumentException("Type de fichier non supporté : " + contentType + " (text/csv ou application/x-ndjson)");
+    }
+
+    /**
+     * Itérateur sur les lignes non vides d'un fichier
+     */
+    private abstract static class LineRows implements Iterator<AccountImportRow> {
+
+        private final BufferedReader reader;
+        private String nextLine;
+        protected int lineNumber;
+
+        LineRows(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        protected String readLine() {
+            try {
+                String line;
+                do {
+                    line = reader.readLine();
+                    if (line == null) {
+                        return null;
+                    }
+                    lineNumber++;
+                } while (line.isBlank());
+                return line;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextLine == null) {
+                nextLine = readLine();
+            }
+            return nextLine != null;
+        }
+
+        @Override
+        public AccountImportRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String line = nextLine;
+            nextLine = null;
+            return parse(line);
+        }
+
+        protected abstract AccountImportRow parse(String line);
+    }
+
+    private final class NdjsonRows extends LineRows {
+
+        NdjsonRows(BufferedReader reader) {
+            super(reader);
+        }
+
+        @Override
+        protected AccountImportRow parse(String line) {
+            try {
+                Account account = accountReader.readValue(line);
+                if (account == null) {
+                    return AccountImportRow.invalid(lineNumber, "JSON invalide : objet attendu");
+                }
+                return AccountImportRow.of(lineNumber, account);
+            } catch (JsonProcessingException e) {
+                return AccountImportRow.invalid(lineNumber, "JSON invalide : " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private static final class CsvRows extends LineRows {
+
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        CsvRows(BufferedReader reader) {
+            super(reader);
+            String header = readLine();
+            if (header == null) {
+                return;
+            }
+            List<String> names = Csv.parseLine(header.replace("\uFEFF", ""));
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String required : REQUIRED_COLUMNS) {
+                if (!columns.containsKey(required)) {
+                    throw new IllegalArgumentException("Colonne obligatoire absente de l'en-tête CSV : " + required);
+                }
+            }
+        }
+
+        @Override
+        protected AccountImportRow parse(String line) {
+            List<String> fields;
+            try {
+                fields = Csv.parseLine(line);
+            } catch (IllegalArgumentException e) {
+                return AccountImportRow.invalid(lineNumber, e.getMessage());
+            }
+            Account account = new Account(
+                    field(fields, "firstname"), field(fields, "lastname"),
+                    field(fields, "email"), field(fields, "password"));
+            String street = field(fields, "street");
+            if (street != null) {
+                account.setAddress(new Address(street, field(fields, "city"),
+                        field(fields, "postalcode"), field(fields, "country")));
+            }
+            return AccountImportRow.of(lineNumber, account);
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+}
@@ -1,72 +1,353 @@
 package com.letocart.java_apirest_2026.infrastructure.adapter.out.external;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.letocart.java_apirest_2026.domain.port.out.AddressValidationPort;
 import com.letocart.java_apirest_2026.dto.AddressValidationResponse;
 import com.letocart.java_apirest_2026.model.Address;
+import com.letocart.java_apirest_2026.util.Csv;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 /**
  * Adapter pour validation d'adresse via API Gouvernementale française
  * Implémente le port de sortie AddressValidationPort en utilisant HttpClient (HTTP/2)
  * Couche Infrastructure - Architecture Hexagonale
- * 
+ *
  * API: https://api-gouv.lab.rioc.fr/search (BAN - Base Adresse Nationale)
  * Pattern: Adapter (transforme l'API REST externe vers notre port métier)
- * 
+ *
+ * Les appels sont non bloquants (sendAsync) et bornés dans le temps : une API BAN lente
+ * ne peut pas immobiliser les threads Tomcat. Les réponses sont traitées sur un pool
+ * de threads dédié et borné ; le lecteur JSON est partagé (ObjectReader est thread-safe).
+ *
+ * Les imports en masse utilisent le géocodage par lot de la BAN (POST /search/csv/) :
+ * un seul appel HTTP pour tout un lot d'adresses.
+ *
+ * Métriques (Micrometer) :
+ * - app.ban.requests : durée des appels, par type (single / batch) et résultat
+ *   (valid / invalid / unavailable pour une adresse, success / error pour un lot)
+ * - app.ban.errors : erreurs techniques, par type et cause (statut HTTP, délai dépassé, exception)
+ *
  * @author LetoCart Team
  * @version 1.0
  */
 @Component
 public class AddressValidationAdapter implements AddressValidationPort {
 
+    private static final Logger log = LoggerFactory.getLogger(AddressValidationAdapter.class);
+
+    private static final String TYPE_SINGLE = "single";
+    private static final String TYPE_BATCH = "batch";
+
     private final HttpClient httpClient;
-    private static final String API_BASE_URL = "https://api-gouv.lab.rioc.fr/search";
+    private final ThreadPoolExecutor executor;
+    private final ObjectReader responseReader;
+    private final String apiBaseUrl;
+    private final String batchUrl;
+    private final Duration requestTimeout;
+    private final Duration batchTimeout;
+    private final MeterRegistry meterRegistry;
     private static final double SCORE_THRESHOLD = 0.5; // Seuil de confiance minimum
 
     /**
      * Construction de l'adapter avec HttpClient HTTP/2
      * Note: HTTP/2 requis car l'API renvoie des réponses vides avec HTTP/1.1
+     *
+     * @param objectMapper ObjectMapper partagé de l'application
+     * @param apiBaseUrl URL de l'API de recherche BAN
+     * @param connectTimeout Délai maximum d'établissement de la connexion
+     * @param requestTimeout Délai maximum d'attente de la réponse
+     * @param threads Nombre de threads dédiés aux appels BAN
+     * @param queueCapacity Nombre maximum d'appels en attente (au-delà : refus immédiat)
+     * @param batchUrl URL du géocodage CSV par lot de la BAN
+     * @param batchTimeout Délai maximum d'attente de la réponse d'un lot
+     * @param meterRegistry Registre des métriques des appels BAN
      */
-    public AddressValidationAdapter() {
+    @Autowired
+    public AddressValidationAdapter(
+            ObjectMapper objectMapper,
+            @Value("${app.address-validation.base-url:https://api-gouv.lab.rioc.fr/search}") String apiBaseUrl,
+            @Value("${app.address-validation.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${app.address-validation.request-timeout:3s}") Duration requestTimeout,
+            @Value("${app.address-validation.threads:8}") int threads,
+            @Value("${app.address-validation.queue-capacity:256}") int queueCapacity,
+            @Value("${app.address-validation.batch-url:https://api-gouv.lab.rioc.fr/search/csv/}") String batchUrl,
+            @Value("${app.address-validation.batch-timeout:60s}") Duration batchTimeout,
+            MeterRegistry meterRegistry) {
+        this.apiBaseUrl = apiBaseUrl;
+        this.batchUrl = batchUrl;
+        this.requestTimeout = requestTimeout;
+        this.batchTimeout = batchTimeout;
+        this.meterRegistry = meterRegistry;
+        this.responseReader = objectMapper.readerFor(AddressValidationResponse.class);
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreads("ban-client-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
         this.httpClient = HttpClient.newBuilder()
                 .version(HttpClient.Version.HTTP_2) // IMPORTANT: HTTP/2 requis
+                .connectTimeout(connectTimeout)
+                .executor(executor)
                 .build();
     }
 
     /**
      * Valide une adresse via l'API gouvernementale BAN
      * Utilise les Streams Java (exigence TD)
-     * 
+     *
      * @param address L'adresse à valider
      * @return true si l'adresse existe avec score > 0.5, false sinon
      */
     @Override
     public boolean validateAddress(Address address) {
+        return Boolean.TRUE.equals(lookup(address));
+    }
+
+    /**
+     * Valide une adresse sans bloquer le thread appelant
+     * @param address L'adresse à valider
+     * @return Futur complété par true si l'adresse existe avec score > 0.5, false sinon
+     */
+    @Override
+    public CompletableFuture<Boolean> validateAddressAsync(Address address) {
+        return lookupAsync(address).thenApply(Boolean.TRUE::equals);
+    }
+
+    /**
+     * Valide un lot d'adresses en un seul appel au géocodage CSV de la BAN
+     * @param addresses Adresses à valider
+     * @return Résultat de chaque adresse dans le même ordre (null si non vérifiée)
+     */
+    @Override
+    public List<Boolean> validateAddresses(List<Address> addresses) {
+        List<Boolean> results = new ArrayList<>(Collections.nCopies(addresses.size(), (Boolean) null));
+        if (addresses.isEmpty()) {
+            return results;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
         try {
-            String fullAddress = buildFullAddress(address);
-            AddressValidationResponse response = callGeocodingApi(fullAddress);
-            
-            if (response == null || response.getFeatures() == null || response.getFeatures().isEmpty()) {
-                return false;
+            HttpResponse<Stream<String>> response =
+                    httpClient.send(buildBatchRequest(addresses), HttpResponse.BodyHandlers.ofLines());
+            try (Stream<String> lines = response.body()) {
+                if (response.statusCode() != 200) {
+                    log.warn("Géocodage par lot refusé par l'API: HTTP {}", response.statusCode());
+                    errorCounter(TYPE_BATCH, "http_" + response.statusCode()).increment();
+                    return results;
+                }
+                if (readBatchResults(lines.iterator(), results)) {
+                    outcome = "success";
+                } else {
+                    errorCounter(TYPE_BATCH, "unreadable_response").increment();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errorCounter(TYPE_BATCH, "interrupted").increment();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Erreur lors du géocodage par lot: {}", e.toString());
+            errorCounter(TYPE_BATCH, e.getClass().getSimpleName()).increment();
+        } finally {
+            sample.stop(requestTimer(TYPE_BATCH, outcome));
+        }
+        return results;
+    }
+
+    /**
+     * Requête multipart du géocodage par lot : fichier CSV "id,street,postcode,city"
+     * La BAN renvoie le même fichier enrichi des colonnes demandées (result_score).
+     */
+    private HttpRequest buildBatchRequest(List<Address> addresses) {
+        StringBuilder csv = new StringBuilder(addresses.size() * 64).append("id,street,postcode,city\n");
+        for (int i = 0; i < addresses.size(); i++) {
+            Address address = addresses.get(i);
+            csv.append(i).append(',')
+                    .append(Csv.escape(singleLine(address.getStreet()))).append(',')
+                    .append(Csv.escape(singleLine(address.getPostalCode()))).append(',')
+                    .append(Csv.escape(singleLine(address.getCity()))).append('\n');
+        }
+
+        String boundary = "ban-" + UUID.randomUUID();
+        StringBuilder body = new StringBuilder(csv.length() + 512);
+        body.append("--").append(boundary).append("\r\n")
+                .append("Content-Disposition: form-data; name=\"data\"; filename=\"addresses.csv\"\r\n")
+                .append("Content-Type: text/csv\r\n\r\n")
+                .append(csv).append("\r\n");
+        appendFormField(body, boundary, "columns", "street");
+        appendFormField(body, boundary, "columns", "city");
+        appendFormField(body, boundary, "postcode", "postcode");
+        appendFormField(body, boundary, "result_columns", "result_score");
+        body.append("--").append(boundary).append("--\r\n");
+
+        return HttpRequest.newBuilder()
+                .uri(URI.create(batchUrl))
+                .timeout(batchTimeout)
+                .header("User-Agent", "Mozilla/5.0 (compatible; JavaApp/1.0)")
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString(), StandardCharsets.UTF_8))
+                .build();
+    }
+
+    /**
+     * Lit le CSV renvoyé par la BAN : la colonne "id" désigne l'adresse, "result_score" son score
+     * (vide si l'adresse n'a pas été trouvée)
+     * @return false si la réponse ne contient pas les colonnes attendues
+     */
+    private boolean readBatchResults(Iterator<String> lines, List<Boolean> results) {
+        if (!lines.hasNext()) {
+            return false;
+        }
+        List<String> header = Csv.parseLine(lines.next().replace("\uFEFF", ""));
+        int idColumn = header.indexOf("id");
+        int scoreColumn = header.indexOf("result_score");
+        if (idColumn < 0 || scoreColumn < 0) {
+            log.warn("Réponse du géocodage par lot inexploitable: {}", header);
+            return false;
+        }
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> fields = Csv.parseLine(line);
+            if (fields.size() <= Math.max(idColumn, scoreColumn)) {
+                continue;
             }
+            int index = Integer.parseInt(fields.get(idColumn).trim());
+            String score = fields.get(scoreColumn).trim();
+            if (index >= 0 && index < results.size()) {
+                results.set(index, !score.isEmpty() && Double.parseDouble(score) > SCORE_THRESHOLD);
+            }
+        }
+        return true;
+    }
+
+    private static void appendFormField(StringBuilder body, String boundary, String name, String value) {
+        body.append("--").append(boundary).append("\r\n")
+                .append("Content-Disposition: form-data; name=\"").append(name).append("\"\r\n\r\n")
+                .append(value).append("\r\n");
+    }
+
+    private static String singleLine(String value) {
+        return value == null ? "" : value.replace('\r', ' ').replace('\n', ' ');
+    }
 
-            // STREAM JAVA (exigence TD): traitement fonctionnel des résultats
-            return response.getFeatures().stream()
-                    .findFirst()                     // Premier résultat
-                    .map(feature -> feature.getProperties().getScore())  // Extraire le score
-                    .filter(score -> score != null && score > SCORE_THRESHOLD) // Filtrer par seuil
-                    .isPresent();                    // Vérifier présence
+    /**
+     * Interroge l'API BAN en distinguant adresse invalide et erreur technique
+     * (utilisé par CachingAddressValidationAdapter : seules les réponses de l'API sont mises en cache)
+     *
+     * @param address L'adresse à valider
+     * @return true/false selon le score, ou null si l'API n'a pas pu être interrogée
+     */
+    Boolean lookup(Address address) {
+        return lookupAsync(address).join();
+    }
 
+    /**
+     * Version non bloquante de lookup : le futur n'échoue jamais,
+     * il est complété par null en cas d'erreur technique ou de dépassement de délai
+     */
+    CompletableFuture<Boolean> lookupAsync(Address address) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            String fullAddress = buildFullAddress(address);
+            return callGeocodingApi(fullAddress)
+                    .thenApply(this::isValid)
+                    // Borne globale : connexion + réponse + lecture du corps
+                    .orTimeout(requestTimeout.toMillis() * 2, TimeUnit.MILLISECONDS)
+                    .exceptionally(e -> {
+                        Throwable cause = unwrap(e);
+                        log.warn("Erreur lors de l'appel à l'API de géocodage: {}", cause.toString());
+                        errorCounter(TYPE_SINGLE, cause.getClass().getSimpleName()).increment();
+                        return null;
+                    })
+                    .whenComplete((valid, e) -> sample.stop(requestTimer(TYPE_SINGLE, outcome(valid))));
         } catch (Exception e) {
-            System.err.println("Erreur validation adresse: " + e.getMessage());
+            log.warn("Erreur validation adresse: {}", e.toString());
+            errorCounter(TYPE_SINGLE, e.getClass().getSimpleName()).increment();
+            sample.stop(requestTimer(TYPE_SINGLE, outcome(null)));
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private static String outcome(Boolean valid) {
+        return valid == null ? "unavailable" : valid ? "valid" : "invalid";
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        while ((e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e;
+    }
+
+    private Timer requestTimer(String type, String outcome) {
+        return Timer.builder("app.ban.requests")
+                .description("Durée des appels à l'API BAN")
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Counter errorCounter(String type, String reason) {
+        return Counter.builder("app.ban.errors")
+                .description("Erreurs techniques des appels à l'API BAN")
+                .tag("type", type)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Analyse la réponse de l'API
+     * @return true/false selon le score, null si la réponse est inexploitable
+     */
+    private Boolean isValid(AddressValidationResponse response) {
+        if (response == null) {
+            return null;
+        }
+        if (response.getFeatures() == null || response.getFeatures().isEmpty()) {
             return false;
         }
+
+        // STREAM JAVA (exigence TD): traitement fonctionnel des résultats
+        return response.getFeatures().stream()
+                .findFirst()                     // Premier résultat
+                .map(feature -> feature.getProperties().getScore())  // Extraire le score
+                .filter(score -> score != null && score > SCORE_THRESHOLD) // Filtrer par seuil
+                .isPresent();                    // Vérifier présence
     }
 
     /**
@@ -83,38 +364,52 @@ public class AddressValidationAdapter implements AddressValidationPort {
     }
 
     /**
-     * Appel de l'API de géocodage avec HttpClient HTTP/2
+     * Appel asynchrone de l'API de géocodage avec HttpClient HTTP/2
      * @param fullAddress L'adresse complète à valider
-     * @return Réponse désérialisée ou null en cas d'erreur
+     * @return Réponse désérialisée, ou null si la réponse est vide ou en erreur
      */
-    private AddressValidationResponse callGeocodingApi(String fullAddress) {
+    private CompletableFuture<AddressValidationResponse> callGeocodingApi(String fullAddress) {
         String url = UriComponentsBuilder
-                .fromUriString(API_BASE_URL)
+                .fromUriString(apiBaseUrl)
                 .queryParam("q", fullAddress)
                 .queryParam("limit", "1")
                 .toUriString();
 
-        try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .header("User-Agent", "Mozilla/5.0 (compatible; JavaApp/1.0)")
-                    .header("Accept", "*/*")
-                    .GET()
-                    .build();
-            
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            String json = response.body();
-            
-            if (json == null || json.isBlank()) {
-                return null;
-            }
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(requestTimeout)
+                .header("User-Agent", "Mozilla/5.0 (compatible; JavaApp/1.0)")
+                .header("Accept", "*/*")
+                .GET()
+                .build();
 
-            com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-            return mapper.readValue(json, AddressValidationResponse.class);
-            
-        } catch (Exception e) {
-            System.err.println("Erreur lors de l'appel à l'API de géocodage: " + e.getMessage());
-            return null;
-        }
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    byte[] json = response.body();
+                    if (response.statusCode() != 200 || json == null || json.length == 0) {
+                        errorCounter(TYPE_SINGLE, response.statusCode() != 200
+                                ? "http_" + response.statusCode() : "empty_response").increment();
+                        return null;
+                    }
+                    try {
+                        return responseReader.readValue(json);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
     }
 }
@@ -0,0 +1,163 @@
+package com.letocart.java_apirest_2026.infrastructure.adapter.out.external;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.letocart.java_apirest_2026.domain.port.out.AddressValidationPort;
+import com.letocart.java_apirest_2026.model.Address;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+
+/**
+ * Cache des validations d'adresse (décorateur de AddressValidationAdapter)
+ * Couche Infrastructure - Architecture Hexagonale
+ *
+ * - Clé normalisée "rue|codePostal|ville" (casse, accents et espaces ignorés)
+ * - Taille bornée, expiration différente pour les adresses valides et invalides
+ * - Les erreurs techniques (API indisponible) ne sont jamais mises en cache
+ * - Les validations concurrentes d'une même adresse ne déclenchent qu'un seul appel HTTP
+ * - Validation par lot : seules les adresses absentes du cache sont envoyées à la BAN
+ * - Statistiques de succès / échecs du cache via getStats(), publiées sous cache.* (cache=address-validation)
+ *
+ * Pattern: Decorator (ajoute le cache sans modifier l'adapter HTTP)
+ */
+@Component
+@Primary
+public class CachingAddressValidationAdapter implements AddressValidationPort {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final AddressValidationAdapter delegate;
+    private final AsyncCache<String, Boolean> cache;
+
+    public CachingAddressValidationAdapter(
+            AddressValidationAdapter delegate,
+            @Value("${app.address-validation.cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.address-validation.cache.positive-ttl:24h}") Duration positiveTtl,
+            @Value("${app.address-validation.cache.negative-ttl:10m}") Duration negativeTtl,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Boolean>() {
+                    @Override
+                    public long expireAfterCreate(String key, Boolean valid, long currentTime) {
+                        return (valid ? positiveTtl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Boolean valid, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, valid, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Boolean valid, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "address-validation");
+    }
+
+    /**
+     * Valide une adresse en passant par le cache
+     * @param address Adresse à valider
+     * @return true si l'adresse est valide (score > 0.5)
+     */
+    @Override
+    public boolean validateAddress(Address address) {
+        return validateAddressAsync(address).join();
+    }
+
+    /**
+     * Valide une adresse sans bloquer, en passant par le cache
+     * Un seul appel HTTP en vol par clé : les demandes concurrentes partagent le même futur.
+     * Un futur complété par null (erreur technique) est retiré du cache automatiquement.
+     */
+    @Override
+    public CompletableFuture<Boolean> validateAddressAsync(Address address) {
+        return cache.get(cacheKey(address), (key, executor) -> delegate.lookupAsync(address))
+                .thenApply(Boolean.TRUE::equals);
+    }
+
+    /**
+     * Valide un lot d'adresses : les adresses déjà en cache sont résolues localement,
+     * les autres sont envoyées en un seul appel de géocodage par lot puis mises en cache
+     */
+    @Override
+    public List<Boolean> validateAddresses(List<Address> addresses) {
+        List<Boolean> results = new ArrayList<>(addresses.size());
+        List<Integer> missIndexes = new ArrayList<>();
+        List<Address> misses = new ArrayList<>();
+        for (int i = 0; i < addresses.size(); i++) {
+            Boolean cached = cachedValue(addresses.get(i));
+            results.add(cached);
+            if (cached == null) {
+                missIndexes.add(i);
+                misses.add(addresses.get(i));
+            }
+        }
+        if (misses.isEmpty()) {
+            return results;
+        }
+
+        List<Boolean> fetched = delegate.validateAddresses(misses);
+        for (int i = 0; i < misses.size(); i++) {
+            Boolean valid = fetched.get(i);
+            results.set(missIndexes.get(i), valid);
+            if (valid != null) {
+                cache.put(cacheKey(misses.get(i)), CompletableFuture.completedFuture(valid));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Résultat déjà connu pour cette adresse (null si absent ou en cours de validation)
+     */
+    private Boolean cachedValue(Address address) {
+        CompletableFuture<Boolean> cached = cache.getIfPresent(cacheKey(address));
+        if (cached == null || !cached.isDone() || cached.isCompletedExceptionally()) {
+            return null;
+        }
+        return cached.join();
+    }
+
+    /**
+     * Statistiques du cache (hits, misses, chargements, évictions)
+     */
+    public CacheStats getStats() {
+        return cache.synchronous().stats();
+    }
+
+    /**
+     * Clé de cache normalisée : "rue|codePostal|ville"
+     */
+    static String cacheKey(Address address) {
+        return normalize(address.getStreet()) + '|'
+                + normalize(address.getPostalCode()) + '|'
+                + normalize(address.getCity());
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String withoutAccents = DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(withoutAccents.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
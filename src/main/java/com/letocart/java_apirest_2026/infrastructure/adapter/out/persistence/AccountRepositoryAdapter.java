@@ -1,13 +1,26 @@
 package com.letocart.java_apirest_2026.infrastructure.adapter.out.persistence;
 
 import com.letocart.java_apirest_2026.domain.port.out.AccountRepositoryPort;
+import com.letocart.java_apirest_2026.dto.AccountView;
+import com.letocart.java_apirest_2026.dto.CursorPage;
+import com.letocart.java_apirest_2026.event.ProductRatingChangedEvent;
 import com.letocart.java_apirest_2026.model.Account;
 import com.letocart.java_apirest_2026.repository.AccountRepository;
+import com.letocart.java_apirest_2026.repository.NoticeRepository;
+import com.letocart.java_apirest_2026.repository.ProductRatingRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Adapter de persistance pour les comptes (Account)
@@ -23,13 +36,28 @@ import java.util.Optional;
 public class AccountRepositoryAdapter implements AccountRepositoryPort {
 
     private final AccountRepository accountRepository;
+    private final NoticeRepository noticeRepository;
+    private final ProductRatingRepository productRatingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     /**
      * Injection du repository Spring Data JPA
      * @param accountRepository Repository JPA géré par Spring
+     * @param noticeRepository Avis du compte (supprimés en cascade avec lui)
+     * @param productRatingRepository Agrégats des notes des produits notés par le compte
+     * @param eventPublisher Notification des notes recalculées
      */
-    public AccountRepositoryAdapter(AccountRepository accountRepository) {
+    public AccountRepositoryAdapter(AccountRepository accountRepository,
+                                    NoticeRepository noticeRepository,
+                                    ProductRatingRepository productRatingRepository,
+                                    ApplicationEventPublisher eventPublisher) {
         this.accountRepository = accountRepository;
+        this.noticeRepository = noticeRepository;
+        this.productRatingRepository = productRatingRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -48,19 +76,55 @@ public class AccountRepositoryAdapter implements AccountRepositoryPort {
     }
 
     @Override
-    public List<Account> findAll() {
-        List<Account> accounts = new ArrayList<>();
-        accountRepository.findAll().forEach(accounts::add);
-        return accounts;
+    public CursorPage<AccountView> findPage(String after, int limit) {
+        return CursorPage.of(
+                accountRepository.findViewsAfter(CursorPage.idAfter(after), CursorPage.lookahead(limit)),
+                limit, AccountView::accountId);
     }
 
     @Override
+    public Optional<AccountView> findViewById(Long id) {
+        return accountRepository.findViewById(id);
+    }
+
+    @Override
+    @Transactional
     public void deleteById(Long id) {
+        List<Long> ratedProductIds = noticeRepository.findProductIdsByAccount(id);
         accountRepository.deleteById(id);
+        // Les avis supprimés en cascade ne passent pas par NoticeService : agrégats recalculés après le flush
+        entityManager.flush();
+        productRatingRepository.recompute(ratedProductIds);
+        if (!ratedProductIds.isEmpty()) {
+            eventPublisher.publishEvent(new ProductRatingChangedEvent(new HashSet<>(ratedProductIds)));
+        }
     }
 
     @Override
     public boolean existsByEmail(String email) {
         return accountRepository.findByEmail(email).isPresent();
     }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        Set<String> existing = new HashSet<>();
+        for (String email : accountRepository.findExistingEmails(emails)) {
+            existing.add(email.toLowerCase(Locale.ROOT));
+        }
+        return existing;
+    }
+
+    @Override
+    @Transactional
+    public List<Account> saveAll(List<Account> accounts) {
+        List<Account> saved = new ArrayList<>(accounts.size());
+        try {
+            accountRepository.saveAll(accounts).forEach(saved::add);
+            entityManager.flush();
+        } finally {
+            // Vider le contexte de persistance après chaque lot (la transaction englobante le garderait sinon)
+            entityManager.clear();
+        }
+        return saved;
+    }
 }
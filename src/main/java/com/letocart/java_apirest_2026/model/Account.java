@@ -9,8 +9,12 @@ import java.util.List;
 @Table(name = "account")
 public class Account {
 
+    // Identifiants réservés par blocs de 50 (table id_generator) : contrairement à IDENTITY,
+    // Hibernate connaît l'identifiant avant l'INSERT et peut regrouper les insertions en batch JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "account_id")
+    @TableGenerator(name = "account_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "account", allocationSize = 50)
     @Column(name = "account_id")
     private Long accountId;
 
@@ -7,8 +7,12 @@ import jakarta.persistence.*;
 @Table(name = "address")
 public class Address {
 
+    // Identifiants réservés par blocs de 50 (table id_generator) : contrairement à IDENTITY,
+    // Hibernate connaît l'identifiant avant l'INSERT et peut regrouper les insertions en batch JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "address_id")
+    @TableGenerator(name = "address_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "address", allocationSize = 50)
     @Column(name = "address_id")
     private Long addressId;
 
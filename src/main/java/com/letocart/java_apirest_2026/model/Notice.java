@@ -21,6 +21,11 @@ public class Notice {
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
+    // Version (verrouillage optimiste, ETag) : incrémentée à chaque modification de la ligne
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Relation ManyToOne avec Account
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "account_id", nullable = false)
@@ -48,6 +53,8 @@ public class Notice {
     public Long getNoticeId() { return noticeId; }
     public void setNoticeId(Long noticeId) { this.noticeId = noticeId; }
 
+    public Long getVersion() { return version; }
+
     public Integer getRating() { return rating; }
     public void setRating(Integer rating) { this.rating = rating; }
 
@@ -0,0 +1,50 @@
+package com.letocart.java_apirest_2026.model;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Statuts d'une commande et transitions autorisées
+ *
+ * PENDING -> CONFIRMED -> SHIPPED -> DELIVERED ; une commande non expédiée peut être annulée.
+ * DELIVERED et CANCELLED sont définitifs. La colonne orders.status reste une chaîne :
+ * seules les valeurs de cette énumération y sont écrites.
+ */
+public enum OrderStatus {
+    PENDING,
+    CONFIRMED,
+    SHIPPED,
+    DELIVERED,
+    CANCELLED;
+
+    /**
+     * Statuts atteignables directement depuis celui-ci
+     */
+    public Set<OrderStatus> next() {
+        return switch (this) {
+            case PENDING -> Set.of(CONFIRMED, CANCELLED);
+            case CONFIRMED -> Set.of(SHIPPED, CANCELLED);
+            case SHIPPED -> Set.of(DELIVERED);
+            case DELIVERED, CANCELLED -> Set.of();
+        };
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return next().contains(target);
+    }
+
+    /**
+     * Statut lu dans une requête (casse indifférente)
+     * @throws IllegalArgumentException si le statut est absent ou inconnu
+     */
+    public static OrderStatus parse(String status) {
+        if (status == null || status.isBlank()) {
+            throw new IllegalArgumentException("Statut de commande manquant");
+        }
+        try {
+            return valueOf(status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Statut de commande inconnu : " + status);
+        }
+    }
+}
@@ -22,7 +22,12 @@ public class Orders {
     private BigDecimal totalAmount;
 
     @Column(nullable = false)
-    private String status; // "PENDING", "CONFIRMED", "SHIPPED", "DELIVERED", "CANCELLED"
+    private String status; // OrderStatus : "PENDING", "CONFIRMED", "SHIPPED", "DELIVERED", "CANCELLED"
+
+    // Version (verrouillage optimiste, ETag) : incrémentée à chaque modification de la ligne
+    @Version
+    @Column(nullable = false)
+    private Long version;
 
     // Relation ManyToOne avec Account
     // Un Orders appartient à un seul Account
@@ -51,6 +56,8 @@ public class Orders {
     public Long getOrdersId() { return ordersId; }
     public void setOrdersId(Long ordersId) { this.ordersId = ordersId; }
 
+    public Long getVersion() { return version; }
+
     public LocalDateTime getOrderDate() { return orderDate; }
     public void setOrderDate(LocalDateTime orderDate) { this.orderDate = orderDate; }
 
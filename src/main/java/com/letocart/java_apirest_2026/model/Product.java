@@ -26,6 +26,12 @@ public class Product {
     @Column(nullable = false)
     private Integer stockQuantity;
 
+    // Version (verrouillage optimiste, ETag) : incrémentée à chaque modification de la ligne,
+    // y compris par les UPDATE JDBC du stock
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Relation OneToMany avec OrdersDetails
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL)
     private List<OrdersDetails> ordersDetails = new ArrayList<>();
@@ -48,6 +54,8 @@ public class Product {
     public Long getProductId() { return productId; }
     public void setProductId(Long productId) { this.productId = productId; }
 
+    public Long getVersion() { return version; }
+
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
@@ -0,0 +1,70 @@
+package com.letocart.java_apirest_2026.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+
+/**
+ * Agrégat des notes d'un produit, tenu à jour à chaque création / suppression d'avis
+ *
+ * Évite de relire tous les avis d'un produit pour afficher sa note moyenne :
+ * nombre d'avis, somme des notes et répartition par nombre d'étoiles.
+ * La moyenne est stockée (et indexée) uniquement pour classer les produits les mieux notés.
+ *
+ * Mis à jour en SQL par ProductRatingUpdateRepository (incréments atomiques), jamais par l'entité.
+ */
+@Entity
+@Table(name = "product_rating",
+        indexes = @Index(name = "idx_product_rating_average", columnList = "average_rating, rating_count"))
+public class ProductRating {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "rating_count", nullable = false)
+    private int ratingCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    // Répartition des notes : nombre d'avis à 1, 2, 3, 4 et 5 étoiles
+    @Column(name = "count_1", nullable = false)
+    private int count1;
+
+    @Column(name = "count_2", nullable = false)
+    private int count2;
+
+    @Column(name = "count_3", nullable = false)
+    private int count3;
+
+    @Column(name = "count_4", nullable = false)
+    private int count4;
+
+    @Column(name = "count_5", nullable = false)
+    private int count5;
+
+    @Column(name = "average_rating", nullable = false, precision = 5, scale = 4)
+    private BigDecimal averageRating;
+
+    // Constructeurs
+    public ProductRating() {}
+
+    // Getters
+    public Long getProductId() { return productId; }
+
+    public int getRatingCount() { return ratingCount; }
+
+    public long getRatingSum() { return ratingSum; }
+
+    public int getCount1() { return count1; }
+
+    public int getCount2() { return count2; }
+
+    public int getCount3() { return count3; }
+
+    public int getCount4() { return count4; }
+
+    public int getCount5() { return count5; }
+
+    public BigDecimal getAverageRating() { return averageRating; }
+}
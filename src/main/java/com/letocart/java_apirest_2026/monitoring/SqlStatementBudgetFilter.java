@@ -0,0 +1,138 @@
+package com.letocart.java_apirest_2026.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Budget de requêtes SQL par requête HTTP
+ *
+ * Compte les requêtes SQL exécutées pendant le traitement d'une requête, du filtre à la
+ * sérialisation JSON (sans open-in-view, les chargements paresseux y échouent au lieu
+ * d'interroger la base : les requêtes comptées sont celles des services) :
+ * - en-têtes X-SQL-Statements, X-SQL-Time-Ms et X-SQL-Max-Repeats (même requête répétée : N+1)
+ * - métriques app.sql.statements et app.sql.time par méthode et URI
+ * - avertissement dans les logs au-delà de app.sql-budget.warn-threshold requêtes
+ *
+ * Le corps de la réponse est mis en mémoire tampon pour que les en-têtes puissent être
+ * écrits après la sérialisation : outil de diagnostic, activé seulement par
+ * app.sql-budget.enabled=true (tests, environnement de recette). Les chemins de
+ * app.sql-budget.excluded-paths (exports en streaming) ne sont jamais mis en tampon ni
+ * mesurés ; les autres traitements asynchrones ne sont mesurés que sur le thread de la
+ * requête initiale.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sql-budget.enabled", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementBudgetFilter.class);
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+    public static final String MAX_REPEATS_HEADER = "X-SQL-Max-Repeats";
+
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+    private final List<String> excludedPaths;
+
+    public SqlStatementBudgetFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.sql-budget.warn-threshold:20}") int warnThreshold,
+            @Value("${app.sql-budget.excluded-paths:/api/orders/export}") List<String> excludedPaths) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+        this.excludedPaths = excludedPaths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return excludedPaths.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // Le corps mis en tampon doit être recopié à la fin du traitement asynchrone
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                copyBody(request, WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class));
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper bufferedResponse = new ContentCachingResponseWrapper(response);
+        SqlStatementStats.start();
+        SqlStatementStats stats;
+        try {
+            chain.doFilter(request, bufferedResponse);
+        } finally {
+            stats = SqlStatementStats.stop();
+            if (!response.isCommitted() && !isAsyncStarted(request)) {
+                response.setHeader(STATEMENTS_HEADER, Integer.toString(stats.getStatements()));
+                response.setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.3f", stats.getExecutionNanos() / 1_000_000.0));
+                response.setHeader(MAX_REPEATS_HEADER, Integer.toString(stats.getMaxRepeats()));
+            }
+            copyBody(request, bufferedResponse);
+        }
+        record(request, stats);
+    }
+
+    private void copyBody(HttpServletRequest request, ContentCachingResponseWrapper bufferedResponse) throws IOException {
+        if (bufferedResponse != null && !isAsyncStarted(request)) {
+            bufferedResponse.copyBodyToResponse();
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("app.sql.statements")
+                .description("Requêtes SQL exécutées par requête HTTP")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("app.sql.time")
+                .description("Temps d'exécution SQL cumulé par requête HTTP")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getExecutionNanos(), TimeUnit.NANOSECONDS);
+
+        if (warnThreshold > 0 && stats.getStatements() > warnThreshold) {
+            log.warn("{} {} : {} requêtes SQL (seuil {}), requête la plus répétée {} fois : {}",
+                    request.getMethod(), uri, stats.getStatements(), warnThreshold,
+                    stats.getMaxRepeats(), stats.getMostRepeatedSql());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.letocart.java_apirest_2026.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * StatementInspector Hibernate : compte chaque requête SQL préparée sans la modifier
+ * (enregistré par SqlMonitoringConfig via hibernate.session_factory.statement_inspector)
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementStats.statementPrepared(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,109 @@
+package com.letocart.java_apirest_2026.monitoring;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compteur des requêtes SQL exécutées par le thread courant pendant un enregistrement
+ *
+ * Alimenté par SqlStatementCounter (nombre de requêtes, texte SQL) et SqlTimingSessionListener
+ * (durée d'exécution JDBC) ; un enregistrement couvre une requête HTTP (SqlStatementBudgetFilter).
+ * Hors enregistrement (threads de fond, démarrage), les appels sont sans effet.
+ *
+ * Seules les requêtes passant par Hibernate sont comptées (pas celles de JdbcTemplate).
+ */
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long executionNanos;
+    private long executionStart;
+    // Texte SQL -> nombre d'exécutions : une même requête répétée N fois signale un N+1
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+    private SqlStatementStats() {
+    }
+
+    /**
+     * Démarre un enregistrement sur le thread courant (remplace l'enregistrement en cours)
+     */
+    public static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Termine l'enregistrement du thread courant
+     * @return Statistiques enregistrées, ou null si aucun enregistrement n'était en cours
+     */
+    public static SqlStatementStats stop() {
+        SqlStatementStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    static void statementPrepared(String sql) {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.executionsBySql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    static void executionStarted() {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.executionStart = System.nanoTime();
+        }
+    }
+
+    static void executionEnded() {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats != null && stats.executionStart != 0) {
+            stats.executionNanos += System.nanoTime() - stats.executionStart;
+            stats.executionStart = 0;
+        }
+    }
+
+    /**
+     * Nombre de requêtes SQL préparées (un batch JDBC compte pour une requête)
+     */
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * Temps total passé dans l'exécution JDBC, en nanosecondes
+     */
+    public long getExecutionNanos() {
+        return executionNanos;
+    }
+
+    /**
+     * Plus grand nombre d'exécutions d'un même texte SQL
+     */
+    public int getMaxRepeats() {
+        return executionsBySql.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    /**
+     * Textes SQL distincts préparés pendant l'enregistrement
+     */
+    public Set<String> getSqlTexts() {
+        return Collections.unmodifiableSet(executionsBySql.keySet());
+    }
+
+    /**
+     * Texte SQL le plus répété (null si aucune requête)
+     */
+    public String getMostRepeatedSql() {
+        return executionsBySql.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,30 @@
+package com.letocart.java_apirest_2026.monitoring;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Mesure la durée des exécutions JDBC de chaque session Hibernate
+ * (instancié par Hibernate pour chaque session via hibernate.session.events.auto)
+ */
+public class SqlTimingSessionListener extends BaseSessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        SqlStatementStats.executionStarted();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementStats.executionEnded();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        SqlStatementStats.executionStarted();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementStats.executionEnded();
+    }
+}
@@ -1,16 +1,40 @@
 package com.letocart.java_apirest_2026.repository;
 
+import com.letocart.java_apirest_2026.dto.AccountView;
 import com.letocart.java_apirest_2026.model.Account;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AccountRepository extends CrudRepository<Account, Long> {
+public interface AccountRepository extends CrudRepository<Account, Long>, PagingAndSortingRepository<Account, Long> {
+
+    // Vue en lecture seule : compte et adresse en une seule requête (jointure), sans mot de passe
+    String ACCOUNT_VIEW = "select new com.letocart.java_apirest_2026.dto.AccountView("
+            + "a.accountId, a.firstName, a.lastName, a.email, "
+            + "ad.addressId, ad.street, ad.city, ad.postalCode, ad.country) "
+            + "from Account a left join a.address ad ";
 
     // Méthode personnalisée pour trouver un compte par email
     Optional<Account> findByEmail(String email);
 
     // Spring Data JPA génère automatiquement l'implémentation
     // en se basant sur le nom de la méthode
+
+    // Pagination keyset : WHERE accountId > :curseur ORDER BY accountId LIMIT :limit (sans OFFSET)
+    @Query(ACCOUNT_VIEW + "where a.accountId > :after order by a.accountId")
+    List<AccountView> findViewsAfter(@Param("after") long after, Limit limit);
+
+    @Query(ACCOUNT_VIEW + "where a.accountId = :id")
+    Optional<AccountView> findViewById(@Param("id") Long id);
+
+    // Import en masse : emails déjà utilisés parmi un lot, en une seule requête
+    @Query("select a.email from Account a where a.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
@@ -1,16 +1,42 @@
 package com.letocart.java_apirest_2026.repository;
 
+import com.letocart.java_apirest_2026.dto.NoticeView;
+import com.letocart.java_apirest_2026.dto.VersionStamp;
 import com.letocart.java_apirest_2026.model.Notice;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface NoticeRepository extends CrudRepository<Notice, Long> {
+public interface NoticeRepository extends CrudRepository<Notice, Long>, PagingAndSortingRepository<Notice, Long> {
 
-    // Trouver les avis d'un produit
-    List<Notice> findByProductProductId(Long productId);
+    // Vue en lecture seule : le compte et le produit sont lus par leur clé étrangère (sans jointure)
+    String NOTICE_VIEW = "select new com.letocart.java_apirest_2026.dto.NoticeView("
+            + "n.noticeId, n.rating, n.comment, n.createdAt, n.account.accountId, n.product.productId) "
+            + "from Notice n ";
 
-    // Trouver les avis d'un utilisateur
-    List<Notice> findByAccountAccountId(Long accountId);
+    // Trouver les avis d'un produit, par date (index idx_notice_product_date, sans tri)
+    @Query(NOTICE_VIEW + "where n.product.productId = :productId order by n.createdAt, n.noticeId")
+    List<NoticeView> findViewsByProduct(@Param("productId") Long productId);
+
+    // Empreinte des avis d'un produit (ETag) : agrégat sur l'index idx_notice_product_date (couvrant), sans lire les avis
+    @Query("select new com.letocart.java_apirest_2026.dto.VersionStamp(count(n), coalesce(sum(n.version), 0L), "
+            + "coalesce(max(n.noticeId), 0L)) from Notice n where n.product.productId = :productId")
+    VersionStamp findVersionStampByProduct(@Param("productId") Long productId);
+
+    // Trouver les avis d'un utilisateur, par date (index idx_notice_account_date, sans tri)
+    @Query(NOTICE_VIEW + "where n.account.accountId = :accountId order by n.createdAt, n.noticeId")
+    List<NoticeView> findViewsByAccount(@Param("accountId") Long accountId);
+
+    // Produits notés par un utilisateur (agrégats de notes à recalculer si ses avis disparaissent)
+    @Query("select distinct n.product.productId from Notice n where n.account.accountId = :accountId")
+    List<Long> findProductIdsByAccount(@Param("accountId") Long accountId);
+
+    // Pagination keyset : WHERE noticeId > :curseur ORDER BY noticeId LIMIT :limit (sans OFFSET)
+    @Query(NOTICE_VIEW + "where n.noticeId > :after order by n.noticeId")
+    List<NoticeView> findViewsAfter(@Param("after") long after, Limit limit);
 }
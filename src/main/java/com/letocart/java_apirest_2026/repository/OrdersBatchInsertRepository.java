@@ -0,0 +1,26 @@
+package com.letocart.java_apirest_2026.repository;
+
+import com.letocart.java_apirest_2026.model.Orders;
+
+import java.util.List;
+
+/**
+ * Fragment de repository pour l'insertion de commandes par lots
+ * (implémenté en JDBC par OrdersBatchInsertRepositoryImpl)
+ */
+public interface OrdersBatchInsertRepository {
+
+    /**
+     * Insère plusieurs commandes et leurs lignes en deux batchs JDBC (commandes, puis lignes)
+     *
+     * Avec des identifiants IDENTITY, Hibernate insère chaque entité séparément pour lire sa clé :
+     * ici les clés générées de tout le batch sont relues d'un coup et reportées sur les entités
+     * (ordersId, id des lignes). La version des commandes part de 0, comme à l'insertion JPA.
+     * Les entités ne sont pas attachées au contexte de persistance.
+     *
+     * Doit être appelé dans une transaction.
+     *
+     * @param orders Commandes prêtes à insérer : compte, date, statut, montant et lignes (produit, quantité, prix)
+     */
+    void insertAll(List<Orders> orders);
+}
@@ -0,0 +1,98 @@
+package com.letocart.java_apirest_2026.repository;
+
+import com.letocart.java_apirest_2026.model.Orders;
+import com.letocart.java_apirest_2026.model.OrdersDetails;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implémentation JDBC du fragment OrdersBatchInsertRepository
+ * Le JdbcTemplate partage la connexion de la transaction JPA en cours.
+ */
+public class OrdersBatchInsertRepositoryImpl implements OrdersBatchInsertRepository {
+
+    private static final String INSERT_ORDER_SQL = "INSERT INTO orders "
+            + "(account_id, order_date, status, total_amount, version) VALUES (?, ?, ?, ?, 0)";
+    private static final String INSERT_DETAIL_SQL = "INSERT INTO orders_details "
+            + "(orders_id, product_id, quantity, unit_price, subtotal) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrdersBatchInsertRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<Orders> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        List<Long> orderIds = insert(INSERT_ORDER_SQL, "orders_id", orders.size(), (ps, i) -> {
+            Orders order = orders.get(i);
+            ps.setLong(1, order.getAccount().getAccountId());
+            ps.setTimestamp(2, Timestamp.valueOf(order.getOrderDate()));
+            ps.setString(3, order.getStatus());
+            ps.setBigDecimal(4, order.getTotalAmount());
+        });
+
+        List<OrdersDetails> details = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            orders.get(i).setOrdersId(orderIds.get(i));
+            details.addAll(orders.get(i).getOrdersDetails());
+        }
+        List<Long> detailIds = insert(INSERT_DETAIL_SQL, "id", details.size(), (ps, i) -> {
+            OrdersDetails detail = details.get(i);
+            ps.setLong(1, detail.getOrders().getOrdersId());
+            ps.setLong(2, detail.getProduct().getProductId());
+            ps.setInt(3, detail.getQuantity());
+            ps.setBigDecimal(4, detail.getUnitPrice());
+            ps.setBigDecimal(5, detail.getSubtotal());
+        });
+        for (int i = 0; i < details.size(); i++) {
+            details.get(i).setId(detailIds.get(i));
+        }
+    }
+
+    private interface RowSetter {
+        void setValues(PreparedStatement ps, int i) throws SQLException;
+    }
+
+    /**
+     * Un batch JDBC, puis les clés générées dans l'ordre des lignes
+     */
+    private List<Long> insert(String sql, String keyColumn, int rows, RowSetter setter) {
+        PreparedStatementCreator creator = connection -> connection.prepareStatement(sql, new String[]{keyColumn});
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(creator, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                setter.setValues(ps, i);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows;
+            }
+        }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != rows) {
+            throw new IllegalStateException("Clés générées manquantes : " + keys.size() + " pour " + rows + " lignes");
+        }
+        List<Long> ids = new ArrayList<>(rows);
+        for (Map<String, Object> key : keys) {
+            // Nom de colonne propre au pilote (GENERATED_KEY pour MySQL) : seule la clé demandée est renvoyée
+            ids.add(((Number) key.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+}
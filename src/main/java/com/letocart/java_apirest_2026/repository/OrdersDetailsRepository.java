@@ -1,9 +1,22 @@
 package com.letocart.java_apirest_2026.repository;
 
+import com.letocart.java_apirest_2026.dto.OrderLineView;
 import com.letocart.java_apirest_2026.model.OrdersDetails;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface OrdersDetailsRepository extends CrudRepository<OrdersDetails, Long> {
+
+    // Lignes de plusieurs commandes en une seule requête, avec le nom du produit (jointure)
+    @Query("select new com.letocart.java_apirest_2026.dto.OrderLineView("
+            + "d.orders.ordersId, d.id, p.productId, p.name, d.quantity, d.unitPrice, d.subtotal) "
+            + "from OrdersDetails d join d.product p "
+            + "where d.orders.ordersId in :ordersIds order by d.orders.ordersId, d.id")
+    List<OrderLineView> findViewsByOrders(@Param("ordersIds") Collection<Long> ordersIds);
 }
@@ -0,0 +1,23 @@
+package com.letocart.java_apirest_2026.repository;
+
+import com.letocart.java_apirest_2026.dto.OrderExportRow;
+
+import java.util.stream.Stream;
+
+/**
+ * Fragment de repository pour l'export des commandes en flux
+ * (implémenté en JPQL par OrdersExportRepositoryImpl)
+ */
+public interface OrdersExportRepository {
+
+    /**
+     * Curseur en lecture seule (forward-only) sur les commandes et leurs lignes, triées par commande puis ligne
+     *
+     * Seule cette requête est lue en flux : sur MySQL, Connector/J transmet les lignes une à une
+     * (fetch size Integer.MIN_VALUE) sans useCursorFetch global sur la connexion ; ailleurs,
+     * le fetch size borne le nombre de lignes chargées par aller-retour.
+     *
+     * Le Stream doit être consommé dans une transaction puis fermé.
+     */
+    Stream<OrderExportRow> streamExportRows();
+}
@@ -0,0 +1,47 @@
+package com.letocart.java_apirest_2026.repository;
+
+import com.letocart.java_apirest_2026.dto.OrderExportRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.stream.Stream;
+
+/**
+ * Implémentation JPQL du fragment OrdersExportRepository
+ */
+public class OrdersExportRepositoryImpl implements OrdersExportRepository {
+
+    // Jointures externes : une commande sans compte ou sans ligne est exportée quand même
+    private static final String EXPORT_JPQL = "select new com.letocart.java_apirest_2026.dto.OrderExportRow("
+            + "o.ordersId, o.orderDate, o.status, o.totalAmount, a.accountId, "
+            + "d.id, p.productId, d.quantity, d.unitPrice, d.subtotal) "
+            + "from Orders o left join o.account a left join o.ordersDetails d left join d.product p "
+            + "order by o.ordersId, d.id";
+
+    // Lignes par aller-retour hors MySQL
+    private static final int FETCH_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<OrderExportRow> streamExportRows() {
+        return entityManager.createQuery(EXPORT_JPQL, OrderExportRow.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamingFetchSize())
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_CACHEABLE, false)
+                .getResultStream();
+    }
+
+    /**
+     * Integer.MIN_VALUE : résultat en flux ligne à ligne pour Connector/J (sinon tout le résultat est chargé)
+     */
+    private int streamingFetchSize() {
+        boolean mysql = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof MySQLDialect;
+        return mysql ? Integer.MIN_VALUE : FETCH_SIZE;
+    }
+}
@@ -1,16 +1,63 @@
 package com.letocart.java_apirest_2026.repository;
 
+import com.letocart.java_apirest_2026.dto.OrderStatusRow;
+import com.letocart.java_apirest_2026.dto.OrderView;
+import com.letocart.java_apirest_2026.dto.VersionStamp;
 import com.letocart.java_apirest_2026.model.Orders;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface OrdersRepository extends CrudRepository<Orders, Long> {
+public interface OrdersRepository extends CrudRepository<Orders, Long>, PagingAndSortingRepository<Orders, Long>,
+        OrdersBatchInsertRepository, OrdersExportRepository {
 
-    // Trouver toutes les commandes d'un compte
-    List<Orders> findByAccountAccountId(Long accountId);
+    // Vue en lecture seule : en-tête de commande (les lignes sont lues par OrdersDetailsRepository.findViewsByOrders)
+    String ORDER_VIEW = "select new com.letocart.java_apirest_2026.dto.OrderView("
+            + "o.ordersId, o.orderDate, o.totalAmount, o.status, o.account.accountId) from Orders o ";
+
+    // Trouver toutes les commandes d'un compte, par date (index idx_orders_account_date, sans tri)
+    @Query(ORDER_VIEW + "where o.account.accountId = :accountId order by o.orderDate, o.ordersId")
+    List<OrderView> findViewsByAccount(@Param("accountId") Long accountId);
 
     // Trouver les commandes par statut
     List<Orders> findByStatus(String status);
+
+    // Statut courant de plusieurs commandes (changement de statut en masse), sans charger les entités
+    @Query("select new com.letocart.java_apirest_2026.dto.OrderStatusRow(o.ordersId, o.status) "
+            + "from Orders o where o.ordersId in :ids")
+    List<OrderStatusRow> findStatusesByIds(@Param("ids") Collection<Long> ids);
+
+    // Commandes d'un statut passées avant une date, les plus anciennes d'abord (index idx_orders_status_date)
+    @Query("select o.ordersId from Orders o where o.status = :status and o.orderDate < :before "
+            + "order by o.orderDate, o.ordersId")
+    List<Long> findIdsByStatusBefore(@Param("status") String status, @Param("before") LocalDateTime before, Limit limit);
+
+    // Changement de statut conditionnel : seules les commandes encore dans le statut :from sont modifiées.
+    // La version est incrémentée comme par Hibernate (ETag de la commande, verrouillage optimiste).
+    @Modifying
+    @Query("update Orders o set o.status = :to, o.version = o.version + 1 "
+            + "where o.ordersId in :ids and o.status = :from")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("from") String from, @Param("to") String to);
+
+    // Pagination keyset : WHERE ordersId > :curseur ORDER BY ordersId LIMIT :limit (sans OFFSET)
+    @Query(ORDER_VIEW + "where o.ordersId > :after order by o.ordersId")
+    List<OrderView> findViewsAfter(@Param("after") long after, Limit limit);
+
+    @Query(ORDER_VIEW + "where o.ordersId = :id")
+    Optional<OrderView> findViewById(@Param("id") Long id);
+
+    // Empreinte d'une commande (ETag) : sa version et celles des produits de ses lignes (nom affiché)
+    @Query("select new com.letocart.java_apirest_2026.dto.VersionStamp(count(d), o.version + coalesce(sum(p.version), 0L), "
+            + "o.ordersId) from Orders o left join o.ordersDetails d left join d.product p "
+            + "where o.ordersId = :id group by o.ordersId, o.version")
+    Optional<VersionStamp> findVersionStampById(@Param("id") Long id);
 }
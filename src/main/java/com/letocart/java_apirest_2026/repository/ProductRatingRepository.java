@@ -0,0 +1,31 @@
+package com.letocart.java_apirest_2026.repository;
+
+import com.letocart.java_apirest_2026.dto.ProductRatingView;
+import com.letocart.java_apirest_2026.model.ProductRating;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProductRatingRepository extends CrudRepository<ProductRating, Long>, ProductRatingUpdateRepository {
+
+    // Note d'un produit : une lecture par clé primaire (produit sans avis : agrégat à zéro)
+    @Query("select new com.letocart.java_apirest_2026.dto.ProductRatingView("
+            + "p.productId, p.name, coalesce(r.ratingCount, 0), coalesce(r.ratingSum, 0L), "
+            + "coalesce(r.count1, 0), coalesce(r.count2, 0), coalesce(r.count3, 0), coalesce(r.count4, 0), coalesce(r.count5, 0)) "
+            + "from Product p left join ProductRating r on r.productId = p.productId "
+            + "where p.productId = :productId")
+    Optional<ProductRatingView> findViewByProductId(@Param("productId") Long productId);
+
+    // Produits les mieux notés : parcours de l'index (average_rating, rating_count) limité à :limit lignes
+    @Query("select new com.letocart.java_apirest_2026.dto.ProductRatingView("
+            + "r.productId, p.name, r.ratingCount, r.ratingSum, r.count1, r.count2, r.count3, r.count4, r.count5) "
+            + "from ProductRating r join Product p on p.productId = r.productId "
+            + "where r.ratingCount >= :minRatings "
+            + "order by r.averageRating desc, r.ratingCount desc, r.productId")
+    List<ProductRatingView> findTopRated(@Param("minRatings") int minRatings, Limit limit);
+}
@@ -0,0 +1,34 @@
+package com.letocart.java_apirest_2026.repository;
+
+import java.util.Collection;
+
+/**
+ * Fragment de repository pour la mise à jour incrémentale des notes des produits
+ * (implémenté en JDBC par ProductRatingUpdateRepositoryImpl)
+ *
+ * Chaque mise à jour est un incrément atomique de la ligne du produit : deux avis
+ * simultanés sur le même produit ne peuvent pas écraser le compteur l'un de l'autre.
+ * Doit être appelé dans la transaction qui crée ou supprime l'avis.
+ */
+public interface ProductRatingUpdateRepository {
+
+    /**
+     * Ajoute une note à l'agrégat du produit (crée l'agrégat au premier avis)
+     * @param productId Produit noté
+     * @param rating Note de 1 à 5
+     */
+    void addRating(long productId, int rating);
+
+    /**
+     * Retire une note de l'agrégat du produit (avis supprimé)
+     * @param productId Produit noté
+     * @param rating Note de 1 à 5
+     */
+    void removeRating(long productId, int rating);
+
+    /**
+     * Recalcule entièrement l'agrégat de quelques produits depuis la table notice
+     * (avis supprimés en cascade, par exemple avec leur compte)
+     */
+    void recompute(Collection<Long> productIds);
+}
@@ -0,0 +1,102 @@
+package com.letocart.java_apirest_2026.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Implémentation JDBC du fragment ProductRatingUpdateRepository
+ * Le JdbcTemplate partage la connexion de la transaction JPA en cours.
+ */
+public class ProductRatingUpdateRepositoryImpl implements ProductRatingUpdateRepository {
+
+    // Premier avis : insertion ; sinon incrément atomique de la ligne existante (pas de lecture préalable)
+    private static final String ADD_RATING_SQL =
+            "INSERT INTO product_rating (product_id, rating_count, rating_sum, "
+                    + "count_1, count_2, count_3, count_4, count_5, average_rating) "
+                    + "VALUES (?, 1, ?, ?, ?, ?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE rating_count = rating_count + 1, rating_sum = rating_sum + ?, "
+                    + "count_1 = count_1 + ?, count_2 = count_2 + ?, count_3 = count_3 + ?, "
+                    + "count_4 = count_4 + ?, count_5 = count_5 + ?";
+
+    private static final String REMOVE_RATING_SQL =
+            "UPDATE product_rating SET rating_count = rating_count - 1, rating_sum = rating_sum - ?, "
+                    + "count_1 = count_1 - ?, count_2 = count_2 - ?, count_3 = count_3 - ?, "
+                    + "count_4 = count_4 - ?, count_5 = count_5 - ? "
+                    + "WHERE product_id = ? AND rating_count > 0";
+
+    // Moyenne recalculée depuis les compteurs, dans une instruction séparée : l'ordre d'évaluation
+    // des affectations d'un même UPDATE diffère entre MySQL et le standard SQL
+    private static final String UPDATE_AVERAGE_SQL =
+            "UPDATE product_rating SET average_rating = CASE WHEN rating_count = 0 THEN 0 "
+                    + "ELSE CAST(rating_sum AS DECIMAL(12, 4)) / rating_count END "
+                    + "WHERE product_id = ?";
+
+    private static final String AGGREGATE_SELECT =
+            "SELECT product_id, COUNT(*), SUM(rating), "
+                    + "SUM(CASE WHEN rating = 1 THEN 1 ELSE 0 END), SUM(CASE WHEN rating = 2 THEN 1 ELSE 0 END), "
+                    + "SUM(CASE WHEN rating = 3 THEN 1 ELSE 0 END), SUM(CASE WHEN rating = 4 THEN 1 ELSE 0 END), "
+                    + "SUM(CASE WHEN rating = 5 THEN 1 ELSE 0 END), CAST(SUM(rating) AS DECIMAL(12, 4)) / COUNT(*) "
+                    + "FROM notice n ";
+
+    private static final String INSERT_AGGREGATE =
+            "INSERT INTO product_rating (product_id, rating_count, rating_sum, "
+                    + "count_1, count_2, count_3, count_4, count_5, average_rating) ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductRatingUpdateRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void addRating(long productId, int rating) {
+        Object[] stars = stars(rating);
+        List<Object> args = new ArrayList<>();
+        args.add(productId);
+        args.add(rating);
+        Collections.addAll(args, stars);
+        args.add(rating);   // moyenne d'un premier avis
+        args.add(rating);
+        Collections.addAll(args, stars);
+        jdbcTemplate.update(ADD_RATING_SQL, args.toArray());
+        jdbcTemplate.update(UPDATE_AVERAGE_SQL, productId);
+    }
+
+    @Override
+    public void removeRating(long productId, int rating) {
+        List<Object> args = new ArrayList<>();
+        args.add(rating);
+        Collections.addAll(args, stars(rating));
+        args.add(productId);
+        if (jdbcTemplate.update(REMOVE_RATING_SQL, args.toArray()) > 0) {
+            jdbcTemplate.update(UPDATE_AVERAGE_SQL, productId);
+        }
+    }
+
+    @Override
+    public void recompute(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        String in = String.join(", ", Collections.nCopies(productIds.size(), "?"));
+        Object[] ids = productIds.toArray();
+        jdbcTemplate.update("DELETE FROM product_rating WHERE product_id IN (" + in + ")", ids);
+        jdbcTemplate.update(INSERT_AGGREGATE + AGGREGATE_SELECT
+                + "WHERE n.product_id IN (" + in + ") GROUP BY n.product_id", ids);
+    }
+
+    /**
+     * Incréments des colonnes count_1 à count_5 pour une note
+     */
+    private static Object[] stars(int rating) {
+        Object[] stars = new Object[5];
+        for (int i = 0; i < 5; i++) {
+            stars[i] = rating == i + 1 ? 1 : 0;
+        }
+        return stars;
+    }
+}
@@ -1,16 +1,37 @@
 package com.letocart.java_apirest_2026.repository;
 
+import com.letocart.java_apirest_2026.dto.ProductView;
 import com.letocart.java_apirest_2026.model.Product;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends CrudRepository<Product, Long> {
+public interface ProductRepository extends CrudRepository<Product, Long>, PagingAndSortingRepository<Product, Long>,
+        ProductStockRepository {
 
-    // Trouver les produits par nom (recherche partielle)
-    List<Product> findByNameContainingIgnoreCase(String name);
+    // Vue en lecture seule : colonnes du produit, sans ses collections
+    String PRODUCT_VIEW = "select new com.letocart.java_apirest_2026.dto.ProductView("
+            + "p.productId, p.name, p.description, p.price, p.stockQuantity) from Product p ";
+
+    // Produits d'une page de résultats de recherche (ordre de pertinence rétabli par l'appelant)
+    @Query(PRODUCT_VIEW + "where p.productId in :ids")
+    List<ProductView> findViewsByIds(@Param("ids") Collection<Long> ids);
 
     // Trouver les produits en stock
-    List<Product> findByStockQuantityGreaterThan(Integer quantity);
+    @Query(PRODUCT_VIEW + "where p.stockQuantity > 0 order by p.productId")
+    List<ProductView> findViewsInStock();
+
+    // Pagination keyset : WHERE productId > :curseur ORDER BY productId LIMIT :limit (sans OFFSET)
+    @Query(PRODUCT_VIEW + "where p.productId > :after order by p.productId")
+    List<ProductView> findViewsAfter(@Param("after") long after, Limit limit);
+
+    @Query(PRODUCT_VIEW + "where p.productId = :id")
+    Optional<ProductView> findViewById(@Param("id") Long id);
 }
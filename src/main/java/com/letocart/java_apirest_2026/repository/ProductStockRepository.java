@@ -0,0 +1,52 @@
+package com.letocart.java_apirest_2026.repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Fragment de repository pour la gestion atomique du stock des produits
+ * (implémenté en JDBC par ProductStockRepositoryImpl)
+ */
+public interface ProductStockRepository {
+
+    /**
+     * Stock et prix d'un produit, lus sur sa ligne verrouillée
+     */
+    record LockedProduct(int stockQuantity, BigDecimal price) {}
+
+    /**
+     * Décrémente le stock de plusieurs produits avec des UPDATE conditionnels
+     * "stock_quantity = stock_quantity - ? WHERE product_id = ? AND stock_quantity >= ?"
+     * envoyés en un seul batch JDBC, dans l'ordre croissant des identifiants
+     * (ordre de verrouillage stable : pas d'interblocage entre deux paniers).
+     *
+     * Doit être appelé dans une transaction : l'appelant annule tout si un produit
+     * n'a pas pu être décrémenté.
+     *
+     * @param quantitiesByProductId Quantité à retirer par produit, triée par identifiant
+     * @return Identifiants des produits dont le stock était insuffisant (vide si tout a été décrémenté)
+     */
+    List<Long> decrementStock(SortedMap<Long, Integer> quantitiesByProductId);
+
+    /**
+     * Lit et verrouille (SELECT ... FOR UPDATE) le stock et le prix de plusieurs produits en une
+     * requête, dans l'ordre croissant des identifiants. Ils ne peuvent plus changer avant la fin de
+     * la transaction : les paniers peuvent être acceptés et chiffrés en mémoire.
+     *
+     * @param productIds Identifiants des produits
+     * @return Stock et prix par produit (les produits inexistants sont absents)
+     */
+    Map<Long, LockedProduct> lockStock(Collection<Long> productIds);
+
+    /**
+     * Prix actuels de plusieurs produits, en une requête et sans verrou
+     * (moteur d'inventaire en mémoire : le stock n'est pas verrouillé en base)
+     *
+     * @param productIds Identifiants des produits
+     * @return Prix par produit (les produits inexistants sont absents)
+     */
+    Map<Long, BigDecimal> findPrices(Collection<Long> productIds);
+}
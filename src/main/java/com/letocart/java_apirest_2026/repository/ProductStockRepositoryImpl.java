@@ -0,0 +1,92 @@
+package com.letocart.java_apirest_2026.repository;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Implémentation JDBC du fragment ProductStockRepository
+ * Le JdbcTemplate partage la connexion de la transaction JPA en cours.
+ */
+public class ProductStockRepositoryImpl implements ProductStockRepository {
+
+    private static final String DECREMENT_STOCK_SQL =
+            "UPDATE product SET stock_quantity = stock_quantity - ?, version = version + 1 "
+                    + "WHERE product_id = ? AND stock_quantity >= ?";
+    private static final String LOCK_STOCK_SQL =
+            "SELECT product_id, stock_quantity, price FROM product WHERE product_id IN (%s) ORDER BY product_id FOR UPDATE";
+    private static final String FIND_PRICES_SQL = "SELECT product_id, price FROM product WHERE product_id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductStockRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> decrementStock(SortedMap<Long, Integer> quantitiesByProductId) {
+        List<Map.Entry<Long, Integer>> lines = new ArrayList<>(quantitiesByProductId.entrySet());
+
+        int[] updated = jdbcTemplate.batchUpdate(DECREMENT_STOCK_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Long, Integer> line = lines.get(i);
+                ps.setInt(1, line.getValue());
+                ps.setLong(2, line.getKey());
+                ps.setInt(3, line.getValue());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return lines.size();
+            }
+        });
+
+        // 0 ligne modifiée = stock insuffisant (la condition "stock_quantity >= ?" a échoué)
+        List<Long> insufficient = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                insufficient.add(lines.get(i).getKey());
+            }
+        }
+        return insufficient;
+    }
+
+    @Override
+    public Map<Long, LockedProduct> lockStock(Collection<Long> productIds) {
+        Map<Long, LockedProduct> lockedById = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return lockedById;
+        }
+        jdbcTemplate.query(LOCK_STOCK_SQL.formatted(placeholders(productIds.size())), rs -> {
+            lockedById.put(rs.getLong(1), new LockedProduct(rs.getInt(2), rs.getBigDecimal(3)));
+        }, productIds.toArray());
+        return lockedById;
+    }
+
+    @Override
+    public Map<Long, BigDecimal> findPrices(Collection<Long> productIds) {
+        Map<Long, BigDecimal> pricesById = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return pricesById;
+        }
+        jdbcTemplate.query(FIND_PRICES_SQL.formatted(placeholders(productIds.size())), rs -> {
+            pricesById.put(rs.getLong(1), rs.getBigDecimal(2));
+        }, productIds.toArray());
+        return pricesById;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
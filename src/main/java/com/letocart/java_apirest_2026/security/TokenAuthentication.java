@@ -0,0 +1,32 @@
+package com.letocart.java_apirest_2026.security;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * Authentification obtenue par un jeton Bearer (déjà vérifié par TokenService)
+ */
+public class TokenAuthentication extends AbstractAuthenticationToken {
+
+    private final String username;
+    private final String token;
+
+    public TokenAuthentication(String username, String token, Collection<? extends GrantedAuthority> authorities) {
+        super(authorities);
+        this.username = username;
+        this.token = token;
+        setAuthenticated(true);
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return username;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return token;
+    }
+}
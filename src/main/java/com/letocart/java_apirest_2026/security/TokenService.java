@@ -0,0 +1,166 @@
+package com.letocart.java_apirest_2026.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Émission et vérification des jetons d'accès (Bearer)
+ *
+ * Un jeton est échangé une seule fois contre des identifiants HTTP Basic (un seul calcul BCrypt),
+ * puis vérifié à chaque requête par un HMAC-SHA256 : quelques microsecondes au lieu de ~50-100 ms.
+ *
+ * Format : base64url("utilisateur\nrôles\némisÀ\nexpireÀ") + "." + base64url(HMAC)
+ * - Durée de vie courte (app.security.token.ttl)
+ * - Révocation : revoke(utilisateur) invalide tous les jetons déjà émis pour cet utilisateur
+ * - Clé : app.security.token.secret (base64, 32 octets minimum) ; si absente, une clé aléatoire
+ *   est générée au démarrage et les jetons ne survivent pas à un redémarrage
+ *
+ * Comme le moteur d'inventaire, la révocation suppose une seule instance de l'application.
+ */
+@Component
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Clock clock;
+    // Mac n'est pas thread-safe : une instance par thread
+    private final ThreadLocal<Mac> macs;
+    // Utilisateur -> instant avant lequel ses jetons sont révoqués
+    private final ConcurrentHashMap<String, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TokenService(@Value("${app.security.token.secret:}") String secret,
+                        @Value("${app.security.token.ttl:15m}") Duration ttl) {
+        this(secret, ttl, Clock.systemUTC());
+    }
+
+    TokenService(String secret, Duration ttl, Clock clock) {
+        this.key = new SecretKeySpec(secretBytes(secret), ALGORITHM);
+        this.ttl = ttl;
+        this.clock = clock;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Émet un jeton pour un utilisateur authentifié
+     * @param authentication Authentification obtenue par HTTP Basic
+     * @return Jeton signé
+     */
+    public String issue(Authentication authentication) {
+        String username = authentication.getName();
+        if (username.indexOf('\n') >= 0) {
+            throw new IllegalArgumentException("Nom d'utilisateur invalide");
+        }
+        long now = clock.millis();
+        String roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(","));
+        String payload = username + '\n' + roles + '\n' + now + '\n' + (now + ttl.toMillis());
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + '.' + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    /**
+     * Vérifie un jeton : signature, expiration et révocation
+     * @param token Jeton reçu dans l'en-tête Authorization
+     * @return Authentification correspondante, ou null si le jeton est invalide, expiré ou révoqué
+     */
+    public TokenAuthentication verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return null;
+        }
+        byte[] payloadBytes;
+        byte[] signature;
+        try {
+            payloadBytes = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        // Comparaison en temps constant
+        if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+            return null;
+        }
+
+        String[] fields = new String(payloadBytes, StandardCharsets.UTF_8).split("\n", -1);
+        if (fields.length != 4) {
+            return null;
+        }
+        String username = fields[0];
+        long issuedAt = Long.parseLong(fields[2]);
+        long expiresAt = Long.parseLong(fields[3]);
+        if (clock.millis() >= expiresAt || issuedAt < revokedBefore.getOrDefault(username, Long.MIN_VALUE)) {
+            return null;
+        }
+        return new TokenAuthentication(username, token, fields[1].isEmpty()
+                ? AuthorityUtils.NO_AUTHORITIES
+                : AuthorityUtils.commaSeparatedStringToAuthorityList(fields[1]));
+    }
+
+    /**
+     * Révoque tous les jetons déjà émis pour un utilisateur (déconnexion, changement de mot de passe)
+     */
+    public void revoke(String username) {
+        revokedBefore.put(username, clock.millis() + 1);
+    }
+
+    /**
+     * Durée de vie des jetons émis
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    private byte[] sign(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 indisponible", e);
+        }
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("app.security.token.secret non défini : clé aléatoire, les jetons ne survivront pas à un redémarrage");
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        byte[] bytes = Base64.getDecoder().decode(secret.trim());
+        if (bytes.length < 32) {
+            throw new IllegalArgumentException("app.security.token.secret doit contenir au moins 32 octets (base64)");
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,268 @@
+package com.letocart.java_apirest_2026.service;
+
+import com.letocart.java_apirest_2026.dto.OrderView;
+import com.letocart.java_apirest_2026.model.OrdersDetails;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Validation groupée des commandes (group commit, optionnelle)
+ *
+ * Sous forte charge, chaque création de commande paie son propre commit (et son fsync MySQL).
+ * Ici, les paniers sont déposés dans une file bornée ; un unique thread d'écriture les regroupe
+ * en lots (jusqu'à app.checkout.group-commit.batch-size commandes, ou app.checkout.group-commit.max-wait
+ * après la première) et crée tout le lot dans une seule transaction (OrdersService.createOrders).
+ * Chaque appelant reçoit sa propre commande ou son propre refus.
+ *
+ * File pleine : la commande est refusée immédiatement (RejectedExecutionException), le client réessaie.
+ * Un appelant attend au plus app.checkout.group-commit.timeout : au-delà, sa commande est retirée
+ * de la file si elle y est encore (jamais créée), sinon elle est déjà dans un lot en cours d'écriture
+ * et son issue est inconnue ; dans les deux cas l'appel échoue (RejectedExecutionException).
+ * Si la transaction d'un lot échoue, ses commandes sont rejouées une par une (OrdersService.createOrder),
+ * pour qu'une erreur ne touche que la commande qui la provoque.
+ * À l'arrêt, les commandes déjà en file sont traitées avant la fin du thread d'écriture ; celles
+ * déposées pendant l'arrêt sont refusées, aucune promesse ne reste en attente.
+ *
+ * Désactivée : createOrder appelle directement OrdersService.createOrder.
+ * Activation : app.checkout.group-commit.enabled=true
+ * Métriques : app.checkout.queue.size, app.checkout.batch.size, app.checkout.batch.fallbacks.
+ */
+@Component
+public class CheckoutBatcher implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(CheckoutBatcher.class);
+
+    // Attente maximale d'un premier panier : le thread vérifie régulièrement la demande d'arrêt
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    /**
+     * Panier en attente et promesse de son résultat
+     */
+    private record PendingCheckout(OrdersService.CheckoutRequest request, CompletableFuture<OrderView> result) {}
+
+    private final OrdersService ordersService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long maxWaitNanos;
+    private final long timeoutNanos;
+    private final BlockingQueue<PendingCheckout> queue;
+    private final DistributionSummary batchSizes;
+    private final Counter fallbacks;
+    private volatile boolean running;
+    private Thread writer;
+
+    @Autowired
+    public CheckoutBatcher(OrdersService ordersService,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.checkout.group-commit.enabled:false}") boolean enabled,
+                           @Value("${app.checkout.group-commit.batch-size:100}") int batchSize,
+                           @Value("${app.checkout.group-commit.max-wait:5ms}") Duration maxWait,
+                           @Value("${app.checkout.group-commit.queue-capacity:2000}") int queueCapacity,
+                           @Value("${app.checkout.group-commit.timeout:10s}") Duration timeout) {
+        this.ordersService = ordersService;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.timeoutNanos = timeout.toNanos();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("app.checkout.queue.size", queue, BlockingQueue::size)
+                .description("Commandes en attente de validation groupée")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("app.checkout.batch.size")
+                .description("Commandes validées par transaction")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("app.checkout.batch.fallbacks")
+                .description("Lots annulés, rejoués commande par commande")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Démarrage du thread d'écriture, une fois tous les beans créés
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            running = true;
+            writer = Thread.ofPlatform().name("checkout-writer").daemon().start(this::drainLoop);
+        }
+    }
+
+    /**
+     * Crée une commande : dans le prochain lot si la validation groupée est activée, sinon directement
+     * @throws RejectedExecutionException si la file est pleine, la validation arrêtée ou le délai dépassé
+     * @throws Exception même refus que OrdersService.createOrder
+     */
+    public OrderView createOrder(Long accountId, List<OrdersDetails> orderDetails) throws Exception {
+        if (!enabled) {
+            return ordersService.createOrder(accountId, orderDetails);
+        }
+        PendingCheckout pending = enqueue(accountId, orderDetails);
+        try {
+            return pending.result().get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception failure) {
+                throw failure;
+            }
+            throw e;
+        } catch (TimeoutException e) {
+            if (queue.remove(pending)) {
+                throw new RejectedExecutionException("Commande non validée dans le délai, réessayer");
+            }
+            throw new RejectedExecutionException("Délai de validation dépassé, la commande a pu être créée");
+        }
+    }
+
+    /**
+     * Dépose un panier dans la file ; la promesse est complétée après le commit de son lot
+     */
+    public CompletableFuture<OrderView> submit(Long accountId, List<OrdersDetails> orderDetails) {
+        try {
+            return enqueue(accountId, orderDetails).result();
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * @throws RejectedExecutionException si la validation est arrêtée ou la file pleine
+     */
+    private PendingCheckout enqueue(Long accountId, List<OrdersDetails> orderDetails) {
+        if (!running) {
+            throw new RejectedExecutionException("Validation groupée des commandes arrêtée");
+        }
+        PendingCheckout pending = new PendingCheckout(
+                new OrdersService.CheckoutRequest(accountId, orderDetails), new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            throw new RejectedExecutionException("File des commandes pleine, réessayer");
+        }
+        // Arrêt entre la vérification et le dépôt : le thread d'écriture a pu finir sans le voir
+        if (!running && queue.remove(pending)) {
+            throw new RejectedExecutionException("Validation groupée des commandes arrêtée");
+        }
+        return pending;
+    }
+
+    /**
+     * Thread d'écriture : un lot par transaction, jusqu'à l'arrêt et à la file vide
+     */
+    private void drainLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                List<PendingCheckout> batch = nextBatch();
+                if (!batch.isEmpty()) {
+                    process(batch);
+                }
+            } catch (InterruptedException e) {
+                // Arrêt : la file est vidée au tour suivant
+                running = false;
+            } catch (RuntimeException | Error e) {
+                log.error("Erreur du thread de validation groupée des commandes", e);
+            }
+        }
+        rejectQueued();
+    }
+
+    /**
+     * Refuse les paniers restés en file après la fin du thread d'écriture
+     */
+    private void rejectQueued() {
+        List<PendingCheckout> left = new ArrayList<>();
+        queue.drainTo(left);
+        left.forEach(pending -> pending.result().completeExceptionally(
+                new RejectedExecutionException("Validation groupée des commandes arrêtée")));
+    }
+
+    /**
+     * Premier panier disponible, puis ceux qui arrivent avant la taille maximale ou le délai
+     */
+    private List<PendingCheckout> nextBatch() throws InterruptedException {
+        List<PendingCheckout> batch = new ArrayList<>(batchSize);
+        PendingCheckout first = running ? queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS) : queue.poll();
+        if (first == null) {
+            return batch;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                break;
+            }
+            PendingCheckout next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void process(List<PendingCheckout> batch) {
+        batchSizes.record(batch.size());
+        List<OrdersService.CheckoutResult> results;
+        try {
+            results = ordersService.createOrders(batch.stream().map(PendingCheckout::request).toList());
+        } catch (RuntimeException e) {
+            fallbacks.increment();
+            log.warn("Lot de {} commandes annulé, rejoué commande par commande", batch.size(), e);
+            batch.forEach(this::processAlone);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            OrdersService.CheckoutResult result = results.get(i);
+            if (result.failure() == null) {
+                batch.get(i).result().complete(result.order());
+            } else {
+                batch.get(i).result().completeExceptionally(result.failure());
+            }
+        }
+    }
+
+    private void processAlone(PendingCheckout pending) {
+        try {
+            OrdersService.CheckoutRequest request = pending.request();
+            pending.result().complete(ordersService.createOrder(request.accountId(), request.orderDetails()));
+        } catch (Exception e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Arrêt : les commandes en file sont encore validées avant la fermeture du pool de connexions
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+            if (!writer.isAlive()) {
+                rejectQueued();
+            }
+        }
+    }
+}
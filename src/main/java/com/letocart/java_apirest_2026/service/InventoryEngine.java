@@ -0,0 +1,338 @@
+package com.letocart.java_apirest_2026.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moteur d'inventaire en mémoire (optionnel, pour les ventes flash)
+ *
+ * Le stock de chaque produit est tenu dans un compteur en mémoire : une réservation
+ * est une courte section synchronisée sur ce seul compteur, sans aller-retour MySQL
+ * ni verrou de ligne.
+ * Les réservations sont cumulées par produit puis écrites en base par lots
+ * (write-behind) dans une seule transaction, à intervalle régulier.
+ *
+ * Au démarrage, les compteurs sont rechargés depuis Product.stockQuantity ;
+ * les réservations en attente sont écrites à l'arrêt de l'application.
+ * Une réservation non encore écrite est perdue en cas d'arrêt brutal :
+ * la fenêtre est bornée par app.inventory.flush-interval-ms.
+ *
+ * Le moteur suppose une seule instance de l'application propriétaire du stock.
+ * Activation : app.inventory.in-memory.enabled=true
+ */
+@Component
+public class InventoryEngine implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryEngine.class);
+
+    private static final String LOAD_STOCK_SQL = "SELECT product_id, stock_quantity FROM product";
+    private static final String LOAD_PRODUCT_STOCK_SQL = "SELECT stock_quantity FROM product WHERE product_id = ?";
+    private static final String APPLY_RESERVATIONS_SQL =
+            "UPDATE product SET stock_quantity = stock_quantity - ?, version = version + 1 WHERE product_id = ?";
+    // Sans changement de version : appelé juste après l'écriture JPA du produit, qui l'incrémente déjà
+    private static final String RESET_STOCK_SQL =
+            "UPDATE product SET stock_quantity = ? WHERE product_id = ?";
+
+    /**
+     * Compteurs d'un produit : stock disponible et quantité réservée non encore écrite en base
+     *
+     * Les deux valeurs changent ensemble sous le moniteur du compteur, qui n'est jamais remplacé
+     * tant que le produit existe : une réservation concurrente d'une remise à zéro s'applique
+     * avant (et elle est alors remplacée par la valeur absolue) ou après, jamais sur un compteur
+     * abandonné.
+     *
+     * La génération change à chaque remise à zéro : une réservation faite avant, dont la commande
+     * est ensuite annulée, n'est pas rendue au stock (la valeur absolue l'a déjà effacée ; la
+     * rendre augmenterait le stock en mémoire et en base).
+     */
+    private static final class StockCounter {
+        private int available;
+        private int pending;
+        private long generation;
+
+        StockCounter(int available) {
+            this.available = available;
+        }
+
+        /**
+         * @return Génération du compteur au moment de la réservation, ou -1 si le stock est insuffisant
+         */
+        synchronized long tryReserve(int quantity) {
+            if (available < quantity) {
+                return -1;
+            }
+            available -= quantity;
+            pending += quantity;
+            return generation;
+        }
+
+        /**
+         * Rend une réservation, sauf si le compteur a été remis à zéro depuis
+         */
+        synchronized void restore(int quantity, long reservedGeneration) {
+            if (reservedGeneration != generation) {
+                return;
+            }
+            available += quantity;
+            pending -= quantity;
+        }
+
+        synchronized void reset(int stockQuantity) {
+            available = stockQuantity;
+            pending = 0;
+            generation++;
+        }
+
+        /**
+         * Quantité réservée à écrire en base, remise à zéro
+         */
+        synchronized int drainPending() {
+            int drained = pending;
+            pending = 0;
+            return drained;
+        }
+
+        /**
+         * Écriture en base échouée : quantité de nouveau en attente
+         */
+        synchronized void addPending(int quantity) {
+            pending += quantity;
+        }
+
+        synchronized int available() {
+            return available;
+        }
+    }
+
+    /**
+     * Ligne réservée : compteur et génération d'origine, pour la rendre si la commande est annulée
+     */
+    private record ReservedLine(StockCounter counter, int quantity, long generation) {
+    }
+
+    /**
+     * Résultat d'une réservation (tout ou rien) : produits en stock insuffisant, ou lignes réservées
+     */
+    public static final class Reservation {
+        private final List<Long> insufficient;
+        private final List<ReservedLine> lines;
+
+        private Reservation(List<Long> insufficient, List<ReservedLine> lines) {
+            this.insufficient = insufficient;
+            this.lines = lines;
+        }
+
+        /**
+         * Identifiants des produits en stock insuffisant (vide si la réservation a réussi)
+         */
+        public List<Long> insufficient() {
+            return insufficient;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductCatalogVersion catalogVersion;
+    private final ProductCache productCache;
+    private final boolean enabled;
+    private final ConcurrentHashMap<Long, StockCounter> counters = new ConcurrentHashMap<>();
+    // Sérialise l'écriture différée et les remises à zéro (jamais pris lors d'une réservation)
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Autowired
+    public InventoryEngine(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           ProductCatalogVersion catalogVersion,
+                           ProductCache productCache,
+                           @Value("${app.inventory.in-memory.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.catalogVersion = catalogVersion;
+        this.productCache = productCache;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Chargement initial des compteurs, une fois le schéma créé et avant l'ouverture du serveur HTTP
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /**
+     * Recharge tous les compteurs depuis la table product (reprise après redémarrage)
+     */
+    public void reload() {
+        counters.clear();
+        jdbcTemplate.query(LOAD_STOCK_SQL, rs -> {
+            counters.put(rs.getLong(1), new StockCounter(rs.getInt(2)));
+        });
+        log.info("Moteur d'inventaire en mémoire : {} produits chargés", counters.size());
+    }
+
+    /**
+     * Réserve le stock de tous les produits d'un panier (tout ou rien)
+     * @param quantitiesByProductId Quantité par produit, triée par identifiant
+     * @return Réservation, à libérer (release) si la commande est annulée
+     */
+    public Reservation reserve(SortedMap<Long, Integer> quantitiesByProductId) {
+        List<ReservedLine> reserved = new ArrayList<>(quantitiesByProductId.size());
+        for (Map.Entry<Long, Integer> line : quantitiesByProductId.entrySet()) {
+            StockCounter counter = counterFor(line.getKey());
+            long generation = counter == null ? -1 : counter.tryReserve(line.getValue());
+            if (generation < 0) {
+                // Annuler les lignes déjà réservées
+                reserved.forEach(InventoryEngine::restore);
+                return new Reservation(List.of(line.getKey()), List.of());
+            }
+            reserved.add(new ReservedLine(counter, line.getValue(), generation));
+        }
+        return new Reservation(List.of(), reserved);
+    }
+
+    /**
+     * Libère une réservation (commande annulée avant validation de la transaction)
+     * Les lignes d'un produit dont le stock a été remis à zéro depuis ne sont pas rendues
+     */
+    public void release(Reservation reservation) {
+        reservation.lines.forEach(InventoryEngine::restore);
+    }
+
+    /**
+     * Enregistre ou remplace le stock d'un produit (création ou mise à jour du produit)
+     * La valeur absolue remplace les réservations non encore écrites en base ; elle est
+     * réécrite en base après toute écriture différée en cours, qui ne peut donc pas l'écraser.
+     * Le compteur existant est remis à zéro sur place : une réservation en cours ne peut pas
+     * être faite sur un compteur remplacé puis perdue.
+     */
+    public void resetStock(Long productId, int stockQuantity) {
+        if (!enabled) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            jdbcTemplate.update(RESET_STOCK_SQL, stockQuantity, productId);
+            StockCounter existing = counters.putIfAbsent(productId, new StockCounter(stockQuantity));
+            if (existing != null) {
+                existing.reset(stockQuantity);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Retire un produit supprimé
+     */
+    public void remove(Long productId) {
+        if (!enabled) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            counters.remove(productId);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Stock disponible en mémoire (null si le produit est inconnu du moteur)
+     */
+    public Integer availableStock(Long productId) {
+        StockCounter counter = counters.get(productId);
+        return counter == null ? null : counter.available();
+    }
+
+    /**
+     * Écriture différée : applique en base toutes les réservations en attente,
+     * en un seul batch JDBC et une seule transaction
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.flush-interval-ms:100}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            List<Object[]> batch = new ArrayList<>();
+            List<StockCounter> flushed = new ArrayList<>();
+            List<Long> productIds = new ArrayList<>();
+            counters.forEach((productId, counter) -> {
+                int delta = counter.drainPending();
+                if (delta != 0) {
+                    batch.add(new Object[]{delta, productId});
+                    flushed.add(counter);
+                    productIds.add(productId);
+                }
+            });
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(APPLY_RESERVATIONS_SQL, batch);
+                    // Stocks du catalogue modifiés en base : ETag de la liste des produits renouvelé,
+                    // stock en cache relu (l'invalidation après la commande a précédé cette écriture)
+                    catalogVersion.changed();
+                    productCache.evict(productIds);
+                });
+            } catch (RuntimeException e) {
+                // Réessayé au prochain cycle
+                for (int i = 0; i < batch.size(); i++) {
+                    flushed.get(i).addPending((Integer) batch.get(i)[0]);
+                }
+                log.warn("Échec de l'écriture différée du stock, nouvel essai au prochain cycle", e);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Compteur d'un produit, chargé depuis la base s'il a été créé hors de ProductService
+     */
+    private StockCounter counterFor(Long productId) {
+        StockCounter counter = counters.get(productId);
+        if (counter != null) {
+            return counter;
+        }
+        List<Integer> stock = jdbcTemplate.queryForList(LOAD_PRODUCT_STOCK_SQL, Integer.class, productId);
+        if (stock.isEmpty()) {
+            return null;
+        }
+        return counters.computeIfAbsent(productId, id -> new StockCounter(stock.get(0)));
+    }
+
+    private static void restore(ReservedLine line) {
+        line.counter().restore(line.quantity(), line.generation());
+    }
+}
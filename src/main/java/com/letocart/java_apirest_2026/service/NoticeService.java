@@ -1,63 +1,104 @@
 package com.letocart.java_apirest_2026.service;
 
+import com.letocart.java_apirest_2026.dto.CursorPage;
+import com.letocart.java_apirest_2026.dto.NoticeView;
+import com.letocart.java_apirest_2026.event.ProductRatingChangedEvent;
 import com.letocart.java_apirest_2026.model.Notice;
 import com.letocart.java_apirest_2026.model.Account;
 import com.letocart.java_apirest_2026.model.Product;
 import com.letocart.java_apirest_2026.repository.NoticeRepository;
 import com.letocart.java_apirest_2026.repository.AccountRepository;
-import com.letocart.java_apirest_2026.repository.ProductRepository;
+import com.letocart.java_apirest_2026.repository.ProductRatingRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 public class NoticeService {
 
     private final NoticeRepository noticeRepository;
     private final AccountRepository accountRepository;
-    private final ProductRepository productRepository;
+    private final ProductRatingRepository productRatingRepository;
+    private final ProductCache productCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
     public NoticeService(NoticeRepository noticeRepository,
                          AccountRepository accountRepository,
-                         ProductRepository productRepository) {
+                         ProductRatingRepository productRatingRepository,
+                         ProductCache productCache,
+                         ApplicationEventPublisher eventPublisher) {
         this.noticeRepository = noticeRepository;
         this.accountRepository = accountRepository;
-        this.productRepository = productRepository;
+        this.productRatingRepository = productRatingRepository;
+        this.productCache = productCache;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional(rollbackFor = Exception.class)
     public Notice createNotice(Long accountId, Long productId, Integer rating, String comment) throws Exception {
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new Exception("Compte non trouvé"));
 
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new Exception("Produit non trouvé"));
+        // Existence vérifiée dans le cache local ; l'avis ne référence que la clé du produit
+        if (productCache.get(productId).isEmpty()) {
+            throw new Exception("Produit non trouvé");
+        }
+        Product product = entityManager.getReference(Product.class, productId);
 
         if (rating < 1 || rating > 5) {
             throw new Exception("La note doit être entre 1 et 5");
         }
 
         Notice notice = new Notice(account, product, rating, comment);
-        return noticeRepository.save(notice);
+        Notice savedNotice = noticeRepository.save(notice);
+        // Agrégat des notes du produit mis à jour dans la même transaction que l'avis
+        productRatingRepository.addRating(productId, rating);
+        eventPublisher.publishEvent(new ProductRatingChangedEvent(Set.of(productId)));
+        return savedNotice;
     }
 
-    public List<Notice> getAllNotices() {
-        return (List<Notice>) noticeRepository.findAll();
+    @Transactional(readOnly = true)
+    public CursorPage<NoticeView> getAllNotices(String after, int limit) {
+        return CursorPage.of(
+                noticeRepository.findViewsAfter(CursorPage.idAfter(after), CursorPage.lookahead(limit)),
+                limit, NoticeView::noticeId);
     }
 
-    public List<Notice> getNoticesByProduct(Long productId) {
-        return noticeRepository.findByProductProductId(productId);
+    /**
+     * ETag de GET /api/notices/product/{productId}, calculé sans lire les avis
+     */
+    public String getNoticesByProductETag(Long productId) {
+        return noticeRepository.findVersionStampByProduct(productId).etag("notices-" + productId);
     }
 
-    public List<Notice> getNoticesByAccount(Long accountId) {
-        return noticeRepository.findByAccountAccountId(accountId);
+    // Lu sur le primaire comme son ETag : les deux lectures doivent voir le même état des avis
+    public List<NoticeView> getNoticesByProduct(Long productId) {
+        return noticeRepository.findViewsByProduct(productId);
     }
 
+    @Transactional(readOnly = true)
+    public List<NoticeView> getNoticesByAccount(Long accountId) {
+        return noticeRepository.findViewsByAccount(accountId);
+    }
+
+    @Transactional(rollbackFor = Exception.class)
     public void deleteNotice(Long id) throws Exception {
-        if (!noticeRepository.existsById(id)) {
-            throw new Exception("Avis non trouvé");
-        }
-        noticeRepository.deleteById(id);
+        Notice notice = noticeRepository.findById(id)
+                .orElseThrow(() -> new Exception("Avis non trouvé"));
+        Long productId = notice.getProduct().getProductId();
+        noticeRepository.delete(notice);
+        productRatingRepository.removeRating(productId, notice.getRating());
+        eventPublisher.publishEvent(new ProductRatingChangedEvent(Set.of(productId)));
     }
 }
@@ -0,0 +1,349 @@
+package com.letocart.java_apirest_2026.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.letocart.java_apirest_2026.dto.OrderView;
+import com.letocart.java_apirest_2026.model.OrdersDetails;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Création de commande idempotente (en-tête Idempotency-Key)
+ *
+ * Un client mobile qui renvoie sa requête après un délai dépassé reçoit la réponse de la
+ * première exécution au lieu de créer une seconde commande (et de décrémenter le stock deux fois).
+ * La clé est propre au compte ; elle est associée à une empreinte du panier : la même clé
+ * avec un autre panier est refusée.
+ *
+ * Trois niveaux, du plus rapide au plus sûr :
+ * - index en mémoire (Caffeine) des réponses déjà produites : rejeu sans requête SQL
+ * - exécutions en cours : un doublon concurrent attend le résultat de la première au lieu
+ *   d'atteindre la base
+ * - table idempotency_key : la clé est insérée dans la transaction de la commande, avant elle.
+ *   Un doublon traité par une autre instance bloque sur la clé primaire jusqu'au commit,
+ *   puis rejoue la réponse enregistrée. Si la commande échoue, la clé disparaît avec elle :
+ *   le client peut réessayer.
+ *
+ * La clé est prise par un seul INSERT ... ON DUPLICATE KEY UPDATE, sans DELETE préalable : un DELETE
+ * qui ne trouve pas de ligne pose un verrou d'intervalle (REPEATABLE READ), et deux instances qui
+ * insèrent ensuite la même clé s'interbloquent. Une ligne expirée mais pas encore purgée est reprise
+ * par le même INSERT ; les lignes expirées ne sont supprimées que par la purge, par lots.
+ *
+ * Les clés expirent après app.idempotency.ttl.
+ * Métriques : app.idempotency.requests (outcome = executed / replayed / waited / mismatch).
+ */
+@Service
+public class OrderIdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIdempotencyService.class);
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    // Lignes supprimées par requête de purge (verrous courts)
+    private static final int PURGE_BATCH_SIZE = 1000;
+
+    private static final String FIND_SQL = "SELECT request_hash, status_code, response_body FROM idempotency_key "
+            + "WHERE account_id = ? AND idempotency_key = ? AND expires_at > ?";
+    // Réponse encore inconnue (status_code = 0) : la ligne est complétée avant le commit, jamais visible ainsi.
+    // Clé existante : reprise seulement si elle a expiré. expires_at est affecté en dernier : MySQL évalue
+    // les affectations dans l'ordre et les conditions précédentes doivent lire l'ancienne valeur.
+    private static final String EXPIRED = "CASE WHEN expires_at <= VALUES(created_at) THEN ";
+    private static final String CLAIM_SQL = "INSERT INTO idempotency_key "
+            + "(account_id, idempotency_key, request_hash, status_code, response_body, created_at, expires_at) "
+            + "VALUES (?, ?, ?, 0, '', ?, ?) ON DUPLICATE KEY UPDATE "
+            + "request_hash = " + EXPIRED + "VALUES(request_hash) ELSE request_hash END, "
+            + "status_code = " + EXPIRED + "0 ELSE status_code END, "
+            + "response_body = " + EXPIRED + "'' ELSE response_body END, "
+            + "created_at = " + EXPIRED + "VALUES(created_at) ELSE created_at END, "
+            + "expires_at = " + EXPIRED + "VALUES(expires_at) ELSE expires_at END";
+    // Lecture verrouillée de la clé après l'INSERT : dernière version validée, ou la ligne de cette transaction
+    private static final String CLAIMED_SQL = "SELECT request_hash, status_code, response_body FROM idempotency_key "
+            + "WHERE account_id = ? AND idempotency_key = ? FOR UPDATE";
+    private static final String COMPLETE_SQL = "UPDATE idempotency_key SET status_code = ?, response_body = ? "
+            + "WHERE account_id = ? AND idempotency_key = ?";
+    private static final String PURGE_SQL = "DELETE FROM idempotency_key WHERE expires_at <= ? LIMIT " + PURGE_BATCH_SIZE;
+
+    /**
+     * Réponse enregistrée pour une clé
+     * @param requestHash Empreinte du panier (SHA-256)
+     * @param status Statut HTTP
+     * @param body Corps JSON
+     */
+    public record StoredResponse(String requestHash, int status, String body) {}
+
+    /**
+     * Réponse à renvoyer au client
+     * @param replayed true si la réponse provient d'une exécution précédente
+     */
+    public record IdempotentResponse(int status, String body, boolean replayed) {}
+
+    private final OrdersService ordersService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Cache<String, StoredResponse> responses;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter waited;
+    private final Counter mismatches;
+
+    public OrderIdempotencyService(OrdersService ordersService, JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                                   @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                                   @Value("${app.idempotency.maximum-size:100000}") long maximumSize,
+                                   @Value("${app.idempotency.wait-timeout:30s}") Duration waitTimeout,
+                                   MeterRegistry meterRegistry) {
+        this.ordersService = ordersService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "idempotency-keys");
+        this.executed = outcomeCounter(meterRegistry, "executed");
+        this.replayed = outcomeCounter(meterRegistry, "replayed");
+        this.waited = outcomeCounter(meterRegistry, "waited");
+        this.mismatches = outcomeCounter(meterRegistry, "mismatch");
+    }
+
+    /**
+     * Crée la commande une seule fois par clé, ou rejoue la réponse de la première création
+     * @throws IllegalArgumentException si la clé est vide ou trop longue
+     * @throws KeyMismatchException si la clé a déjà servi pour un autre panier
+     * @throws KeyInUseException si la clé est encore prise par une autre requête
+     * @throws Exception erreur de la création (compte ou produit introuvable, stock insuffisant) :
+     *                   rien n'est enregistré, la même clé peut être réessayée
+     */
+    public IdempotentResponse createOrder(Long accountId, String key, List<OrdersDetails> orderDetails) throws Exception {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key doit contenir de 1 à " + MAX_KEY_LENGTH + " caractères");
+        }
+        String requestHash = requestHash(orderDetails);
+        String cacheKey = accountId + ":" + key;
+
+        StoredResponse stored = responses.getIfPresent(cacheKey);
+        if (stored != null) {
+            return replay(stored, requestHash);
+        }
+
+        CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(cacheKey, execution);
+        if (running != null) {
+            waited.increment();
+            return replay(await(running), requestHash);
+        }
+        try {
+            Stored result = execute(accountId, key, requestHash, orderDetails);
+            responses.put(cacheKey, result.response());
+            execution.complete(result.response());
+            if (result.replayed()) {
+                return replay(result.response(), requestHash);
+            }
+            executed.increment();
+            return new IdempotentResponse(result.response().status(), result.response().body(), false);
+        } catch (Exception | Error e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, execution);
+        }
+    }
+
+    private record Stored(StoredResponse response, boolean replayed) {}
+
+    /**
+     * Clé encore en cours d'utilisation par une autre requête : le client doit réessayer plus tard
+     */
+    public static final class KeyInUseException extends IllegalStateException {
+        KeyInUseException(Throwable cause) {
+            super("Idempotency-Key en cours d'utilisation, réessayer", cause);
+        }
+    }
+
+    /**
+     * Clé déjà utilisée pour un autre panier
+     */
+    public static final class KeyMismatchException extends IllegalStateException {
+        KeyMismatchException() {
+            super("Idempotency-Key déjà utilisée pour une autre commande");
+        }
+    }
+
+    /**
+     * Première exécution sur cette instance : réponse déjà en base, ou création de la commande
+     */
+    private Stored execute(Long accountId, String key, String requestHash, List<OrdersDetails> orderDetails) throws Exception {
+        // Réponse déjà validée (redémarrage, autre instance) : rejouée sans transaction ni verrou
+        StoredResponse previous = find(accountId, key, LocalDateTime.now());
+        if (previous != null) {
+            return new Stored(previous, true);
+        }
+        try {
+            return transactionTemplate.execute(tx -> {
+                LocalDateTime now = LocalDateTime.now();
+                // Clé prise avant la commande : un doublon concurrent (autre instance) attend ici
+                jdbcTemplate.update(CLAIM_SQL, accountId, key, requestHash,
+                        Timestamp.valueOf(now), Timestamp.valueOf(now.plus(ttl)));
+                StoredResponse claimed = jdbcTemplate.queryForObject(CLAIMED_SQL, (rs, i) ->
+                        new StoredResponse(rs.getString(1), rs.getInt(2), rs.getString(3)), accountId, key);
+                if (claimed.status() != 0) {
+                    // Réponse validée par une autre exécution pendant l'attente du verrou
+                    return new Stored(claimed, true);
+                }
+                OrderView order = createOrUnwrap(accountId, orderDetails);
+                String body = json(order);
+                jdbcTemplate.update(COMPLETE_SQL, 201, body, accountId, key);
+                return new Stored(new StoredResponse(requestHash, 201, body), false);
+            });
+        } catch (DuplicateKeyException | PessimisticLockingFailureException e) {
+            // Interblocage ou délai de verrou dépassé face à une autre instance : sa réponse si elle est validée
+            log.warn("Conflit sur l'Idempotency-Key du compte {}", accountId, e);
+            StoredResponse committed = find(accountId, key, LocalDateTime.now());
+            if (committed == null) {
+                throw new KeyInUseException(e);
+            }
+            return new Stored(committed, true);
+        } catch (CreationFailedException e) {
+            throw e.failure;
+        }
+    }
+
+    private OrderView createOrUnwrap(Long accountId, List<OrdersDetails> orderDetails) {
+        try {
+            return ordersService.createOrder(accountId, orderDetails);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CreationFailedException(e);
+        }
+    }
+
+    /**
+     * Erreur métier de OrdersService.createOrder, transportée hors de la transaction (annulée)
+     */
+    private static final class CreationFailedException extends RuntimeException {
+        private final Exception failure;
+
+        CreationFailedException(Exception failure) {
+            super(failure.getMessage(), failure, false, false);
+            this.failure = failure;
+        }
+    }
+
+    private StoredResponse find(Long accountId, String key, LocalDateTime now) {
+        List<StoredResponse> rows = jdbcTemplate.query(FIND_SQL,
+                (rs, i) -> new StoredResponse(rs.getString(1), rs.getInt(2), rs.getString(3)),
+                accountId, key, Timestamp.valueOf(now));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * Attend la fin de l'exécution en cours pour la même clé
+     */
+    private StoredResponse await(CompletableFuture<StoredResponse> running) throws Exception {
+        try {
+            return running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // La première exécution a échoué : le doublon reçoit la même erreur
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        } catch (TimeoutException e) {
+            throw new KeyInUseException(e);
+        }
+    }
+
+    private IdempotentResponse replay(StoredResponse stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            mismatches.increment();
+            throw new KeyMismatchException();
+        }
+        replayed.increment();
+        return new IdempotentResponse(stored.status(), stored.body(), true);
+    }
+
+    /**
+     * Empreinte du panier : produits et quantités, dans l'ordre de la requête
+     */
+    static String requestHash(List<OrdersDetails> orderDetails) {
+        StringBuilder canonical = new StringBuilder();
+        for (OrdersDetails line : orderDetails) {
+            canonical.append(line.getProduct() == null ? null : line.getProduct().getProductId())
+                    .append('x').append(line.getQuantity()).append(';');
+        }
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String json(OrderView order) {
+        try {
+            return objectMapper.writeValueAsString(order);
+        } catch (Exception e) {
+            throw new IllegalStateException("Sérialisation de la commande impossible", e);
+        }
+    }
+
+    /**
+     * Supprime les clés expirées, par lots
+     */
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PURGE_SQL, now);
+            total += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        if (total > 0) {
+            log.info("Clés d'idempotence expirées supprimées : {}", total);
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("app.idempotency.requests")
+                .description("Créations de commande avec Idempotency-Key, par résultat")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
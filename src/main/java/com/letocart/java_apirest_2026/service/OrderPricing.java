@@ -0,0 +1,40 @@
+package com.letocart.java_apirest_2026.service;
+
+import com.letocart.java_apirest_2026.model.Orders;
+import com.letocart.java_apirest_2026.model.OrdersDetails;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calcul du prix d'une commande (sans accès à la base)
+ * Extrait de OrdersService.createOrder pour être mesuré isolément (OrderPricingBenchmark).
+ */
+public final class OrderPricing {
+
+    private OrderPricing() {}
+
+    /**
+     * Renseigne prix unitaire, sous-total et commande de chaque ligne
+     * @param order Commande à laquelle les lignes sont rattachées
+     * @param lines Lignes du panier (produit et quantité renseignés)
+     * @param pricesById Prix unitaire des produits du panier, par identifiant (lus en base à la commande)
+     * @return Montant total de la commande
+     */
+    public static BigDecimal price(Orders order, List<OrdersDetails> lines, Map<Long, BigDecimal> pricesById) {
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (OrdersDetails detail : lines) {
+            BigDecimal unitPrice = pricesById.get(detail.getProduct().getProductId());
+
+            // valueOf réutilise les instances des petites quantités (0 à 10)
+            BigDecimal subtotal = unitPrice.multiply(BigDecimal.valueOf(detail.getQuantity()));
+            detail.setUnitPrice(unitPrice);
+            detail.setSubtotal(subtotal);
+            detail.setOrders(order);
+
+            totalAmount = totalAmount.add(subtotal);
+        }
+        return totalAmount;
+    }
+}
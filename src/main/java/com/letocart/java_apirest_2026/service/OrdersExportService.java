@@ -0,0 +1,223 @@
+package com.letocart.java_apirest_2026.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.letocart.java_apirest_2026.dto.OrderExportRow;
+import com.letocart.java_apirest_2026.repository.OrdersRepository;
+import com.letocart.java_apirest_2026.util.Csv;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Export en continu des commandes et de leurs lignes (NDJSON ou CSV)
+ *
+ * Les lignes sont lues via un curseur forward-only et écrites au fil de l'eau :
+ * la mémoire utilisée ne dépend pas du nombre de commandes exportées.
+ *
+ * Vidage de la sortie : entre deux commandes, toutes les FLUSH_EVERY_ORDERS commandes ou dès que
+ * FLUSH_INTERVAL_MILLIS s'est écoulé depuis le précédent. Vider après chaque commande coûterait
+ * un appel système et un chunk HTTP de quelques dizaines d'octets par commande, ce qui dominerait
+ * la durée d'un gros export ; ne vider que tampon plein laisserait un export lent muet pendant
+ * des secondes, impossible à distinguer d'un export bloqué. Le client reçoit ainsi des données
+ * au plus tard toutes les FLUSH_INTERVAL_MILLIS tant que la lecture avance.
+ */
+@Service
+public class OrdersExportService {
+
+    /**
+     * Formats d'export supportés
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+
+        public String getExtension() { return extension; }
+
+        public static Format parse(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Format d'export non supporté : " + value + " (ndjson ou csv)");
+        }
+    }
+
+    private static final int FLUSH_EVERY_ORDERS = 100;
+    private static final long FLUSH_INTERVAL_MILLIS = 200;
+
+    private static final String CSV_HEADER =
+            "order_id,order_date,status,total_amount,account_id,line_id,product_id,quantity,unit_price,subtotal";
+
+    private final OrdersRepository ordersRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public OrdersExportService(OrdersRepository ordersRepository, ObjectMapper objectMapper) {
+        this.ordersRepository = ordersRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Écrit toutes les commandes dans le flux de sortie
+     * La transaction (lecture seule) reste ouverte le temps du parcours du curseur.
+     * @param format Format de sortie
+     * @param out Flux de sortie (non fermé par cette méthode)
+     */
+    @Transactional(readOnly = true)
+    public void exportOrders(Format format, OutputStream out) throws IOException {
+        try (Stream<OrderExportRow> rows = ordersRepository.streamExportRows()) {
+            if (format == Format.CSV) {
+                writeCsv(rows.iterator(), out);
+            } else {
+                writeNdjson(rows.iterator(), out);
+            }
+        }
+    }
+
+    /**
+     * Décide du vidage de la sortie à la fin de chaque commande (nombre ou délai)
+     */
+    private static final class PeriodicFlush {
+        private int orders;
+        private long lastFlush = System.nanoTime();
+
+        boolean due() {
+            long now = System.nanoTime();
+            if (++orders < FLUSH_EVERY_ORDERS
+                    && now - lastFlush < TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MILLIS)) {
+                return false;
+            }
+            orders = 0;
+            lastFlush = now;
+            return true;
+        }
+    }
+
+    /**
+     * NDJSON : une commande par ligne, avec ses lignes de détail imbriquées
+     * Les lignes d'une même commande sont consécutives (tri par ordersId).
+     */
+    private void writeNdjson(Iterator<OrderExportRow> rows, OutputStream out) throws IOException {
+        // Le générateur garde son propre tampon, vidé (flush) entre deux commandes par PeriodicFlush
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.setRootValueSeparator(null); // le séparateur de lignes est écrit explicitement
+
+        PeriodicFlush flush = new PeriodicFlush();
+        Long currentOrderId = null;
+        while (rows.hasNext()) {
+            OrderExportRow row = rows.next();
+            if (!row.ordersId().equals(currentOrderId)) {
+                if (currentOrderId != null) {
+                    endOrder(json);
+                    if (flush.due()) {
+                        json.flush();
+                    }
+                }
+                currentOrderId = row.ordersId();
+                json.writeStartObject();
+                json.writeNumberField("orderId", row.ordersId());
+                json.writeStringField("orderDate", row.orderDate() == null ? null : row.orderDate().toString());
+                json.writeStringField("status", row.status());
+                json.writeNumberField("totalAmount", row.totalAmount());
+                writeNumberField(json, "accountId", row.accountId());
+                json.writeArrayFieldStart("lines");
+            }
+            if (row.lineId() != null) {
+                json.writeStartObject();
+                json.writeNumberField("lineId", row.lineId());
+                writeNumberField(json, "productId", row.productId());
+                writeNumberField(json, "quantity", row.quantity());
+                json.writeNumberField("unitPrice", row.unitPrice());
+                json.writeNumberField("subtotal", row.subtotal());
+                json.writeEndObject();
+            }
+        }
+        if (currentOrderId != null) {
+            endOrder(json);
+        }
+        json.close();
+    }
+
+    private static void endOrder(JsonGenerator json) throws IOException {
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    /**
+     * Nombre éventuellement absent : null en JSON
+     */
+    private static void writeNumberField(JsonGenerator json, String name, Number value) throws IOException {
+        if (value == null) {
+            json.writeNullField(name);
+        } else {
+            json.writeNumberField(name, value.longValue());
+        }
+    }
+
+    /**
+     * CSV : une ligne par ligne de commande (colonnes de détail vides si la commande n'en a pas)
+     */
+    private void writeCsv(Iterator<OrderExportRow> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        // En-tête envoyé tout de suite : la réponse commence avant la première commande
+        writer.flush();
+
+        PeriodicFlush flush = new PeriodicFlush();
+        Long currentOrderId = null;
+        StringBuilder line = new StringBuilder(128);
+        while (rows.hasNext()) {
+            OrderExportRow row = rows.next();
+            // Vidage entre deux commandes, jamais au milieu de leurs lignes
+            if (!row.ordersId().equals(currentOrderId)) {
+                if (currentOrderId != null && flush.due()) {
+                    writer.flush();
+                }
+                currentOrderId = row.ordersId();
+            }
+            line.setLength(0);
+            line.append(row.ordersId()).append(',')
+                    .append(nullToEmpty(row.orderDate())).append(',')
+                    .append(Csv.escape(row.status())).append(',')
+                    .append(row.totalAmount() == null ? "" : row.totalAmount().toPlainString()).append(',')
+                    .append(nullToEmpty(row.accountId())).append(',')
+                    .append(nullToEmpty(row.lineId())).append(',')
+                    .append(nullToEmpty(row.productId())).append(',')
+                    .append(nullToEmpty(row.quantity())).append(',')
+                    .append(row.unitPrice() == null ? "" : row.unitPrice().toPlainString()).append(',')
+                    .append(row.subtotal() == null ? "" : row.subtotal().toPlainString())
+                    .append('\n');
+            writer.append(line);
+        }
+        writer.flush();
+    }
+
+    private static String nullToEmpty(Object value) {
+        return value == null ? "" : value.toString();
+    }
+}
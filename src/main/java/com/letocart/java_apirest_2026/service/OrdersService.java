@@ -1,94 +1,592 @@
 package com.letocart.java_apirest_2026.service;
 
+import com.letocart.java_apirest_2026.dto.CursorPage;
+import com.letocart.java_apirest_2026.dto.OrderLineView;
+import com.letocart.java_apirest_2026.dto.OrderStatusRow;
+import com.letocart.java_apirest_2026.dto.OrderStatusUpdateReport;
+import com.letocart.java_apirest_2026.dto.OrderStatusUpdateRequest;
+import com.letocart.java_apirest_2026.dto.OrderView;
+import com.letocart.java_apirest_2026.dto.ProductView;
+import com.letocart.java_apirest_2026.event.OrderCreatedEvent;
+import com.letocart.java_apirest_2026.model.OrderStatus;
 import com.letocart.java_apirest_2026.model.Orders;
 import com.letocart.java_apirest_2026.model.OrdersDetails;
 import com.letocart.java_apirest_2026.model.Account;
 import com.letocart.java_apirest_2026.model.Product;
+import com.letocart.java_apirest_2026.repository.OrdersDetailsRepository;
 import com.letocart.java_apirest_2026.repository.OrdersRepository;
 import com.letocart.java_apirest_2026.repository.AccountRepository;
 import com.letocart.java_apirest_2026.repository.ProductRepository;
+import com.letocart.java_apirest_2026.repository.ProductStockRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 public class OrdersService {
 
+    // Changement de statut en masse : commandes par transaction (une lecture, un UPDATE par statut d'origine)
+    static final int STATUS_UPDATE_CHUNK_SIZE = 500;
+    // Nombre maximal de commandes modifiées par un appel de changement de statut en masse
+    public static final int MAX_STATUS_UPDATES = 10_000;
+
     private final OrdersRepository ordersRepository;
+    private final OrdersDetailsRepository ordersDetailsRepository;
     private final AccountRepository accountRepository;
     private final ProductRepository productRepository;
+    private final InventoryEngine inventoryEngine;
+    private final ProductCache productCache;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
     public OrdersService(OrdersRepository ordersRepository,
+                         OrdersDetailsRepository ordersDetailsRepository,
                          AccountRepository accountRepository,
-                         ProductRepository productRepository) {
+                         ProductRepository productRepository,
+                         InventoryEngine inventoryEngine,
+                         ProductCache productCache,
+                         MeterRegistry meterRegistry,
+                         ApplicationEventPublisher eventPublisher,
+                         PlatformTransactionManager transactionManager) {
         this.ordersRepository = ordersRepository;
+        this.ordersDetailsRepository = ordersDetailsRepository;
         this.accountRepository = accountRepository;
         this.productRepository = productRepository;
+        this.inventoryEngine = inventoryEngine;
+        this.productCache = productCache;
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    public Orders createOrder(Long accountId, List<OrdersDetails> orderDetailsList) throws Exception {
+    /**
+     * Crée une commande et réserve le stock de tous ses produits
+     *
+     * Les noms des produits viennent du cache local (ProductCache) et les lignes les référencent
+     * sans SELECT. Stock et prix sont relus en une requête sur les lignes produit verrouillées
+     * (SELECT ... FOR UPDATE, dans l'ordre des identifiants) : le panier est refusé d'emblée si
+     * un produit manque de stock, puis le stock est décrémenté par des UPDATE conditionnels
+     * groupés en un batch. Si un seul produit manque de stock, toute la transaction est annulée :
+     * pas de survente, pas de mise à jour perdue entre deux commandes concurrentes. Le cache
+     * n'intervient jamais dans le stock ni dans le prix facturé.
+     *
+     * Si le moteur d'inventaire en mémoire est activé, la réservation se fait
+     * dans ses compteurs et l'écriture en base est différée (InventoryEngine) ;
+     * les prix sont alors lus en base sans verrou.
+     *
+     * @return Commande créée, avec ses lignes et le nom de leurs produits
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public OrderView createOrder(Long accountId, List<OrdersDetails> orderDetailsList) throws Exception {
         // Récupérer le compte
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new Exception("Compte non trouvé avec l'ID: " + accountId));
 
+        // Quantités demandées par produit (triées par ID : ordre de verrouillage stable)
+        SortedMap<Long, Integer> quantitiesByProductId = quantitiesByProductId(orderDetailsList);
+
+        // Noms des produits du panier : cache local, puis une seule requête pour les absents
+        Map<Long, ProductView> productsById = productCache.getAll(quantitiesByProductId.keySet());
+        if (productsById.size() < quantitiesByProductId.size()) {
+            throw new Exception("Produit non trouvé");
+        }
+
+        // Déduire le stock : réservation en mémoire, ou lignes verrouillées puis
+        // UPDATE ... WHERE stock_quantity >= ? (batch JDBC)
+        Map<Long, BigDecimal> pricesById;
+        List<Long> insufficient;
+        if (inventoryEngine.isEnabled()) {
+            pricesById = productRepository.findPrices(quantitiesByProductId.keySet());
+            requireAll(quantitiesByProductId.keySet(), pricesById);
+            insufficient = reserveInMemory(quantitiesByProductId);
+        } else {
+            Map<Long, ProductStockRepository.LockedProduct> locked = productRepository.lockStock(quantitiesByProductId.keySet());
+            pricesById = prices(locked);
+            requireAll(quantitiesByProductId.keySet(), pricesById);
+            insufficient = insufficientStock(quantitiesByProductId, locked);
+            if (insufficient.isEmpty()) {
+                insufficient = productRepository.decrementStock(quantitiesByProductId);
+            }
+        }
+        if (!insufficient.isEmpty()) {
+            stockRejection(inventoryEngine.isEnabled() ? "memory" : "database");
+            throw new Exception("Stock insuffisant pour le produit: "
+                    + productsById.get(insufficient.get(0)).name());
+        }
+
         // Créer la commande
         Orders order = new Orders();
         order.setAccount(account);
+        for (OrdersDetails detail : orderDetailsList) {
+            // Référence : seule la clé étrangère est écrite, le produit n'est pas relu
+            detail.setProduct(entityManager.getReference(Product.class, detail.getProduct().getProductId()));
+        }
 
-        BigDecimal totalAmount = BigDecimal.ZERO;
+        // Calculer les sous-totaux de chaque ligne et le total, aux prix lus en base
+        BigDecimal totalAmount = OrderPricing.price(order, orderDetailsList, pricesById);
+
+        order.setTotalAmount(totalAmount);
+        order.setOrdersDetails(orderDetailsList);
+
+        Orders savedOrder = ordersRepository.save(order);
+        // Reçu par les écouteurs après validation de la transaction (ventes des suggestions)
+        eventPublisher.publishEvent(new OrderCreatedEvent(savedOrder.getOrdersId(), Map.copyOf(quantitiesByProductId)));
+        return orderView(savedOrder, productsById);
+    }
+
+    /**
+     * Panier à créer dans un lot (CheckoutBatcher)
+     */
+    public record CheckoutRequest(Long accountId, List<OrdersDetails> orderDetails) {}
+
+    /**
+     * Résultat d'une commande du lot : commande créée, ou refus (même message que createOrder)
+     */
+    public record CheckoutResult(OrderView order, Exception failure) {}
+
+    /**
+     * Crée un lot de commandes en une seule transaction (group commit, CheckoutBatcher)
+     *
+     * Mêmes règles que createOrder, appliquées au lot entier : les comptes sont lus en une requête,
+     * les noms des produits dans le cache local, et le stock et le prix de tous les produits du lot
+     * sont lus et verrouillés en une requête (SELECT ... FOR UPDATE). Les paniers sont ensuite acceptés ou refusés en mémoire,
+     * dans l'ordre d'arrivée : un panier refusé (compte ou produit introuvable, stock insuffisant)
+     * n'annule pas les autres. Le stock est décrémenté une fois par produit, puis commandes et lignes
+     * sont insérées en deux batchs JDBC : un seul commit pour tout le lot.
+     *
+     * Une erreur technique annule tout le lot (l'appelant peut alors rejouer chaque commande seule).
+     *
+     * @return Un résultat par panier, dans l'ordre des requêtes
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<CheckoutResult> createOrders(List<CheckoutRequest> requests) {
+        CheckoutResult[] results = new CheckoutResult[requests.size()];
+        Map<Long, Account> accountsById = new HashMap<>();
+        accountRepository.findAllById(requests.stream().map(CheckoutRequest::accountId)
+                        .filter(Objects::nonNull).collect(Collectors.toSet()))
+                .forEach(account -> accountsById.put(account.getAccountId(), account));
+
+        // Paniers valides : quantités par produit
+        List<SortedMap<Long, Integer>> quantities = new ArrayList<>(Collections.nCopies(requests.size(), null));
+        Set<Long> productIds = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CheckoutRequest request = requests.get(i);
+            try {
+                if (!accountsById.containsKey(request.accountId())) {
+                    throw new Exception("Compte non trouvé avec l'ID: " + request.accountId());
+                }
+                quantities.set(i, quantitiesByProductId(request.orderDetails()));
+                productIds.addAll(quantities.get(i).keySet());
+            } catch (Exception e) {
+                results[i] = new CheckoutResult(null, e);
+            }
+        }
+        Map<Long, ProductView> productsById = productCache.getAll(productIds);
 
-        // Traiter chaque ligne de détail
+        // Stock : réservations en mémoire, ou stock et prix verrouillés une fois pour tout le lot
+        Map<Long, Integer> stockByProductId = new HashMap<>();
+        Map<Long, BigDecimal> pricesById;
+        if (inventoryEngine.isEnabled()) {
+            pricesById = productRepository.findPrices(productsById.keySet());
+        } else {
+            Map<Long, ProductStockRepository.LockedProduct> locked =
+                    productRepository.lockStock(new TreeSet<>(productsById.keySet()));
+            locked.forEach((productId, product) -> stockByProductId.put(productId, product.stockQuantity()));
+            pricesById = prices(locked);
+        }
+        SortedMap<Long, Integer> decrements = new TreeMap<>();
+        List<Orders> created = new ArrayList<>();
+        List<Integer> createdIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            SortedMap<Long, Integer> basket = quantities.get(i);
+            if (basket == null) {
+                continue;
+            }
+            try {
+                requireAll(basket.keySet(), pricesById);
+                List<Long> insufficient = inventoryEngine.isEnabled()
+                        ? reserveInMemory(basket)
+                        : allocate(basket, stockByProductId, decrements);
+                if (!insufficient.isEmpty()) {
+                    stockRejection(inventoryEngine.isEnabled() ? "memory" : "database");
+                    throw new Exception("Stock insuffisant pour le produit: "
+                            + productsById.get(insufficient.get(0)).name());
+                }
+            } catch (Exception e) {
+                results[i] = new CheckoutResult(null, e);
+                continue;
+            }
+            // Lignes copiées : les paniers reçus restent intacts si le lot est annulé puis rejoué
+            List<OrdersDetails> lines = new ArrayList<>();
+            for (OrdersDetails detail : requests.get(i).orderDetails()) {
+                OrdersDetails line = new OrdersDetails();
+                line.setProduct(detail.getProduct());
+                line.setQuantity(detail.getQuantity());
+                lines.add(line);
+            }
+            Orders order = new Orders();
+            order.setAccount(accountsById.get(requests.get(i).accountId()));
+            order.setTotalAmount(OrderPricing.price(order, lines, pricesById));
+            order.setOrdersDetails(lines);
+            created.add(order);
+            createdIndexes.add(i);
+        }
+
+        // Stock verrouillé : chaque UPDATE conditionnel réussit, sauf incohérence (le lot est alors annulé)
+        if (!decrements.isEmpty() && !productRepository.decrementStock(decrements).isEmpty()) {
+            throw new IllegalStateException("Stock modifié pendant la validation du lot");
+        }
+        ordersRepository.insertAll(created);
+        for (int k = 0; k < created.size(); k++) {
+            Orders order = created.get(k);
+            eventPublisher.publishEvent(new OrderCreatedEvent(order.getOrdersId(),
+                    Map.copyOf(quantities.get(createdIndexes.get(k)))));
+            results[createdIndexes.get(k)] = new CheckoutResult(orderView(order, productsById), null);
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Quantités demandées par produit, triées par identifiant
+     */
+    private static SortedMap<Long, Integer> quantitiesByProductId(List<OrdersDetails> orderDetailsList) throws Exception {
+        if (orderDetailsList == null || orderDetailsList.isEmpty()) {
+            throw new Exception("La commande doit contenir au moins une ligne");
+        }
+        SortedMap<Long, Integer> quantitiesByProductId = new TreeMap<>();
         for (OrdersDetails detail : orderDetailsList) {
-            // Vérifier que le produit existe
-            Product product = productRepository.findById(detail.getProduct().getProductId())
-                    .orElseThrow(() -> new Exception("Produit non trouvé"));
+            if (detail.getProduct() == null || detail.getProduct().getProductId() == null) {
+                throw new Exception("Produit non renseigné");
+            }
+            if (detail.getQuantity() == null || detail.getQuantity() <= 0) {
+                throw new Exception("La quantité doit être strictement positive");
+            }
+            quantitiesByProductId.merge(detail.getProduct().getProductId(), detail.getQuantity(), Integer::sum);
+        }
+        return quantitiesByProductId;
+    }
+
+    /**
+     * @throws Exception si un produit du panier n'existe plus en base
+     */
+    private static void requireAll(Set<Long> productIds, Map<Long, ?> foundById) throws Exception {
+        if (!foundById.keySet().containsAll(productIds)) {
+            throw new Exception("Produit non trouvé");
+        }
+    }
 
-            // Vérifier le stock
-            if (product.getStockQuantity() < detail.getQuantity()) {
-                throw new Exception("Stock insuffisant pour le produit: " + product.getName());
+    private static Map<Long, BigDecimal> prices(Map<Long, ProductStockRepository.LockedProduct> locked) {
+        Map<Long, BigDecimal> pricesById = new HashMap<>();
+        locked.forEach((productId, product) -> pricesById.put(productId, product.price()));
+        return pricesById;
+    }
+
+    /**
+     * Produits dont le stock verrouillé ne couvre pas la quantité demandée
+     */
+    private static List<Long> insufficientStock(SortedMap<Long, Integer> quantitiesByProductId,
+                                                Map<Long, ProductStockRepository.LockedProduct> locked) {
+        List<Long> insufficient = new ArrayList<>();
+        quantitiesByProductId.forEach((productId, quantity) -> {
+            if (locked.get(productId).stockQuantity() < quantity) {
+                insufficient.add(productId);
             }
+        });
+        return insufficient;
+    }
 
-            // Calculer le sous-total
-            BigDecimal subtotal = product.getPrice().multiply(new BigDecimal(detail.getQuantity()));
-            detail.setUnitPrice(product.getPrice());
-            detail.setSubtotal(subtotal);
-            detail.setOrders(order);
-            detail.setProduct(product);
+    /**
+     * Réserve un panier sur le stock verrouillé du lot (tout ou rien)
+     * @return Identifiants des produits en stock insuffisant (vide si le panier est accepté)
+     */
+    private static List<Long> allocate(SortedMap<Long, Integer> basket, Map<Long, Integer> stockByProductId,
+                                       SortedMap<Long, Integer> decrements) {
+        for (Map.Entry<Long, Integer> line : basket.entrySet()) {
+            if (stockByProductId.getOrDefault(line.getKey(), 0) < line.getValue()) {
+                return List.of(line.getKey());
+            }
+        }
+        basket.forEach((productId, quantity) -> {
+            stockByProductId.merge(productId, -quantity, Integer::sum);
+            decrements.merge(productId, quantity, Integer::sum);
+        });
+        return List.of();
+    }
 
-            totalAmount = totalAmount.add(subtotal);
+    /**
+     * Vue d'une commande créée : les noms des produits viennent du panier (les références ne sont pas chargées)
+     */
+    private static OrderView orderView(Orders order, Map<Long, ProductView> productsById) {
+        List<OrderLineView> lines = new ArrayList<>(order.getOrdersDetails().size());
+        for (OrdersDetails detail : order.getOrdersDetails()) {
+            Long productId = detail.getProduct().getProductId();
+            lines.add(new OrderLineView(order.getOrdersId(), detail.getId(), productId, productsById.get(productId).name(),
+                    detail.getQuantity(), detail.getUnitPrice(), detail.getSubtotal()));
+        }
+        return new OrderView(order.getOrdersId(), order.getOrderDate(), order.getTotalAmount(), order.getStatus(),
+                order.getAccount().getAccountId(), lines);
+    }
 
-            // Déduire du stock
-            product.setStockQuantity(product.getStockQuantity() - detail.getQuantity());
-            productRepository.save(product);
+    /**
+     * Compte une commande refusée faute de stock (app.orders.stock.rejections)
+     * @param stage Étape du refus : réservation en mémoire ou UPDATE conditionnel
+     */
+    private void stockRejection(String stage) {
+        Counter.builder("app.orders.stock.rejections")
+                .description("Commandes refusées pour stock insuffisant")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Réserve le stock dans le moteur en mémoire et le libère si la transaction est annulée
+     */
+    private List<Long> reserveInMemory(SortedMap<Long, Integer> quantitiesByProductId) {
+        InventoryEngine.Reservation reservation = inventoryEngine.reserve(quantitiesByProductId);
+        if (reservation.insufficient().isEmpty()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        inventoryEngine.release(reservation);
+                    }
+                }
+            });
         }
+        return reservation.insufficient();
+    }
 
-        order.setTotalAmount(totalAmount);
-        order.setOrdersDetails(orderDetailsList);
+    @Transactional(readOnly = true)
+    public CursorPage<OrderView> getAllOrders(String after, int limit) {
+        CursorPage<OrderView> page = CursorPage.of(
+                ordersRepository.findViewsAfter(CursorPage.idAfter(after), CursorPage.lookahead(limit)),
+                limit, OrderView::ordersId);
+        return new CursorPage<>(withLines(page.getItems()), page.getNextCursor(), page.isHasNext());
+    }
 
-        return ordersRepository.save(order);
+    /**
+     * ETag de GET /api/orders/{id}, calculé sans charger la commande ni ses lignes
+     * @return ETag, ou vide si la commande n'existe pas
+     */
+    public Optional<String> getOrderETag(Long id) {
+        return ordersRepository.findVersionStampById(id).map(stamp -> stamp.etag("order"));
     }
 
-    public List<Orders> getAllOrders() {
-        return (List<Orders>) ordersRepository.findAll();
+    // Lu sur le primaire comme son ETag : une commande est relue juste après sa création ou son changement de statut
+    public Optional<OrderView> getOrderById(Long id) {
+        return ordersRepository.findViewById(id)
+                .map(order -> withLines(List.of(order)).get(0));
     }
 
-    public Optional<Orders> getOrderById(Long id) {
-        return ordersRepository.findById(id);
+    @Transactional(readOnly = true)
+    public List<OrderView> getOrdersByAccount(Long accountId) {
+        return withLines(ordersRepository.findViewsByAccount(accountId));
     }
 
-    public List<Orders> getOrdersByAccount(Long accountId) {
-        return ordersRepository.findByAccountAccountId(accountId);
+    /**
+     * Complète des en-têtes de commande avec leurs lignes, lues en une seule requête
+     */
+    private List<OrderView> withLines(List<OrderView> orders) {
+        if (orders.isEmpty()) {
+            return orders;
+        }
+        Map<Long, List<OrderLineView>> linesByOrder = ordersDetailsRepository
+                .findViewsByOrders(orders.stream().map(OrderView::ordersId).toList()).stream()
+                .collect(Collectors.groupingBy(OrderLineView::ordersId));
+        return orders.stream()
+                .map(order -> order.withLines(linesByOrder.getOrDefault(order.ordersId(), List.of())))
+                .toList();
     }
 
-    public Orders updateOrderStatus(Long orderId, String status) throws Exception {
+    /**
+     * Change le statut d'une commande, si la transition est autorisée (OrderStatus)
+     * Sans effet si la commande est déjà dans ce statut.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public OrderView updateOrderStatus(Long orderId, String status) throws Exception {
+        OrderStatus target = OrderStatus.parse(status);
         Orders order = ordersRepository.findById(orderId)
                 .orElseThrow(() -> new Exception("Commande non trouvée avec l'ID: " + orderId));
 
-        order.setStatus(status);
-        return ordersRepository.save(order);
+        if (!target.name().equals(order.getStatus())) {
+            OrderStatus current = knownStatus(order.getStatus());
+            if (current == null || !current.canTransitionTo(target)) {
+                throw new Exception("Transition de statut interdite : " + order.getStatus() + " -> " + target);
+            }
+            order.setStatus(target.name());
+            ordersRepository.save(order);
+        }
+        return getOrderById(orderId).orElseThrow();
+    }
+
+    /**
+     * Change le statut de nombreuses commandes (logistique : CONFIRMED -> SHIPPED par milliers)
+     *
+     * Les commandes sont traitées par lots de STATUS_UPDATE_CHUNK_SIZE, chacun dans sa propre
+     * transaction : une requête lit les statuts courants, puis un UPDATE conditionnel par statut
+     * d'origine (en pratique un seul) modifie les commandes dont la transition est autorisée.
+     * La condition sur le statut d'origine rend chaque UPDATE sûr face à une modification
+     * concurrente : une commande changée entre-temps est signalée en conflit, jamais écrasée.
+     *
+     * Avec un filtre (fromStatus, orderedBefore), les commandes sont sélectionnées par l'index
+     * (status, order_date), les plus anciennes d'abord, dans la limite de limit par appel.
+     *
+     * @return Résultat par commande (modifiée, inchangée, absente, transition interdite, conflit)
+     * @throws IllegalArgumentException si la requête est invalide (statut inconnu, trop de commandes...)
+     */
+    public OrderStatusUpdateReport updateOrderStatuses(OrderStatusUpdateRequest request) {
+        OrderStatus target = OrderStatus.parse(request.status());
+        boolean byIds = request.ids() != null && !request.ids().isEmpty();
+        if (byIds == (request.fromStatus() != null)) {
+            throw new IllegalArgumentException("Indiquer soit ids, soit le filtre fromStatus");
+        }
+        OrderStatusUpdateReport report = new OrderStatusUpdateReport(target.name());
+        if (byIds) {
+            List<Long> ids = request.ids().stream().filter(Objects::nonNull).distinct().toList();
+            if (ids.size() > MAX_STATUS_UPDATES) {
+                throw new IllegalArgumentException("Au plus " + MAX_STATUS_UPDATES + " commandes par appel");
+            }
+            for (int start = 0; start < ids.size(); start += STATUS_UPDATE_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(start, Math.min(ids.size(), start + STATUS_UPDATE_CHUNK_SIZE));
+                transactionTemplate.executeWithoutResult(tx -> updateStatusChunk(chunk, target, report));
+            }
+            return report;
+        }
+
+        OrderStatus source = OrderStatus.parse(request.fromStatus());
+        if (!source.canTransitionTo(target)) {
+            throw new IllegalArgumentException("Transition de statut interdite : " + source + " -> " + target);
+        }
+        int limit = request.limit() == null ? MAX_STATUS_UPDATES : request.limit();
+        if (limit < 1 || limit > MAX_STATUS_UPDATES) {
+            throw new IllegalArgumentException("limit doit être compris entre 1 et " + MAX_STATUS_UPDATES);
+        }
+        LocalDateTime before = request.orderedBefore() != null ? request.orderedBefore() : LocalDateTime.now();
+        // Les commandes modifiées quittent le statut filtré : chaque lot relit simplement les suivantes
+        int remaining = limit;
+        while (remaining > 0) {
+            int size = Math.min(STATUS_UPDATE_CHUNK_SIZE, remaining);
+            Integer selected = transactionTemplate.execute(tx -> {
+                List<Long> chunk = ordersRepository.findIdsByStatusBefore(source.name(), before, Limit.of(size));
+                if (!chunk.isEmpty()) {
+                    Set<Long> updated = transition(chunk, source, target);
+                    for (Long id : chunk) {
+                        report.add(id, updated.contains(id) ? OrderStatusUpdateReport.Outcome.UPDATED
+                                : OrderStatusUpdateReport.Outcome.CONFLICT, source.name());
+                    }
+                }
+                return chunk.size();
+            });
+            remaining -= selected;
+            if (selected < size) {
+                break;
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Lot d'identifiants : statuts courants lus en une requête, puis un UPDATE par statut d'origine
+     */
+    private void updateStatusChunk(List<Long> ids, OrderStatus target, OrderStatusUpdateReport report) {
+        Map<Long, String> current = new HashMap<>();
+        for (OrderStatusRow row : ordersRepository.findStatusesByIds(ids)) {
+            current.put(row.ordersId(), row.status());
+        }
+        Map<OrderStatus, List<Long>> idsBySource = new EnumMap<>(OrderStatus.class);
+        for (Long id : ids) {
+            OrderStatus source = knownStatus(current.get(id));
+            if (source != null && source.canTransitionTo(target)) {
+                idsBySource.computeIfAbsent(source, s -> new ArrayList<>()).add(id);
+            }
+        }
+        Set<Long> updated = new HashSet<>();
+        idsBySource.forEach((source, sourceIds) -> updated.addAll(transition(sourceIds, source, target)));
+
+        // Résultats dans l'ordre de la requête
+        for (Long id : ids) {
+            String status = current.get(id);
+            OrderStatusUpdateReport.Outcome outcome;
+            if (status == null) {
+                outcome = OrderStatusUpdateReport.Outcome.NOT_FOUND;
+            } else if (status.equals(target.name())) {
+                outcome = OrderStatusUpdateReport.Outcome.UNCHANGED;
+            } else if (updated.contains(id)) {
+                outcome = OrderStatusUpdateReport.Outcome.UPDATED;
+            } else if (idsBySource.containsKey(knownStatus(status))) {
+                outcome = OrderStatusUpdateReport.Outcome.CONFLICT;
+            } else {
+                outcome = OrderStatusUpdateReport.Outcome.INVALID_TRANSITION;
+            }
+            report.add(id, outcome, status);
+        }
+    }
+
+    /**
+     * UPDATE conditionnel source -> cible
+     * @return Commandes modifiées (les autres ont changé de statut depuis leur lecture)
+     */
+    private Set<Long> transition(List<Long> ids, OrderStatus source, OrderStatus target) {
+        int count = ordersRepository.updateStatus(ids, source.name(), target.name());
+        if (count == ids.size()) {
+            return new HashSet<>(ids);
+        }
+        Set<Long> updated = new HashSet<>();
+        for (OrderStatusRow row : ordersRepository.findStatusesByIds(ids)) {
+            if (target.name().equals(row.status())) {
+                updated.add(row.ordersId());
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Statut lu en base, ou null s'il ne fait pas partie de OrderStatus (valeur saisie librement autrefois)
+     * Les anciennes valeurs en minuscules ou avec espaces sont normalisées par V8__normalize_order_status
+     */
+    private static OrderStatus knownStatus(String status) {
+        if (status == null) {
+            return null;
+        }
+        try {
+            return OrderStatus.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
 
     public void deleteOrder(Long id) throws Exception {
@@ -0,0 +1,119 @@
+package com.letocart.java_apirest_2026.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.letocart.java_apirest_2026.dto.ProductView;
+import com.letocart.java_apirest_2026.event.OrderCreatedEvent;
+import com.letocart.java_apirest_2026.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache local (near-cache) des produits, en lecture directe (read-through)
+ *
+ * Sert GET /api/products/{id} et la résolution des produits d'un panier ou d'un avis
+ * sans aller-retour MySQL. Le cache est borné en taille et ses entrées expirent
+ * (filet de sécurité pour les écritures faites hors de l'application).
+ *
+ * Invalidation :
+ * - modification ou suppression d'un produit (ProductService) : immédiatement, puis à nouveau
+ *   à la fin de la transaction (une lecture concurrente a pu recharger l'ancienne version)
+ * - commande validée (OrderCreatedEvent) : produits du panier, après le commit
+ * - écriture différée du moteur d'inventaire (InventoryEngine.flush) : produits dont le stock
+ *   a été écrit, à la fin de sa transaction (la commande a été validée avant cette écriture)
+ *
+ * Chaque produit absent est chargé par le calcul par clé de Caffeine (cache.get) : une invalidation
+ * attend la fin d'un chargement en cours sur la même clé puis le retire. Un chargement groupé
+ * (getAll avec chargeur en lot) n'offre pas cette garantie : une lecture faite avant le commit
+ * pourrait être enregistrée après l'invalidation et servie jusqu'à l'expiration.
+ *
+ * Le stock mis en cache sert uniquement à l'affichage : une commande n'est jamais acceptée
+ * ni refusée sur cette valeur (UPDATE conditionnel ou moteur d'inventaire).
+ * Les produits inexistants ne sont pas mis en cache.
+ *
+ * Statistiques publiées sous cache.* (cache=products) et app.products.cache.hit.ratio.
+ */
+@Component
+public class ProductCache {
+
+    private final ProductRepository productRepository;
+    private final Cache<Long, ProductView> cache;
+
+    public ProductCache(ProductRepository productRepository,
+                        @Value("${app.product-cache.maximum-size:10000}") long maximumSize,
+                        @Value("${app.product-cache.ttl:10m}") Duration ttl,
+                        MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "products");
+        Gauge.builder("app.products.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Part des lectures de produits servies par le cache local")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Produit par identifiant (une requête SQL en cas d'absence du cache)
+     */
+    public Optional<ProductView> get(Long productId) {
+        return Optional.ofNullable(cache.get(productId, id -> productRepository.findViewById(id).orElse(null)));
+    }
+
+    /**
+     * Produits par identifiants : chaque absent du cache est lu par sa propre requête (chargement
+     * par clé, atomique face à evict), les paniers étant courts et le cache généralement chaud
+     * @return Produits trouvés, par identifiant (les identifiants inconnus sont absents)
+     */
+    public Map<Long, ProductView> getAll(Collection<Long> productIds) {
+        Map<Long, ProductView> found = new HashMap<>();
+        for (Long productId : productIds) {
+            get(productId).ifPresent(view -> found.put(productId, view));
+        }
+        return found;
+    }
+
+    /**
+     * Invalide des produits modifiés, maintenant et à la fin de la transaction en cours
+     */
+    public void evict(Collection<Long> productIds) {
+        cache.invalidateAll(productIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidateAll(productIds);
+                }
+            });
+        }
+    }
+
+    /**
+     * Stock des produits d'une commande validée modifié : entrées invalidées
+     */
+    @TransactionalEventListener
+    public void onOrderCreated(OrderCreatedEvent event) {
+        cache.invalidateAll(event.quantitiesByProductId().keySet());
+    }
+
+    /**
+     * Part des lectures servies par le cache depuis le démarrage
+     */
+    public double hitRatio() {
+        return cache.stats().hitRate();
+    }
+}
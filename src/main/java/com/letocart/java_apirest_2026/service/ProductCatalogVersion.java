@@ -0,0 +1,77 @@
+package com.letocart.java_apirest_2026.service;
+
+import com.letocart.java_apirest_2026.event.OrderCreatedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compteur de modifications du catalogue (table product), pour l'ETag de GET /api/products
+ *
+ * L'ETag d'une page est calculé à partir de ce compteur, sans lire la table ni sérialiser
+ * la réponse : une requête conditionnelle (If-None-Match) est traitée sans accès à la base.
+ *
+ * Le compteur est incrémenté par chaque écriture du catalogue : création, modification et
+ * suppression (ProductService), stock décrémenté par une commande (OrderCreatedEvent) ou
+ * par l'écriture différée du moteur d'inventaire. Il l'est deux fois par transaction :
+ * - juste avant le commit : un ETag émis avant l'écriture ne correspond plus dès que les
+ *   nouvelles données peuvent être lues, pas de 304 sur une page périmée ;
+ * - après la fin de la transaction : une page lue pendant le commit (ancienne ou nouvelle
+ *   données) est émise sous une version qui ne sert plus ensuite.
+ * Un ETag est toujours calculé avant la lecture qu'il désigne : il n'est jamais associé à des
+ * données plus anciennes que lui.
+ *
+ * Limite : le compteur vit en mémoire, comme les index du catalogue, et n'est valable que pour
+ * une seule instance de l'application. Un identifiant tiré au démarrage distingue les ETag d'une
+ * exécution à l'autre, mais plusieurs instances derrière un répartiteur ne voient pas les
+ * écritures les unes des autres : une instance qui n'a pas reçu l'écriture répondrait 304 à un
+ * ETag qu'elle a émis. Les écritures faites hors de l'application ne sont pas vues non plus.
+ */
+@Component
+public class ProductCatalogVersion {
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    private final AtomicLong changes = new AtomicLong();
+
+    /**
+     * Version courante du catalogue
+     */
+    public String current() {
+        return epoch + "-" + changes.get();
+    }
+
+    /**
+     * Signale une écriture du catalogue : prise en compte avant le commit de la transaction
+     * en cours et après sa fin (immédiatement hors transaction)
+     */
+    public void changed() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    changes.incrementAndGet();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    changes.incrementAndGet();
+                }
+            });
+        } else {
+            changes.incrementAndGet();
+        }
+    }
+
+    /**
+     * Stock des produits d'une commande décrémenté en base
+     * Reçu à la publication, dans la transaction de la commande : mêmes incréments que changed()
+     */
+    @EventListener
+    public void onOrderCreated(OrderCreatedEvent event) {
+        changed();
+    }
+}
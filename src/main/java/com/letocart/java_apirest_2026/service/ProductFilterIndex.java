@@ -0,0 +1,419 @@
+package com.letocart.java_apirest_2026.service;
+
+import com.letocart.java_apirest_2026.dto.ProductFilterView;
+import com.letocart.java_apirest_2026.event.OrderCreatedEvent;
+import com.letocart.java_apirest_2026.event.ProductRatingChangedEvent;
+import com.letocart.java_apirest_2026.model.Product;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index en mémoire du catalogue, par colonnes, pour les pages filtrées (prix, stock, note)
+ *
+ * Chaque produit occupe un emplacement dans des tableaux primitifs : prix en centimes (long),
+ * stock (int), nombre d'avis et note moyenne en centièmes (int). Un BitSet marque les
+ * emplacements occupés, un autre les produits en stock. Un filtre parcourt ces colonnes
+ * sans aucune allocation par produit, et un tas borné (int[]) ne garde que les
+ * offset + limit premiers résultats du tri demandé.
+ *
+ * Chargé au démarrage, puis tenu à jour :
+ * - par ProductService (création, modification, suppression)
+ * - après chaque commande validée (OrderCreatedEvent) : stock décrémenté
+ * - après chaque changement de note (ProductRatingChangedEvent) : agrégat relu dans product_rating
+ * Les produits écrits hors de ProductService n'y figurent qu'après reload().
+ */
+@Component
+public class ProductFilterIndex implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductFilterIndex.class);
+
+    private static final String LOAD_PRODUCTS_SQL =
+            "SELECT p.product_id, p.name, p.description, p.price, p.stock_quantity, "
+                    + "COALESCE(r.rating_count, 0), COALESCE(r.rating_sum, 0) FROM product p "
+                    + "LEFT JOIN product_rating r ON r.product_id = p.product_id";
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Tri des résultats (à égalité : identifiant croissant)
+     */
+    public enum Sort {
+        ID, PRICE_ASC, PRICE_DESC, RATING_DESC;
+
+        /**
+         * @throws IllegalArgumentException si le tri est inconnu
+         */
+        public static Sort parse(String value) {
+            try {
+                return value == null || value.isBlank() ? ID : valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Tri inconnu : " + value + " " + Arrays.toString(values()));
+            }
+        }
+    }
+
+    /**
+     * Critères d'un filtre (null : critère ignoré)
+     * @param minPrice Prix minimal inclus
+     * @param maxPrice Prix maximal inclus
+     * @param inStock true : seulement les produits en stock
+     * @param minRating Note moyenne minimale (exclut les produits sans avis)
+     */
+    public record Criteria(BigDecimal minPrice, BigDecimal maxPrice, boolean inStock, BigDecimal minRating) {
+    }
+
+    /**
+     * Ligne lue par reload()
+     */
+    private record Row(long id, String name, String description, long priceCents, int stock,
+                       int ratingCount, long ratingSum) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Colonnes, indexées par emplacement
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] priceCents = new long[INITIAL_CAPACITY];
+    private int[] stock = new int[INITIAL_CAPACITY];
+    private int[] ratingCount = new int[INITIAL_CAPACITY];
+    private int[] ratingHundredths = new int[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private String[] descriptions = new String[INITIAL_CAPACITY];
+    private BitSet occupied = new BitSet();
+    private BitSet available = new BitSet();
+    private Map<Long, Integer> slotsById = new HashMap<>();
+
+    @Autowired
+    public ProductFilterIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Chargement initial, une fois le schéma créé et avant l'ouverture du serveur HTTP
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    /**
+     * Recharge toutes les colonnes depuis les tables product et product_rating
+     *
+     * Lecture et construction hors verrou : les filtres continuent sur les anciennes colonnes,
+     * remplacées d'un bloc sous le verrou d'écriture.
+     */
+    public void reload() {
+        List<Row> rows = new ArrayList<>();
+        jdbcTemplate.query(LOAD_PRODUCTS_SQL, rs -> {
+            rows.add(new Row(rs.getLong(1), rs.getString(2), rs.getString(3),
+                    toCents(rs.getBigDecimal(4), RoundingMode.HALF_UP), rs.getInt(5), rs.getInt(6), rs.getLong(7)));
+        });
+
+        int capacity = Math.max(INITIAL_CAPACITY, rows.size());
+        long[] newIds = new long[capacity];
+        long[] newPriceCents = new long[capacity];
+        int[] newStock = new int[capacity];
+        int[] newRatingCount = new int[capacity];
+        int[] newRatingHundredths = new int[capacity];
+        String[] newNames = new String[capacity];
+        String[] newDescriptions = new String[capacity];
+        BitSet newOccupied = new BitSet();
+        BitSet newAvailable = new BitSet();
+        Map<Long, Integer> newSlotsById = new HashMap<>(rows.size() * 2);
+        for (int slot = 0; slot < rows.size(); slot++) {
+            Row row = rows.get(slot);
+            newIds[slot] = row.id();
+            newNames[slot] = row.name();
+            newDescriptions[slot] = row.description();
+            newPriceCents[slot] = row.priceCents();
+            newStock[slot] = row.stock();
+            newAvailable.set(slot, row.stock() > 0);
+            newRatingCount[slot] = row.ratingCount();
+            newRatingHundredths[slot] = hundredths(row.ratingCount(), row.ratingSum());
+            newOccupied.set(slot);
+            newSlotsById.put(row.id(), slot);
+        }
+
+        lock.writeLock().lock();
+        try {
+            ids = newIds;
+            priceCents = newPriceCents;
+            stock = newStock;
+            ratingCount = newRatingCount;
+            ratingHundredths = newRatingHundredths;
+            names = newNames;
+            descriptions = newDescriptions;
+            occupied = newOccupied;
+            available = newAvailable;
+            slotsById = newSlotsById;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Index de filtre des produits : {} produits", rows.size());
+    }
+
+    /**
+     * Indexe un produit créé ou modifié (sa note est conservée)
+     */
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotFor(product.getProductId());
+            names[slot] = product.getName();
+            descriptions[slot] = product.getDescription();
+            priceCents[slot] = product.getPrice() == null ? 0 : toCents(product.getPrice(), RoundingMode.HALF_UP);
+            setStock(slot, product.getStockQuantity() == null ? 0 : product.getStockQuantity());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retire un produit supprimé (son emplacement sera réutilisé)
+     */
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.remove(productId);
+            if (slot != null) {
+                occupied.clear(slot);
+                available.clear(slot);
+                names[slot] = null;
+                descriptions[slot] = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stock décrémenté des quantités d'une commande validée
+     */
+    @TransactionalEventListener
+    public void onOrderCreated(OrderCreatedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.quantitiesByProductId().forEach((productId, quantity) -> {
+                Integer slot = slotsById.get(productId);
+                if (slot != null) {
+                    setStock(slot, Math.max(0, stock[slot] - quantity));
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Notes relues dans leurs agrégats (une requête par évènement, jamais sur le chemin des lectures)
+     */
+    @TransactionalEventListener
+    public void onRatingChanged(ProductRatingChangedEvent event) {
+        if (event.productIds().isEmpty()) {
+            return;
+        }
+        List<Long> productIds = new ArrayList<>(event.productIds());
+        Map<Long, long[]> ratings = new HashMap<>();
+        jdbcTemplate.query("SELECT product_id, rating_count, rating_sum FROM product_rating WHERE product_id IN ("
+                        + String.join(", ", Collections.nCopies(productIds.size(), "?")) + ")",
+                rs -> {
+                    ratings.put(rs.getLong(1), new long[]{rs.getInt(2), rs.getLong(3)});
+                }, productIds.toArray());
+        lock.writeLock().lock();
+        try {
+            for (Long productId : productIds) {
+                Integer slot = slotsById.get(productId);
+                if (slot != null) {
+                    long[] rating = ratings.getOrDefault(productId, new long[2]);
+                    setRating(slot, (int) rating[0], rating[1]);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Produits correspondant aux critères, triés
+     * @param offset Rang du premier résultat retourné
+     * @param limit Nombre maximal de résultats retournés
+     */
+    public List<ProductFilterView> filter(Criteria criteria, Sort sort, int offset, int limit) {
+        long minCents = criteria.minPrice() == null ? Long.MIN_VALUE : toCents(criteria.minPrice(), RoundingMode.CEILING);
+        long maxCents = criteria.maxPrice() == null ? Long.MAX_VALUE : toCents(criteria.maxPrice(), RoundingMode.FLOOR);
+        int minHundredths = criteria.minRating() == null ? -1
+                : criteria.minRating().movePointRight(2).setScale(0, RoundingMode.CEILING).intValue();
+        int keep = (int) Math.min((long) Math.max(offset, 0) + limit, Integer.MAX_VALUE);
+        if (limit <= 0 || minCents > maxCents) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Tas borné : le moins bien classé des résultats gardés à la racine
+            int[] heap = new int[Math.min(keep, slotsById.size())];
+            int size = 0;
+            BitSet rows = criteria.inStock() ? available : occupied;
+            for (int slot = rows.nextSetBit(0); slot >= 0; slot = rows.nextSetBit(slot + 1)) {
+                if (priceCents[slot] < minCents || priceCents[slot] > maxCents) {
+                    continue;
+                }
+                if (minHundredths >= 0 && (ratingCount[slot] == 0 || ratingHundredths[slot] < minHundredths)) {
+                    continue;
+                }
+                if (size < heap.length) {
+                    heap[size] = slot;
+                    siftUp(heap, size++, sort);
+                } else if (size > 0 && compare(sort, slot, heap[0]) < 0) {
+                    heap[0] = slot;
+                    siftDown(heap, size, sort);
+                }
+            }
+
+            // Extraction du tas, du dernier rang au premier
+            int skip = Math.min(Math.max(offset, 0), size);
+            ProductFilterView[] ranked = new ProductFilterView[size];
+            for (int i = size - 1; i >= skip; i--) {
+                ranked[i] = view(heap[0]);
+                heap[0] = heap[--size];
+                siftDown(heap, size, sort);
+            }
+            return Arrays.asList(ranked).subList(skip, ranked.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---- Tri (appelé sous le verrou de lecture) ----
+
+    /**
+     * Négatif si l'emplacement a est classé avant l'emplacement b
+     */
+    private int compare(Sort sort, int a, int b) {
+        int order = switch (sort) {
+            case ID -> 0;
+            case PRICE_ASC -> Long.compare(priceCents[a], priceCents[b]);
+            case PRICE_DESC -> Long.compare(priceCents[b], priceCents[a]);
+            case RATING_DESC -> {
+                int byRating = Integer.compare(ratingHundredths[b], ratingHundredths[a]);
+                yield byRating != 0 ? byRating : Integer.compare(ratingCount[b], ratingCount[a]);
+            }
+        };
+        return order != 0 ? order : Long.compare(ids[a], ids[b]);
+    }
+
+    private void siftUp(int[] heap, int i, Sort sort) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (compare(sort, heap[i], heap[parent]) <= 0) {
+                return;
+            }
+            swap(heap, i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int size, Sort sort) {
+        int i = 0;
+        while (true) {
+            int worst = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && compare(sort, heap[left], heap[worst]) > 0) {
+                worst = left;
+            }
+            if (right < size && compare(sort, heap[right], heap[worst]) > 0) {
+                worst = right;
+            }
+            if (worst == i) {
+                return;
+            }
+            swap(heap, i, worst);
+            i = worst;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+
+    private ProductFilterView view(int slot) {
+        return new ProductFilterView(ids[slot], names[slot], descriptions[slot], BigDecimal.valueOf(priceCents[slot], 2),
+                stock[slot], BigDecimal.valueOf(ratingHundredths[slot], 2), ratingCount[slot]);
+    }
+
+    // ---- Mises à jour (appelées sous le verrou d'écriture) ----
+
+    /**
+     * Emplacement d'un produit : existant, libéré par une suppression, ou ajouté en fin de colonnes
+     */
+    private int slotFor(long productId) {
+        Integer existing = slotsById.get(productId);
+        if (existing != null) {
+            return existing;
+        }
+        int slot = occupied.nextClearBit(0);
+        if (slot >= ids.length) {
+            grow();
+        }
+        occupied.set(slot);
+        ids[slot] = productId;
+        stock[slot] = 0;
+        available.clear(slot);
+        setRating(slot, 0, 0);
+        slotsById.put(productId, slot);
+        return slot;
+    }
+
+    private void setStock(int slot, int quantity) {
+        stock[slot] = quantity;
+        available.set(slot, quantity > 0);
+    }
+
+    private void setRating(int slot, int count, long sum) {
+        ratingCount[slot] = count;
+        ratingHundredths[slot] = hundredths(count, sum);
+    }
+
+    /**
+     * Moyenne en centièmes, arrondie au plus proche (comme ProductRatingView)
+     */
+    private static int hundredths(int count, long sum) {
+        return count == 0 ? 0 : (int) ((sum * 200 + count) / (2L * count));
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        priceCents = Arrays.copyOf(priceCents, capacity);
+        stock = Arrays.copyOf(stock, capacity);
+        ratingCount = Arrays.copyOf(ratingCount, capacity);
+        ratingHundredths = Arrays.copyOf(ratingHundredths, capacity);
+        names = Arrays.copyOf(names, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+    }
+
+    private static long toCents(BigDecimal amount, RoundingMode rounding) {
+        return amount.movePointRight(2).setScale(0, rounding).longValue();
+    }
+}
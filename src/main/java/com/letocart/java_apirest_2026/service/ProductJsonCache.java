@@ -0,0 +1,183 @@
+package com.letocart.java_apirest_2026.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.letocart.java_apirest_2026.dto.CursorPage;
+import com.letocart.java_apirest_2026.dto.ProductView;
+import com.letocart.java_apirest_2026.event.OrderCreatedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JSON pré-sérialisé des produits, pour les listes du catalogue
+ *
+ * Chaque produit est sérialisé une fois par Jackson (ObjectMapper de Spring : même rendu que
+ * les autres endpoints), puis son encodage UTF-8 est gardé en byte[]. Une liste est assemblée
+ * en copiant ces fragments dans un seul tableau, de taille calculée à l'avance : ni réflexion,
+ * ni objet intermédiaire par produit. L'enveloppe d'une page (CursorPage) reste sérialisée par
+ * Jackson, avec un élément fictif à la place des produits : les fragments y sont insérés,
+ * le format de la page suit donc celui de CursorPage et la configuration de l'ObjectMapper.
+ *
+ * Un fragment n'est réutilisé que si la vue lue en base est identique à celle qui l'a produit
+ * (ProductView est un record : égalité sur toutes ses colonnes). Une écriture faite hors de
+ * l'application ne peut donc pas servir un JSON périmé. Les fragments sont aussi invalidés
+ * par ProductService (modification, suppression) et après chaque commande validée (stock).
+ *
+ * Statistiques publiées sous cache.* (cache=product-json).
+ */
+@Component
+public class ProductJsonCache {
+
+    // Élément fictif écrit tel quel dans l'enveloppe : Jackson échappe toujours le caractère nul,
+    // cet octet ne peut donc apparaître qu'à la place des produits
+    private static final byte ITEMS_MARKER = 0;
+    private static final RawValue ITEMS_PLACEHOLDER = new RawValue(String.valueOf((char) ITEMS_MARKER));
+
+    /**
+     * JSON d'un produit et la vue dont il est issu
+     */
+    private record Fragment(ProductView view, byte[] json) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, Fragment> cache;
+
+    @Autowired
+    public ProductJsonCache(ObjectMapper objectMapper,
+                            @Value("${app.product-cache.maximum-size:10000}") long maximumSize,
+                            MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "product-json");
+    }
+
+    /**
+     * Page de produits au format de CursorPage : {"items":[...],"nextCursor":...,"hasNext":...}
+     * L'enveloppe est sérialisée par Jackson, les fragments des produits y sont insérés
+     */
+    public byte[] page(CursorPage<ProductView> page) {
+        byte[][] fragments = fragments(page.getItems());
+        byte[] envelope = envelope(page);
+        int marker = indexOf(envelope, ITEMS_MARKER);
+        int tail = envelope.length - marker - 1;
+
+        byte[] json = new byte[marker + itemsLength(fragments) + tail];
+        System.arraycopy(envelope, 0, json, 0, marker);
+        int at = putItems(json, marker, fragments);
+        System.arraycopy(envelope, marker + 1, json, at, tail);
+        return json;
+    }
+
+    /**
+     * Tableau JSON de produits : [...]
+     */
+    public byte[] list(List<ProductView> products) {
+        byte[][] fragments = fragments(products);
+        byte[] json = new byte[itemsLength(fragments) + 2];
+        json[0] = '[';
+        int at = putItems(json, 1, fragments);
+        json[at] = ']';
+        return json;
+    }
+
+    /**
+     * JSON d'un produit, depuis le cache si la vue n'a pas changé
+     */
+    public byte[] fragment(ProductView view) {
+        Fragment cached = cache.getIfPresent(view.productId());
+        if (cached != null && cached.view().equals(view)) {
+            return cached.json();
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(view);
+            cache.put(view.productId(), new Fragment(view, json));
+            return json;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Invalide les fragments de produits modifiés ou supprimés
+     */
+    public void evict(Collection<Long> productIds) {
+        cache.invalidateAll(productIds);
+    }
+
+    /**
+     * Stock des produits d'une commande validée modifié : fragments invalidés
+     */
+    @TransactionalEventListener
+    public void onOrderCreated(OrderCreatedEvent event) {
+        cache.invalidateAll(event.quantitiesByProductId().keySet());
+    }
+
+    /**
+     * Page sans ses produits, un élément fictif à leur place : {"items":[<marqueur>],...}
+     */
+    private byte[] envelope(CursorPage<ProductView> page) {
+        try {
+            return objectMapper.writeValueAsBytes(
+                    new CursorPage<>(List.of(ITEMS_PLACEHOLDER), page.getNextCursor(), page.isHasNext()));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int indexOf(byte[] json, byte value) {
+        for (int i = 0; i < json.length; i++) {
+            if (json[i] == value) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Emplacement des produits absent de l'enveloppe de la page");
+    }
+
+    private byte[][] fragments(List<ProductView> products) {
+        byte[][] fragments = new byte[products.size()][];
+        for (int i = 0; i < fragments.length; i++) {
+            fragments[i] = fragment(products.get(i));
+        }
+        return fragments;
+    }
+
+    /**
+     * Taille des fragments séparés par des virgules
+     */
+    private static int itemsLength(byte[][] fragments) {
+        int length = Math.max(fragments.length - 1, 0);
+        for (byte[] fragment : fragments) {
+            length += fragment.length;
+        }
+        return length;
+    }
+
+    private static int putItems(byte[] json, int at, byte[][] fragments) {
+        for (int i = 0; i < fragments.length; i++) {
+            if (i > 0) {
+                json[at++] = ',';
+            }
+            at = put(json, at, fragments[i]);
+        }
+        return at;
+    }
+
+    private static int put(byte[] json, int at, byte[] bytes) {
+        System.arraycopy(bytes, 0, json, at, bytes.length);
+        return at + bytes.length;
+    }
+}
@@ -0,0 +1,388 @@
+package com.letocart.java_apirest_2026.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Index inversé en mémoire pour la recherche de produits (nom et description)
+ *
+ * Remplace le "LIKE '%x%'" qui parcourait toute la table product à chaque frappe :
+ * - les textes sont découpés en termes, en minuscules et sans accents ("Cafetière" -> "cafetiere")
+ * - chaque terme pointe vers les produits qui le contiennent, avec un poids (nom > description)
+ * - les termes du vocabulaire sont eux-mêmes indexés par trigrammes : un mot de la requête
+ *   trouve les termes qui le contiennent ("tiere" -> "cafetiere") sans parcourir le vocabulaire ;
+ *   les mots de moins de 3 lettres sont cherchés par préfixe dans le vocabulaire trié
+ *
+ * Une requête de plusieurs mots ne retient que les produits qui contiennent tous les mots.
+ * Pertinence : mot exact > préfixe > sous-chaîne, pondéré par la rareté du mot (idf).
+ *
+ * Chargé au démarrage depuis la table product, puis tenu à jour par ProductService.
+ * Les produits écrits hors de ProductService n'y figurent qu'après reload().
+ * Les modifications reçues pendant un reload() (table lue hors verrou) sont appliquées à l'index
+ * courant et mémorisées, puis rejouées sur le nouvel index : aucune n'est perdue au remplacement.
+ */
+@Component
+public class ProductSearchIndex implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private static final String LOAD_PRODUCTS_SQL = "SELECT product_id, name, description FROM product";
+
+    // Poids d'une occurrence selon le champ
+    static final int NAME_WEIGHT = 3;
+    static final int DESCRIPTION_WEIGHT = 1;
+
+    // Qualité de la correspondance entre un mot de la requête et un terme indexé
+    private static final int EXACT_MATCH = 4;
+    private static final int PREFIX_MATCH = 2;
+    private static final int SUBSTRING_MATCH = 1;
+
+    private static final int GRAM = 3;
+
+    // Classement : score décroissant, puis identifiant croissant (ordre stable entre les pages)
+    private static final Comparator<Map.Entry<Long, Double>> RANKING =
+            Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey());
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Un seul reload() à la fois
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    // Modifications reçues pendant un reload(), à rejouer sur le nouvel index (null hors reload)
+    private List<Runnable> changesDuringReload;
+
+    // Terme -> poids du terme dans chaque produit
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    // Trigramme -> termes du vocabulaire qui le contiennent
+    private final Map<String, Set<String>> grams = new HashMap<>();
+    // Vocabulaire trié (recherche par préfixe des mots courts)
+    private final NavigableSet<String> vocabulary = new TreeSet<>();
+    // Produit -> termes indexés et leur poids (mise à jour et suppression)
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+
+    @Autowired
+    public ProductSearchIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Chargement initial, une fois le schéma créé et avant l'ouverture du serveur HTTP
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    /**
+     * Reconstruit tout l'index depuis la table product
+     *
+     * La table est lue hors verrou : les recherches continuent sur l'index courant. Une modification
+     * reçue à partir du début du rechargement est rejouée sur le nouvel index, même si la lecture
+     * l'a déjà vue (rejouer un état final ne change rien).
+     */
+    public void reload() {
+        reloadLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                changesDuringReload = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            Map<Long, Map<String, Integer>> loaded = new HashMap<>();
+            try {
+                jdbcTemplate.query(LOAD_PRODUCTS_SQL, rs -> {
+                    loaded.put(rs.getLong(1), terms(rs.getString(2), rs.getString(3)));
+                });
+            } catch (RuntimeException e) {
+                stopRecording();
+                throw e;
+            }
+            lock.writeLock().lock();
+            try {
+                postings.clear();
+                grams.clear();
+                vocabulary.clear();
+                documents.clear();
+                loaded.forEach(this::add);
+                changesDuringReload.forEach(Runnable::run);
+                changesDuringReload = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Index de recherche des produits : {} produits, {} termes", documents.size(), postings.size());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Indexe un produit créé ou remplace l'indexation d'un produit modifié
+     */
+    public void index(Long productId, String name, String description) {
+        Map<String, Integer> terms = terms(name, description);
+        apply(() -> {
+            delete(productId);
+            add(productId, terms);
+        });
+    }
+
+    /**
+     * Retire un produit supprimé
+     */
+    public void remove(Long productId) {
+        apply(() -> delete(productId));
+    }
+
+    /**
+     * Applique une modification sous le verrou d'écriture, et la mémorise pendant un reload()
+     */
+    private void apply(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (changesDuringReload != null) {
+                changesDuringReload.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void stopRecording() {
+        lock.writeLock().lock();
+        try {
+            changesDuringReload = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Nombre de produits indexés
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recherche les produits qui contiennent tous les mots de la requête
+     * @param query Mots recherchés (casse et accents indifférents)
+     * @param offset Rang du premier résultat retourné
+     * @param limit Nombre maximal de résultats retournés
+     * @return Identifiants des produits, du plus pertinent au moins pertinent (puis par identifiant)
+     */
+    public List<Long> search(String query, int offset, int limit) {
+        Set<String> words = new LinkedHashSet<>(tokenize(query));
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Map<Long, Double> scores = null;
+        lock.readLock().lock();
+        try {
+            int total = documents.size();
+            for (String word : words) {
+                Map<Long, Integer> matches = match(word);
+                if (matches.isEmpty()) {
+                    return List.of();
+                }
+                double idf = Math.log(1.0 + (double) total / matches.size());
+                if (scores == null) {
+                    scores = new HashMap<>(matches.size());
+                    for (Map.Entry<Long, Integer> match : matches.entrySet()) {
+                        scores.put(match.getKey(), idf * match.getValue());
+                    }
+                } else {
+                    // Intersection : un produit doit contenir tous les mots
+                    Map<Long, Double> combined = new HashMap<>();
+                    for (Map.Entry<Long, Double> score : scores.entrySet()) {
+                        Integer weight = matches.get(score.getKey());
+                        if (weight != null) {
+                            combined.put(score.getKey(), score.getValue() + idf * weight);
+                        }
+                    }
+                    scores = combined;
+                    if (scores.isEmpty()) {
+                        return List.of();
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return top(scores, Math.max(offset, 0), limit);
+    }
+
+    /**
+     * Résultats de rang offset à offset + limit, sans trier toutes les correspondances :
+     * tas borné aux offset + limit meilleurs scores (le moins bon en tête)
+     */
+    private static List<Long> top(Map<Long, Double> scores, int offset, int limit) {
+        int keep = (int) Math.min((long) offset + limit, scores.size());
+        if (keep <= offset) {
+            return List.of();
+        }
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(keep, RANKING.reversed());
+        for (Map.Entry<Long, Double> score : scores.entrySet()) {
+            if (heap.size() < keep) {
+                heap.add(score);
+            } else if (RANKING.compare(score, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(score);
+            }
+        }
+        Long[] ranked = new Long[heap.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = heap.poll().getKey();
+        }
+        return List.of(ranked).subList(offset, ranked.length);
+    }
+
+    /**
+     * Découpe un texte en termes normalisés : minuscules, sans accents ni ligatures
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT)
+                .replace("œ", "oe")
+                .replace("æ", "ae");
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Produits contenant un mot de la requête, avec leur meilleur score pour ce mot
+     * (appelé sous le verrou de lecture)
+     */
+    private Map<Long, Integer> match(String word) {
+        Map<Long, Integer> matches = new HashMap<>();
+        for (String term : candidateTerms(word)) {
+            int quality = term.equals(word) ? EXACT_MATCH : term.startsWith(word) ? PREFIX_MATCH : SUBSTRING_MATCH;
+            postings.get(term).forEach((productId, weight) -> matches.merge(productId, weight * quality, Math::max));
+        }
+        return matches;
+    }
+
+    /**
+     * Termes du vocabulaire qui contiennent le mot (préfixe seulement pour un mot de moins de 3 lettres)
+     */
+    private Collection<String> candidateTerms(String word) {
+        if (word.length() < GRAM) {
+            return vocabulary.subSet(word, true, word + Character.MAX_VALUE, false);
+        }
+        // Intersection des termes de chaque trigramme, en partant du plus sélectif
+        List<Set<String>> sets = new ArrayList<>();
+        for (String gram : grams(word)) {
+            Set<String> terms = grams.get(gram);
+            if (terms == null) {
+                return List.of();
+            }
+            sets.add(terms);
+        }
+        sets.sort(Comparator.comparingInt(Set::size));
+        List<String> candidates = new ArrayList<>();
+        for (String term : sets.get(0)) {
+            if (term.contains(word)) {
+                candidates.add(term);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Termes d'un produit et leur poids (somme des occurrences pondérées par champ)
+     */
+    private static Map<String, Integer> terms(String name, String description) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String token : tokenize(name)) {
+            terms.merge(token, NAME_WEIGHT, Integer::sum);
+        }
+        for (String token : tokenize(description)) {
+            terms.merge(token, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+        return terms;
+    }
+
+    private static Set<String> grams(String term) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM <= term.length(); i++) {
+            result.add(term.substring(i, i + GRAM));
+        }
+        return result;
+    }
+
+    // ---- Mises à jour (appelées sous le verrou d'écriture) ----
+
+    private void add(Long productId, Map<String, Integer> terms) {
+        documents.put(productId, terms);
+        terms.forEach((term, weight) -> postings.computeIfAbsent(term, this::newTerm).put(productId, weight));
+    }
+
+    private void delete(Long productId) {
+        Map<String, Integer> terms = documents.remove(productId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<Long, Integer> products = postings.get(term);
+            products.remove(productId);
+            if (products.isEmpty()) {
+                // Plus aucun produit ne contient ce terme : il quitte le vocabulaire
+                postings.remove(term);
+                vocabulary.remove(term);
+                for (String gram : grams(term)) {
+                    Set<String> gramTerms = grams.get(gram);
+                    gramTerms.remove(term);
+                    if (gramTerms.isEmpty()) {
+                        grams.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    private Map<Long, Integer> newTerm(String term) {
+        vocabulary.add(term);
+        for (String gram : grams(term)) {
+            grams.computeIfAbsent(gram, g -> new HashSet<>()).add(term);
+        }
+        return new HashMap<>();
+    }
+}
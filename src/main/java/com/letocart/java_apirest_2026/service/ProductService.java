@@ -1,42 +1,191 @@
 package com.letocart.java_apirest_2026.service;
 
+import com.letocart.java_apirest_2026.dto.CursorPage;
+import com.letocart.java_apirest_2026.dto.ProductFilterView;
+import com.letocart.java_apirest_2026.dto.ProductRatingView;
+import com.letocart.java_apirest_2026.dto.ProductSuggestion;
+import com.letocart.java_apirest_2026.dto.ProductView;
 import com.letocart.java_apirest_2026.model.Product;
+import com.letocart.java_apirest_2026.repository.ProductRatingRepository;
 import com.letocart.java_apirest_2026.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 public class ProductService {
 
+    // Taille maximale du classement des produits les mieux notés
+    public static final int MAX_TOP_RATED = 100;
+
     private final ProductRepository productRepository;
+    private final ProductRatingRepository productRatingRepository;
+    private final InventoryEngine inventoryEngine;
+    private final ProductSearchIndex searchIndex;
+    private final ProductSuggestIndex suggestIndex;
+    private final ProductFilterIndex filterIndex;
+    private final ProductCache productCache;
+    private final ProductJsonCache productJsonCache;
+    private final ProductCatalogVersion catalogVersion;
 
     @Autowired
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository, ProductRatingRepository productRatingRepository,
+                          InventoryEngine inventoryEngine, ProductSearchIndex searchIndex,
+                          ProductSuggestIndex suggestIndex, ProductFilterIndex filterIndex,
+                          ProductCache productCache, ProductJsonCache productJsonCache,
+                          ProductCatalogVersion catalogVersion) {
         this.productRepository = productRepository;
+        this.productRatingRepository = productRatingRepository;
+        this.inventoryEngine = inventoryEngine;
+        this.searchIndex = searchIndex;
+        this.suggestIndex = suggestIndex;
+        this.filterIndex = filterIndex;
+        this.productCache = productCache;
+        this.productJsonCache = productJsonCache;
+        this.catalogVersion = catalogVersion;
     }
 
     public Product createProduct(Product product) {
-        return productRepository.save(product);
+        Product createdProduct = productRepository.save(product);
+        afterCommit(() -> reindex(createdProduct));
+        catalogVersion.changed();
+        return createdProduct;
+    }
+
+    /**
+     * Lu sur le primaire (pas de réplica) : l'ETag vient du compteur en mémoire, une page lue sur
+     * un réplica en retard resterait associée à un ETag plus récent qu'elle
+     */
+    public CursorPage<ProductView> getAllProducts(String after, int limit) {
+        return CursorPage.of(
+                productRepository.findViewsAfter(CursorPage.idAfter(after), CursorPage.lookahead(limit)),
+                limit, ProductView::productId);
     }
 
-    public List<Product> getAllProducts() {
-        return (List<Product>) productRepository.findAll();
+    /**
+     * ETag d'une page de GET /api/products, calculé sans lire la table product
+     * @throws IllegalArgumentException si le curseur est invalide
+     */
+    public String getAllProductsETag(String after, int limit) {
+        return "products-" + catalogVersion.current() + "-" + CursorPage.idAfter(after) + "-" + CursorPage.limit(limit).max();
     }
 
-    public Optional<Product> getProductById(Long id) {
-        return productRepository.findById(id);
+    /**
+     * Produit par identifiant, servi par le cache local (ProductCache)
+     */
+    public Optional<ProductView> getProductById(Long id) {
+        return productCache.get(id);
     }
 
-    public List<Product> searchProductsByName(String name) {
-        return productRepository.findByNameContainingIgnoreCase(name);
+    /**
+     * Recherche plein texte dans le nom et la description, par l'index en mémoire
+     * Le curseur encode le rang du dernier résultat de la page (et non un identifiant) :
+     * la pagination se fait dans l'index, la base ne lit que les produits de la page.
+     * @param query Mots recherchés (tous requis, casse et accents indifférents)
+     * @param after Curseur de la page précédente (null pour la première page)
+     * @param limit Taille de page
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ProductView> searchProducts(String query, String after, int limit) {
+        int offset = rankAfter(after);
+        int size = CursorPage.limit(limit).max();
+        List<Long> ids = searchIndex.search(query, offset, size + 1);
+        boolean hasNext = ids.size() > size;
+        List<Long> pageIds = hasNext ? ids.subList(0, size) : ids;
+        if (pageIds.isEmpty()) {
+            return new CursorPage<>(List.of(), null, false);
+        }
+
+        Map<Long, ProductView> views = new HashMap<>();
+        for (ProductView view : productRepository.findViewsByIds(pageIds)) {
+            views.put(view.productId(), view);
+        }
+        List<ProductView> items = new ArrayList<>(pageIds.size());
+        for (Long id : pageIds) {
+            ProductView view = views.get(id);
+            if (view != null) {
+                items.add(view);
+            }
+        }
+        String nextCursor = hasNext ? CursorPage.encodeCursor((long) offset + size) : null;
+        return new CursorPage<>(items, nextCursor, hasNext);
     }
 
-    public List<Product> getProductsInStock() {
-        return productRepository.findByStockQuantityGreaterThan(0);
+    @Transactional(readOnly = true)
+    public List<ProductView> getProductsInStock() {
+        return productRepository.findViewsInStock();
     }
 
+    /**
+     * Catalogue filtré par prix, disponibilité et note, servi par l'index en colonnes (sans requête SQL)
+     * Comme pour la recherche, le curseur encode le rang du dernier résultat de la page.
+     * @param sort id, price_asc, price_desc ou rating_desc
+     */
+    public CursorPage<ProductFilterView> filterProducts(ProductFilterIndex.Criteria criteria, String sort,
+                                                        String after, int limit) {
+        int offset = rankAfter(after);
+        int size = CursorPage.limit(limit).max();
+        List<ProductFilterView> rows = filterIndex.filter(criteria, ProductFilterIndex.Sort.parse(sort), offset, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<ProductFilterView> items = hasNext ? rows.subList(0, size) : rows;
+        return new CursorPage<>(items, hasNext ? CursorPage.encodeCursor((long) offset + size) : null, hasNext);
+    }
+
+    /**
+     * Saisie semi-automatique : produits les plus vendus dont le nom (ou un mot du nom) commence par le préfixe
+     * Servie par l'index en mémoire, sans requête SQL.
+     * @param k Nombre de suggestions (1 à ProductSuggestIndex.MAX_SUGGESTIONS)
+     */
+    public List<ProductSuggestion> suggest(String prefix, int k) {
+        if (k < 1 || k > ProductSuggestIndex.MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("k doit être compris entre 1 et " + ProductSuggestIndex.MAX_SUGGESTIONS);
+        }
+        return suggestIndex.suggest(prefix, k);
+    }
+
+    /**
+     * Rang décodé d'un curseur de résultats classés (0 pour la première page)
+     */
+    private static int rankAfter(String after) {
+        long position = CursorPage.idAfter(after);
+        if (position < 0 || position > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Curseur de pagination invalide : " + after);
+        }
+        return (int) position;
+    }
+
+    /**
+     * Note d'un produit, lue dans son agrégat (aucun parcours des avis)
+     */
+    @Transactional(readOnly = true)
+    public Optional<ProductRatingView> getRating(Long id) {
+        return productRatingRepository.findViewByProductId(id);
+    }
+
+    /**
+     * Produits les mieux notés : moyenne décroissante, puis nombre d'avis décroissant
+     * @param limit Nombre de produits (1 à MAX_TOP_RATED)
+     * @param minRatings Nombre d'avis minimal pour être classé (une seule note à 5 ne suffit pas toujours)
+     */
+    @Transactional(readOnly = true)
+    public List<ProductRatingView> getTopRated(int limit, int minRatings) {
+        if (limit < 1 || limit > MAX_TOP_RATED) {
+            throw new IllegalArgumentException("limit doit être compris entre 1 et " + MAX_TOP_RATED);
+        }
+        return productRatingRepository.findTopRated(Math.max(minRatings, 1), Limit.of(limit));
+    }
+
+    @Transactional
     public Product updateProduct(Long id, Product productDetails) throws Exception {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new Exception("Produit non trouvé avec l'ID: " + id));
@@ -46,13 +195,57 @@ public class ProductService {
         product.setPrice(productDetails.getPrice());
         product.setStockQuantity(productDetails.getStockQuantity());
 
-        return productRepository.save(product);
+        Product updatedProduct = productRepository.save(product);
+        productCache.evict(List.of(id));
+        productJsonCache.evict(List.of(id));
+        catalogVersion.changed();
+        afterCommit(() -> reindex(updatedProduct));
+        return updatedProduct;
     }
 
+    @Transactional(rollbackFor = Exception.class)
     public void deleteProduct(Long id) throws Exception {
         if (!productRepository.existsById(id)) {
             throw new Exception("Produit non trouvé avec l'ID: " + id);
         }
         productRepository.deleteById(id);
+        // Les avis du produit sont supprimés en cascade : son agrégat de notes aussi
+        productRatingRepository.deleteById(id);
+        productCache.evict(List.of(id));
+        productJsonCache.evict(List.of(id));
+        catalogVersion.changed();
+        afterCommit(() -> {
+            inventoryEngine.remove(id);
+            searchIndex.remove(id);
+            suggestIndex.remove(id);
+            filterIndex.remove(id);
+        });
+    }
+
+    /**
+     * Stock en mémoire et index de recherche, suggestion et filtres alignés sur le produit enregistré
+     */
+    private void reindex(Product product) {
+        inventoryEngine.resetStock(product.getProductId(), product.getStockQuantity());
+        searchIndex.index(product.getProductId(), product.getName(), product.getDescription());
+        suggestIndex.index(product.getProductId(), product.getName());
+        filterIndex.index(product);
+    }
+
+    /**
+     * Index en mémoire mis à jour seulement après le commit : une modification annulée (conflit de version,
+     * erreur SQL au flush) ne les désaligne pas de la base. Hors transaction : immédiatement.
+     */
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
     }
 }
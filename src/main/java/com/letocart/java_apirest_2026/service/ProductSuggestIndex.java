@@ -0,0 +1,443 @@
+package com.letocart.java_apirest_2026.service;
+
+import com.letocart.java_apirest_2026.dto.ProductSuggestion;
+import com.letocart.java_apirest_2026.event.OrderCreatedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Saisie semi-automatique des noms de produits, classée par nombre d'unités vendues
+ *
+ * Arbre préfixe (trie) sur les noms normalisés (minuscules, sans accents) : le nom complet
+ * et chacun de ses suffixes commençant à un mot y sont insérés, pour que "piston" suggère
+ * aussi "Cafetière à piston". Chaque nœud garde, déjà triés, ses MAX_SUGGESTIONS meilleurs
+ * produits : une suggestion est une descente de quelques nœuds et une copie, sans tri
+ * ni accès à la base.
+ *
+ * Les ventes viennent de OrdersDetails.quantity : chargées au démarrage, puis incrémentées
+ * après chaque commande validée (OrderCreatedEvent) en remontant le produit dans les
+ * classements des seuls nœuds de son nom. Les noms suivent ProductService : un produit retiré
+ * quitte les nœuds de son nom, les branches devenues vides sont coupées et seuls les nœuds
+ * de ses chemins sont reclassés.
+ * Les commandes supprimées ne sont décomptées qu'au prochain reload().
+ * Les noms et ventes reçus pendant un reload() sont rejoués sur le nouveau trie, comme
+ * dans ProductSearchIndex.
+ */
+@Component
+public class ProductSuggestIndex implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSuggestIndex.class);
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final String LOAD_PRODUCTS_SQL =
+            "SELECT p.product_id, p.name, COALESCE(SUM(d.quantity), 0) FROM product p "
+                    + "LEFT JOIN orders_details d ON d.product_id = p.product_id GROUP BY p.product_id, p.name";
+
+    // Classement : ventes décroissantes, puis nom, puis identifiant
+    private static final Comparator<Entry> RANKING = Comparator.<Entry>comparingLong(e -> -e.unitsSold)
+            .thenComparing(e -> e.key)
+            .thenComparing(e -> e.productId);
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    /**
+     * Produit indexé (modifié uniquement sous le verrou d'écriture)
+     */
+    private static final class Entry {
+        final Long productId;
+        final String name;
+        final String key;
+        long unitsSold;
+        boolean removed;
+        // Nœuds dont ce produit peut faire partie du classement (préfixes de ses suffixes)
+        Set<Node> nodes = Set.of();
+
+        Entry(Long productId, String name, long unitsSold) {
+            this.productId = productId;
+            this.name = name;
+            this.key = String.join(" ", ProductSearchIndex.tokenize(name));
+            this.unitsSold = unitsSold;
+        }
+    }
+
+    /**
+     * Nœud du trie : enfants en tableaux triés par caractère (recherche dichotomique)
+     */
+    private static final class Node {
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        // Meilleurs produits du sous-arbre, triés (au plus MAX_SUGGESTIONS)
+        Entry[] top = NO_ENTRIES;
+        // Produits dont un suffixe se termine sur ce nœud
+        List<Entry> ends = List.of();
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            Node created = new Node();
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            newKeys[at] = c;
+            newChildren[at] = created;
+            System.arraycopy(keys, at, newKeys, at + 1, keys.length - at);
+            System.arraycopy(children, at, newChildren, at + 1, children.length - at);
+            keys = newKeys;
+            children = newChildren;
+            return created;
+        }
+
+        void removeChild(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(keys, i + 1, newKeys, i, keys.length - i - 1);
+            System.arraycopy(children, i + 1, newChildren, i, children.length - i - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root = new Node();
+    private Map<Long, Entry> entries = new HashMap<>();
+    // Un seul reload() à la fois
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    // Modifications reçues pendant un reload(), à rejouer sur le nouveau trie (null hors reload)
+    private List<Runnable> changesDuringReload;
+
+    @Autowired
+    public ProductSuggestIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Chargement initial, une fois le schéma créé et avant l'ouverture du serveur HTTP
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    /**
+     * Reconstruit le trie et les ventes depuis les tables product et orders_details
+     *
+     * Les tables sont lues hors verrou ; les noms et ventes reçus à partir du début du rechargement
+     * sont rejoués sur le nouveau trie. Rejouer un nom déjà lu ne change rien ; une vente dont la
+     * commande a été validée juste avant la lecture mais notifiée juste après le début du
+     * rechargement est comptée deux fois. Ce décalage de quelques unités ne touche que le
+     * classement et disparaît au reload() suivant, alors qu'une vente perdue faussait durablement
+     * le classement.
+     */
+    public void reload() {
+        reloadLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                changesDuringReload = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            List<Entry> loaded = new ArrayList<>();
+            try {
+                jdbcTemplate.query(LOAD_PRODUCTS_SQL, rs -> {
+                    loaded.add(new Entry(rs.getLong(1), rs.getString(2), rs.getLong(3)));
+                });
+            } catch (RuntimeException e) {
+                stopRecording();
+                throw e;
+            }
+            lock.writeLock().lock();
+            try {
+                root = new Node();
+                entries = new HashMap<>();
+                loaded.forEach(this::add);
+                changesDuringReload.forEach(Runnable::run);
+                changesDuringReload = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Index de suggestion des produits : {} produits", loaded.size());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Suggestions pour un début de saisie
+     * @param prefix Début du nom ou d'un mot du nom (casse et accents indifférents)
+     * @param k Nombre de suggestions (au plus MAX_SUGGESTIONS)
+     * @return Produits les plus vendus correspondant au préfixe
+     */
+    public List<ProductSuggestion> suggest(String prefix, int k) {
+        String key = String.join(" ", ProductSearchIndex.tokenize(prefix));
+        if (key.isEmpty() || k <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            int size = Math.min(k, node.top.length);
+            List<ProductSuggestion> suggestions = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                Entry entry = node.top[i];
+                suggestions.add(new ProductSuggestion(entry.productId, entry.name, entry.unitsSold));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexe un produit créé ou renommé (ses ventes sont conservées)
+     */
+    public void index(Long productId, String name) {
+        apply(() -> {
+            Entry existing = entries.get(productId);
+            if (existing != null && existing.name.equals(name)) {
+                return;
+            }
+            long unitsSold = 0;
+            if (existing != null) {
+                unitsSold = existing.unitsSold;
+                delete(existing);
+            }
+            add(new Entry(productId, name, unitsSold));
+        });
+    }
+
+    /**
+     * Retire un produit supprimé
+     */
+    public void remove(Long productId) {
+        apply(() -> {
+            Entry existing = entries.get(productId);
+            if (existing != null) {
+                delete(existing);
+            }
+        });
+    }
+
+    /**
+     * Ventes d'une commande validée : chaque produit remonte dans les classements de ses nœuds
+     */
+    @TransactionalEventListener
+    public void onOrderCreated(OrderCreatedEvent event) {
+        apply(() -> event.quantitiesByProductId().forEach((productId, quantity) -> {
+            Entry entry = entries.get(productId);
+            if (entry != null && quantity > 0) {
+                entry.unitsSold += quantity;
+                for (Node node : entry.nodes) {
+                    offer(node, entry);
+                }
+            }
+        }));
+    }
+
+    /**
+     * Applique une modification sous le verrou d'écriture, et la mémorise pendant un reload()
+     */
+    private void apply(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (changesDuringReload != null) {
+                changesDuringReload.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void stopRecording() {
+        lock.writeLock().lock();
+        try {
+            changesDuringReload = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ---- Mises à jour (appelées sous le verrou d'écriture) ----
+
+    private void add(Entry entry) {
+        entries.put(entry.productId, entry);
+        if (entry.key.isEmpty()) {
+            return;
+        }
+        Set<Node> nodes = new LinkedHashSet<>();
+        // Nom complet, puis chaque suffixe commençant à un mot
+        int start = 0;
+        while (start >= 0) {
+            Node node = root;
+            for (int i = start; i < entry.key.length(); i++) {
+                node = node.childOrCreate(entry.key.charAt(i));
+                nodes.add(node);
+            }
+            if (!node.ends.contains(entry)) {
+                List<Entry> ends = new ArrayList<>(node.ends);
+                ends.add(entry);
+                node.ends = ends;
+            }
+            int space = entry.key.indexOf(' ', start);
+            start = space < 0 ? -1 : space + 1;
+        }
+        entry.nodes = nodes;
+        for (Node node : nodes) {
+            offer(node, entry);
+        }
+    }
+
+    private void delete(Entry entry) {
+        entries.remove(entry.productId);
+        entry.removed = true;
+        if (entry.key.isEmpty()) {
+            return;
+        }
+        // Chemins des suffixes : le produit quitte leur nœud terminal, les branches devenues vides sont coupées
+        Map<Node, Integer> depths = new HashMap<>();
+        int start = 0;
+        while (start >= 0) {
+            Node[] path = new Node[entry.key.length() - start + 1];
+            path[0] = root;
+            for (int i = start; i < entry.key.length() && path[i - start] != null; i++) {
+                path[i - start + 1] = path[i - start].child(entry.key.charAt(i));
+            }
+            Node end = path[path.length - 1];
+            if (end != null && end.ends.contains(entry)) {
+                List<Entry> ends = new ArrayList<>(end.ends);
+                ends.remove(entry);
+                end.ends = ends;
+            }
+            for (int d = path.length - 1; d > 0; d--) {
+                Node node = path[d];
+                if (node == null) {
+                    continue;
+                }
+                if (node.children.length == 0 && node.ends.isEmpty()) {
+                    path[d - 1].removeChild(entry.key.charAt(start + d - 1));
+                } else {
+                    depths.put(node, d);
+                }
+            }
+            int space = entry.key.indexOf(' ', start);
+            start = space < 0 ? -1 : space + 1;
+        }
+        // Un nœud qui classait ce produit reprend le suivant de son sous-arbre : du plus profond
+        // au plus proche de la racine, chaque nœud fusionne le classement déjà recalculé de ses enfants
+        depths.entrySet().stream()
+                .filter(e -> Arrays.asList(e.getKey().top).contains(entry))
+                .sorted(Map.Entry.<Node, Integer>comparingByValue().reversed())
+                .forEach(e -> recompute(e.getKey()));
+    }
+
+    /**
+     * Place un produit dans le classement d'un nœud (ventes en hausse ou nouveau produit)
+     */
+    private static void offer(Node node, Entry entry) {
+        Entry[] top = node.top;
+        int current = Arrays.asList(top).indexOf(entry);
+        if (current < 0) {
+            if (top.length == MAX_SUGGESTIONS && RANKING.compare(entry, top[top.length - 1]) >= 0) {
+                return;
+            }
+            top = Arrays.copyOf(top, Math.min(top.length + 1, MAX_SUGGESTIONS));
+            current = top.length - 1;
+        } else {
+            top = top.clone();
+        }
+        // Insertion : le produit remonte tant qu'il devance son prédécesseur
+        while (current > 0 && RANKING.compare(entry, top[current - 1]) < 0) {
+            top[current] = top[current - 1];
+            current--;
+        }
+        top[current] = entry;
+        node.top = top;
+    }
+
+    /**
+     * Recalcule le classement d'un nœud depuis ses propres produits et le classement de ses enfants
+     */
+    private static void recompute(Node node) {
+        Set<Entry> candidates = new HashSet<>();
+        for (Entry entry : node.ends) {
+            if (!entry.removed) {
+                candidates.add(entry);
+            }
+        }
+        for (Node child : node.children) {
+            for (Entry entry : child.top) {
+                if (!entry.removed) {
+                    candidates.add(entry);
+                }
+            }
+        }
+        node.top = candidates.stream().sorted(RANKING).limit(MAX_SUGGESTIONS).toArray(Entry[]::new);
+    }
+
+    /**
+     * Nombre de nœuds du trie (racine comprise)
+     */
+    int nodeCount() {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            Deque<Node> pending = new ArrayDeque<>();
+            pending.push(root);
+            while (!pending.isEmpty()) {
+                Node current = pending.pop();
+                count++;
+                for (Node child : current.children) {
+                    pending.push(child);
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
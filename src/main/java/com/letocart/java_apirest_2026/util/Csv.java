@@ -0,0 +1,63 @@
+package com.letocart.java_apirest_2026.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lecture / écriture minimale de lignes CSV (RFC 4180, séparateur virgule)
+ * Les champs contenant une virgule ou un guillemet sont entourés de guillemets.
+ * Les retours à la ligne à l'intérieur d'un champ ne sont pas supportés.
+ */
+public final class Csv {
+
+    private Csv() {}
+
+    /**
+     * Échappe une valeur pour l'écrire dans une ligne CSV
+     * @return Valeur telle quelle, entre guillemets si nécessaire, ou "" si null
+     */
+    public static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Découpe une ligne CSV en champs
+     * @throws IllegalArgumentException si un guillemet n'est pas refermé
+     */
+    public static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c != '\r') {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Ligne CSV invalide : guillemet non refermé");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
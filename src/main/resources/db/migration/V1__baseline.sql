@@ -0,0 +1,69 @@
+-- Schéma de référence : tables telles que les générait Hibernate (ddl-auto=update) avant l'introduction
+-- de Flyway. Une base existante est marquée à cette version sans rejouer le script
+-- (spring.flyway.baseline-on-migrate) : toute évolution du schéma va dans une migration suivante.
+
+CREATE TABLE account (
+    account_id BIGINT NOT NULL AUTO_INCREMENT,
+    address_id BIGINT,
+    email VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    PRIMARY KEY (account_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE address (
+    address_id BIGINT NOT NULL AUTO_INCREMENT,
+    postal_code VARCHAR(10) NOT NULL,
+    city VARCHAR(255) NOT NULL,
+    country VARCHAR(255) NOT NULL,
+    street VARCHAR(255) NOT NULL,
+    PRIMARY KEY (address_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE notice (
+    rating INTEGER NOT NULL,
+    account_id BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    notice_id BIGINT NOT NULL AUTO_INCREMENT,
+    product_id BIGINT NOT NULL,
+    comment VARCHAR(2000),
+    PRIMARY KEY (notice_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE orders (
+    total_amount DECIMAL(10,2) NOT NULL,
+    account_id BIGINT NOT NULL,
+    order_date DATETIME(6) NOT NULL,
+    orders_id BIGINT NOT NULL AUTO_INCREMENT,
+    status VARCHAR(255) NOT NULL,
+    PRIMARY KEY (orders_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE orders_details (
+    quantity INTEGER NOT NULL,
+    subtotal DECIMAL(10,2) NOT NULL,
+    unit_price DECIMAL(10,2) NOT NULL,
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    orders_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE product (
+    price DECIMAL(10,2) NOT NULL,
+    stock_quantity INTEGER NOT NULL,
+    product_id BIGINT NOT NULL AUTO_INCREMENT,
+    description VARCHAR(1000),
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (product_id)
+) ENGINE=InnoDB;
+
+ALTER TABLE account ADD CONSTRAINT UKq4mt85fqye0pwgamg8vlw8mrb UNIQUE (address_id);
+ALTER TABLE account ADD CONSTRAINT UKq0uja26qgu1atulenwup9rxyr UNIQUE (email);
+ALTER TABLE account ADD CONSTRAINT FK9lna4d7ow9qbs27m5psafys58 FOREIGN KEY (address_id) REFERENCES address (address_id);
+ALTER TABLE notice ADD CONSTRAINT FK6dmg4qb0732lwc6fxxli20ice FOREIGN KEY (account_id) REFERENCES account (account_id);
+ALTER TABLE notice ADD CONSTRAINT FKprdve0edic7ac64re25smdj6t FOREIGN KEY (product_id) REFERENCES product (product_id);
+ALTER TABLE orders ADD CONSTRAINT FK3c7gbsfawn58r27cf5b2km72f FOREIGN KEY (account_id) REFERENCES account (account_id);
+ALTER TABLE orders_details ADD CONSTRAINT FKdigmarmdh97eoqop1agvaea0j FOREIGN KEY (orders_id) REFERENCES orders (orders_id);
+ALTER TABLE orders_details ADD CONSTRAINT FKpnhck06jl5as1kxb6fk2jtthq FOREIGN KEY (product_id) REFERENCES product (product_id);
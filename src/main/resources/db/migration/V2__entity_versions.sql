@@ -0,0 +1,4 @@
+-- Version des lignes (verrouillage optimiste @Version, ETag) : les lignes existantes partent de 0
+ALTER TABLE product ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE notice ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
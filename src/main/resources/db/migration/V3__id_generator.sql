@@ -0,0 +1,12 @@
+-- Identifiants de account et address réservés par blocs de 50 (@TableGenerator, optimiseur pooled)
+-- next_val est la borne haute du premier bloc [next_val - 49, next_val] : il démarre après le plus
+-- grand identifiant déjà attribué par AUTO_INCREMENT. Les colonnes gardent AUTO_INCREMENT (inutilisé :
+-- Hibernate fournit l'identifiant), ce qui évite de modifier des clés référencées par des clés étrangères.
+CREATE TABLE id_generator (
+    next_val BIGINT,
+    sequence_name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (sequence_name)
+) ENGINE=InnoDB;
+
+INSERT INTO id_generator (sequence_name, next_val) SELECT 'account', COALESCE(MAX(account_id), 0) + 50 FROM account;
+INSERT INTO id_generator (sequence_name, next_val) SELECT 'address', COALESCE(MAX(address_id), 0) + 50 FROM address;
@@ -0,0 +1,25 @@
+-- Agrégat des notes d'un produit, tenu à jour avec les avis (ProductRatingUpdateRepository)
+CREATE TABLE product_rating (
+    average_rating DECIMAL(5,4) NOT NULL,
+    count_1 INTEGER NOT NULL,
+    count_2 INTEGER NOT NULL,
+    count_3 INTEGER NOT NULL,
+    count_4 INTEGER NOT NULL,
+    count_5 INTEGER NOT NULL,
+    rating_count INTEGER NOT NULL,
+    product_id BIGINT NOT NULL,
+    rating_sum BIGINT NOT NULL,
+    PRIMARY KEY (product_id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_product_rating_average ON product_rating (average_rating, rating_count);
+
+-- Agrégats des avis déjà présents
+INSERT INTO product_rating (product_id, rating_count, rating_sum,
+                            count_1, count_2, count_3, count_4, count_5, average_rating)
+SELECT product_id, COUNT(*), SUM(rating),
+       SUM(CASE WHEN rating = 1 THEN 1 ELSE 0 END), SUM(CASE WHEN rating = 2 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN rating = 3 THEN 1 ELSE 0 END), SUM(CASE WHEN rating = 4 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN rating = 5 THEN 1 ELSE 0 END), CAST(SUM(rating) AS DECIMAL(12, 4)) / COUNT(*)
+FROM notice
+GROUP BY product_id;
@@ -0,0 +1,6 @@
+-- Battement de réplication écrit sur le primaire, relu sur les réplicas (ReplicaLagMonitor)
+CREATE TABLE replication_heartbeat (
+    id INT NOT NULL,
+    beat_millis BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
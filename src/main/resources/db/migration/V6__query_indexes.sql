@@ -0,0 +1,23 @@
+-- Index des chemins d'accès des repositories (vérifiés par RepositoryIndexUsageTest)
+-- InnoDB ajoute la clé primaire à chaque index secondaire : (account_id, order_date) est trié par
+-- (account_id, order_date, orders_id), ce qui couvre ORDER BY order_date, orders_id sans tri.
+-- Ces index remplacent ceux créés implicitement pour les clés étrangères sur la même colonne.
+
+-- Commandes d'un compte, par date (OrdersRepository.findViewsByAccount)
+CREATE INDEX idx_orders_account_date ON orders (account_id, order_date);
+
+-- Commandes par statut, par date (OrdersRepository.findByStatus, changements de statut en masse)
+CREATE INDEX idx_orders_status_date ON orders (status, order_date);
+
+-- Lignes de commandes (OrdersDetailsRepository.findViewsByOrders)
+CREATE INDEX idx_orders_details_orders ON orders_details (orders_id);
+
+-- Avis d'un produit par date ; version incluse : l'empreinte ETag (count, sum(version), max(notice_id))
+-- est calculée sur l'index seul, sans lire les lignes (NoticeRepository.findVersionStampByProduct)
+CREATE INDEX idx_notice_product_date ON notice (product_id, created_at, version);
+
+-- Avis d'un compte, par date (NoticeRepository.findViewsByAccount, findProductIdsByAccount)
+CREATE INDEX idx_notice_account_date ON notice (account_id, created_at, product_id);
+
+-- Produits en stock (ProductRepository.findViewsInStock)
+CREATE INDEX idx_product_stock ON product (stock_quantity);
@@ -0,0 +1,15 @@
+-- Réponses des créations de commande rejouables (en-tête Idempotency-Key), conservées jusqu'à expires_at
+-- La clé est propre à un compte : deux clients peuvent générer la même valeur sans se gêner
+CREATE TABLE idempotency_key (
+    account_id BIGINT NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash CHAR(64) NOT NULL,
+    status_code INTEGER NOT NULL,
+    response_body MEDIUMTEXT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (account_id, idempotency_key)
+) ENGINE=InnoDB;
+
+-- Purge des clés expirées par lots
+CREATE INDEX idx_idempotency_key_expires ON idempotency_key (expires_at);
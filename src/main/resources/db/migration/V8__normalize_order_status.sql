@@ -0,0 +1,6 @@
+-- Statuts saisis librement avant OrderStatus (casse, espaces) : ramenés aux noms de l'énumération,
+-- seuls reconnus par les changements de statut. Comparaison binaire : la collation MySQL ignore
+-- la casse et les espaces de fin. La version change avec le statut (ETag de la commande)
+UPDATE orders
+SET status = UPPER(TRIM(status)), version = version + 1
+WHERE CAST(status AS BINARY(1020)) <> CAST(UPPER(TRIM(status)) AS BINARY(1020));
@@ -1,9 +1,9 @@
 package com.letocart.java_apirest_2026;
 
+import com.letocart.java_apirest_2026.support.IntegrationTest;
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@IntegrationTest
 class JavaApirest2026ApplicationTests {
 
     @Test
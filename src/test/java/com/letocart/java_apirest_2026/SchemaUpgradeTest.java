@@ -0,0 +1,94 @@
+package com.letocart.java_apirest_2026;
+
+import com.letocart.java_apirest_2026.model.Account;
+import com.letocart.java_apirest_2026.model.Product;
+import com.letocart.java_apirest_2026.repository.AccountRepository;
+import com.letocart.java_apirest_2026.service.OrdersService;
+import com.letocart.java_apirest_2026.service.ProductService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mise à niveau d'une base existante : schéma d'avant Flyway (ddl-auto=update) et données déjà présentes,
+ * marqué à la version 1 (baseline-on-migrate), puis migrations suivantes appliquées au démarrage
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + SchemaUpgradeTest.URL,
+        "spring.flyway.baseline-on-migrate=true",
+        "spring.flyway.baseline-version=1"})
+class SchemaUpgradeTest {
+
+    static final String URL = "jdbc:h2:mem:schema_upgrade_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrdersService ordersService;
+
+    /**
+     * Base telle que la laissait l'application avant Flyway, avant le démarrage du contexte
+     */
+    @BeforeAll
+    static void createLegacyDatabase() throws Exception {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/schema-before-flyway.sql"));
+            statement.execute("INSERT INTO address (street, postal_code, city, country) "
+                    + "VALUES ('1 rue de la Paix', '75002', 'Paris', 'France')");
+            for (int i = 1; i <= 7; i++) {
+                statement.execute("INSERT INTO account (first_name, last_name, email, password, address_id) "
+                        + "VALUES ('Ancien', 'Client', 'legacy" + i + "@example.com', 'secret', "
+                        + (i == 1 ? "1" : "NULL") + ")");
+            }
+            statement.execute("INSERT INTO product (name, description, price, stock_quantity) "
+                    + "VALUES ('Théière', 'fonte', 35.00, 12)");
+            statement.execute("INSERT INTO orders (account_id, order_date, status, total_amount) "
+                    + "VALUES (1, CURRENT_TIMESTAMP, 'PENDING', 35.00), (1, CURRENT_TIMESTAMP, ' confirmed', 35.00)");
+            statement.execute("INSERT INTO notice (account_id, product_id, rating, comment, created_at) "
+                    + "VALUES (1, 1, 5, 'Parfaite', CURRENT_TIMESTAMP), (2, 1, 2, 'Fuit', CURRENT_TIMESTAMP)");
+        }
+    }
+
+    @Test
+    void existingDatabaseIsUpgradedInPlace() throws Exception {
+        // Version 1 marquée sans être rejouée, les suivantes appliquées
+        List<String> applied = jdbcTemplate.queryForList("SELECT \"version\" || ':' || \"type\" "
+                + "FROM \"flyway_schema_history\" WHERE \"version\" IS NOT NULL ORDER BY \"installed_rank\"", String.class);
+        assertThat(applied).startsWith("1:BASELINE", "2:SQL", "3:SQL");
+
+        // Identifiants réservés après ceux attribués par AUTO_INCREMENT
+        Account account = accountRepository.save(new Account("Nouveau", "Client", "upgrade@example.com", "secret"));
+        assertThat(account.getAccountId()).isGreaterThan(7L);
+
+        // Agrégat des avis existants, version des lignes existantes
+        assertThat(productService.getRating(1L).orElseThrow().ratingCount()).isEqualTo(2);
+        assertThat(productService.getRating(1L).orElseThrow().averageRating()).isEqualByComparingTo("3.5");
+        Product update = new Product("Théière", "fonte émaillée", new BigDecimal("39.00"), 12);
+        assertThat(productService.updateProduct(1L, update).getVersion()).isEqualTo(1L);
+
+        // Statuts saisis librement autrefois : normalisés, de nouveau modifiables
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM orders ORDER BY orders_id", String.class))
+                .containsExactly("PENDING", "CONFIRMED");
+        assertThat(ordersService.updateOrderStatus(2L, "SHIPPED").status()).isEqualTo("SHIPPED");
+    }
+}
@@ -0,0 +1,157 @@
+package com.letocart.java_apirest_2026.application.usecase;
+
+import com.letocart.java_apirest_2026.application.port.in.ImportAccountsUseCase;
+import com.letocart.java_apirest_2026.dto.AccountImportReport;
+import com.letocart.java_apirest_2026.dto.AccountImportReport.RowResult;
+import com.letocart.java_apirest_2026.dto.AccountImportReport.Status;
+import com.letocart.java_apirest_2026.infrastructure.adapter.in.file.AccountImportReader;
+import com.letocart.java_apirest_2026.model.Account;
+import com.letocart.java_apirest_2026.repository.AccountRepository;
+import com.letocart.java_apirest_2026.support.IntegrationTest;
+import com.letocart.java_apirest_2026.util.Csv;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Import de comptes en masse contre un géocodeur BAN local (bouchon du POST /search/csv/)
+ * Le bouchon renvoie un score de 0.9, ou 0.1 pour les adresses situées à "Nowhere".
+ */
+@IntegrationTest
+class AccountImportUseCaseTest {
+
+    private static final String HEADER = "firstName,lastName,email,password,street,postalCode,city,country";
+
+    private static final AtomicInteger batchCalls = new AtomicInteger();
+    private static final HttpServer banStub = startBanStub();
+
+    @DynamicPropertySource
+    static void banProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.address-validation.batch-url",
+                () -> "http://127.0.0.1:" + banStub.getAddress().getPort() + "/search/csv/");
+    }
+
+    @AfterAll
+    static void stopBanStub() {
+        banStub.stop(0);
+    }
+
+    @Autowired
+    private ImportAccountsUseCase importAccountsUseCase;
+
+    @Autowired
+    private AccountImportReader accountImportReader;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void importsValidRowsInChunksAndReportsEveryRow() {
+        accountRepository.save(new Account("Déjà", "Inscrit", "existing@example.com", "secret"));
+
+        StringBuilder csv = new StringBuilder(HEADER).append('\n');
+        int rows = AccountImportUseCaseImpl.CHUNK_SIZE + 100;
+        for (int i = 0; i < rows; i++) {
+            csv.append("Prénom").append(i).append(",Nom,user").append(i).append("@example.com,pwd,")
+                    .append(i).append(" rue de la Paix,75002,Paris,France\n");
+        }
+        csv.append("Dupont,Jean,Existing@Example.COM,pwd,1 rue de la Paix,75002,Paris,France\n")   // email existant (casse)
+                .append("Dupont,Jean,USER1@example.com,pwd,,,,\n")                               // doublon dans le fichier
+                .append("Dupont,Jean,lost@example.com,pwd,1 rue Inconnue,00000,Nowhere,France\n") // adresse invalide
+                .append("Dupont,Jean,nopassword@example.com,,,,,\n")                             // champ manquant
+                .append("\"Dupont,Jean,broken@example.com,pwd\n")                                // ligne illisible
+                .append("Sans,Adresse,noaddress@example.com,pwd,,,,\n");
+
+        batchCalls.set(0);
+        AccountImportReport report = importCsv(csv.toString());
+
+        assertThat(report.getTotal()).isEqualTo(rows + 6);
+        assertThat(report.getCreated()).isEqualTo(rows + 1);
+        assertThat(report.getRejected()).isEqualTo(5);
+        // Un seul appel de géocodage par lot
+        assertThat(batchCalls.get()).isEqualTo(2);
+
+        Map<String, RowResult> byEmail = report.getResults().stream()
+                .filter(r -> r.email() != null && r.status() == Status.REJECTED)
+                .collect(Collectors.toMap(RowResult::email, Function.identity()));
+        assertThat(byEmail.get("Existing@Example.COM").message()).contains("existe déjà");
+        assertThat(byEmail.get("USER1@example.com").message()).contains("double");
+        assertThat(byEmail.get("lost@example.com").message()).contains("n'est pas valide");
+        assertThat(byEmail.get("nopassword@example.com").message()).contains("password");
+        assertThat(report.getResults()).filteredOn(r -> r.email() == null)
+                .singleElement().satisfies(r -> assertThat(r.line()).isEqualTo(rows + 6));
+
+        RowResult first = report.getResults().get(0);
+        assertThat(first.status()).isEqualTo(Status.CREATED);
+        assertThat(first.line()).isEqualTo(2);
+        Account saved = accountRepository.findById(first.accountId()).orElseThrow();
+        assertThat(saved.getEmail()).isEqualTo("user0@example.com");
+        assertThat(accountRepository.findByEmail("noaddress@example.com")).isPresent();
+
+        // Les adresses déjà validées sont servies par le cache : plus aucun appel à la BAN
+        batchCalls.set(0);
+        AccountImportReport second = importCsv(HEADER + "\nMarie,Curie,marie@example.com,pwd,3 rue de la Paix,75002,Paris,France\n");
+        assertThat(second.getCreated()).isEqualTo(1);
+        assertThat(batchCalls.get()).isZero();
+    }
+
+    private AccountImportReport importCsv(String csv) {
+        return importAccountsUseCase.importAccounts(accountImportReader.read(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), MediaType.parseMediaType("text/csv")));
+    }
+
+    /**
+     * Bouchon du géocodage par lot : relit la partie "data" du formulaire multipart
+     * et renvoie chaque ligne enrichie de la colonne result_score
+     */
+    private static HttpServer startBanStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/search/csv/", exchange -> {
+                batchCalls.incrementAndGet();
+                String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+                String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+                String boundary = "--" + contentType.substring(contentType.indexOf("boundary=") + 9);
+                String dataPart = body.substring(body.indexOf("filename=\"addresses.csv\""));
+                String csv = dataPart.substring(dataPart.indexOf("\r\n\r\n") + 4, dataPart.indexOf("\r\n" + boundary));
+
+                StringBuilder response = new StringBuilder();
+                List<String> lines = csv.lines().toList();
+                response.append(lines.get(0)).append(",result_score\n");
+                for (String line : lines.subList(1, lines.size())) {
+                    String city = Csv.parseLine(line).get(3);
+                    response.append(line).append(',').append(city.equals("Nowhere") ? "0.1" : "0.9").append('\n');
+                }
+
+                byte[] bytes = response.toString().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "text/csv; charset=utf-8");
+                exchange.sendResponseHeaders(200, bytes.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.letocart.java_apirest_2026.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.letocart.java_apirest_2026.infrastructure.adapter.out.external.AddressValidationAdapter;
+import com.letocart.java_apirest_2026.model.Address;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appels de validation d'adresse contre un serveur BAN local (bouchon)
+ *
+ * - sequentialBlocking : N validations l'une après l'autre (ancien comportement, un thread bloqué par appel)
+ * - concurrentAsync : N validations lancées en parallèle via sendAsync puis attendues ensemble
+ *
+ * Le bouchon ajoute une latence fixe (latencyMs) pour simuler l'API distante.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AddressValidationBenchmark {
+
+    private static final byte[] BAN_RESPONSE = ("{\"type\":\"FeatureCollection\",\"features\":[{\"properties\":"
+            + "{\"label\":\"8 Boulevard du Port 80000 Amiens\",\"score\":0.97,\"postcode\":\"80000\",\"city\":\"Amiens\"}}]}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Param({"20"})
+    public int latencyMs;
+
+    @Param({"16"})
+    public int calls;
+
+    private HttpServer stub;
+    private AddressValidationAdapter adapter;
+    private Address address;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.setExecutor(Executors.newFixedThreadPool(64));
+        stub.createContext("/search", exchange -> {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BAN_RESPONSE.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(BAN_RESPONSE);
+            }
+        });
+        stub.start();
+
+        String baseUrl = "http://127.0.0.1:" + stub.getAddress().getPort() + "/search";
+        adapter = new AddressValidationAdapter(new ObjectMapper(), baseUrl,
+                Duration.ofSeconds(2), Duration.ofSeconds(3), 16, 256, baseUrl + "/csv/", Duration.ofSeconds(10),
+                new SimpleMeterRegistry());
+        address = new Address("8 Boulevard du Port", "Amiens", "80000", "France");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        adapter.shutdown();
+        stub.stop(0);
+    }
+
+    @Benchmark
+    public int sequentialBlocking() {
+        int valid = 0;
+        for (int i = 0; i < calls; i++) {
+            if (adapter.validateAddress(address)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int concurrentAsync() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[calls];
+        for (int i = 0; i < calls; i++) {
+            futures[i] = adapter.validateAddressAsync(address);
+        }
+        CompletableFuture.allOf(futures).join();
+        return futures.length;
+    }
+}
@@ -0,0 +1,67 @@
+package com.letocart.java_apirest_2026.benchmark;
+
+import com.letocart.java_apirest_2026.security.TokenAuthentication;
+import com.letocart.java_apirest_2026.security.TokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de l'authentification d'une requête, sur un thread :
+ *
+ * - basicBcrypt : HTTP Basic, vérification BCrypt du mot de passe à chaque requête (avant)
+ * - bearerToken : jeton émis par POST /api/auth/token, vérification HMAC-SHA256 (après)
+ *
+ * Le débit d'authentification d'un cœur est l'inverse de ces coûts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationBenchmark {
+
+    private static final String PASSWORD = "userpassword";
+
+    private BCryptPasswordEncoder passwordEncoder;
+    private String passwordHash;
+    private TokenService tokenService;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Même encodeur que SecurityConfig (coût par défaut : 10)
+        passwordEncoder = new BCryptPasswordEncoder();
+        passwordHash = passwordEncoder.encode(PASSWORD);
+
+        tokenService = new TokenService(Base64.getEncoder().encodeToString(new byte[32]), Duration.ofMinutes(15));
+        token = tokenService.issue(UsernamePasswordAuthenticationToken.authenticated(
+                "user", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    @Benchmark
+    public boolean basicBcrypt() {
+        return passwordEncoder.matches(PASSWORD, passwordHash);
+    }
+
+    @Benchmark
+    public TokenAuthentication bearerToken() {
+        return tokenService.verify(token);
+    }
+}
@@ -0,0 +1,95 @@
+package com.letocart.java_apirest_2026.benchmark;
+
+import com.letocart.java_apirest_2026.repository.ProductStockRepositoryImpl;
+import com.letocart.java_apirest_2026.service.InventoryEngine;
+import com.letocart.java_apirest_2026.service.ProductCache;
+import com.letocart.java_apirest_2026.service.ProductCatalogVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Réservation de stock sur un produit très demandé (vente flash) :
+ * UPDATE conditionnel en base (un verrou de ligne par réservation)
+ * contre moteur d'inventaire en mémoire avec écriture différée.
+ *
+ * La base est un H2 en mémoire : le chemin base de données est donc
+ * favorisé par rapport à MySQL (pas de réseau ni de fsync).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class InventoryBenchmark {
+
+    private static final long HOT_PRODUCT_ID = 1L;
+    // Stock suffisant pour ne jamais être épuisé pendant la mesure
+    private static final int INITIAL_STOCK = Integer.MAX_VALUE;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private ProductStockRepositoryImpl stockRepository;
+    private InventoryEngine inventoryEngine;
+    private SortedMap<Long, Integer> basket;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:inventory_bench;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS product");
+        jdbcTemplate.execute("CREATE TABLE product (product_id BIGINT PRIMARY KEY, stock_quantity INT NOT NULL, version BIGINT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO product VALUES (?, ?, 0)", HOT_PRODUCT_ID, INITIAL_STOCK);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        stockRepository = new ProductStockRepositoryImpl(jdbcTemplate);
+        // Cache des produits jamais lu ici : seule l'invalidation de l'écriture différée l'utilise
+        ProductCache productCache = new ProductCache(null, 10_000, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        inventoryEngine = new InventoryEngine(jdbcTemplate, transactionManager, new ProductCatalogVersion(),
+                productCache, true);
+        inventoryEngine.reload();
+
+        basket = new TreeMap<>();
+        basket.put(HOT_PRODUCT_ID, 1);
+    }
+
+    @TearDown(Level.Iteration)
+    public void flush() {
+        inventoryEngine.flush();
+    }
+
+    @Benchmark
+    public List<Long> databaseConditionalUpdate() {
+        return transactionTemplate.execute(status -> stockRepository.decrementStock(basket));
+    }
+
+    @Benchmark
+    public InventoryEngine.Reservation inMemoryReservation() {
+        return inventoryEngine.reserve(basket);
+    }
+}
@@ -0,0 +1,126 @@
+package com.letocart.java_apirest_2026.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.letocart.java_apirest_2026.dto.AccountView;
+import com.letocart.java_apirest_2026.dto.AddressValidationResponse;
+import com.letocart.java_apirest_2026.dto.OrderView;
+import com.letocart.java_apirest_2026.dto.ProductView;
+import com.letocart.java_apirest_2026.model.Account;
+import com.letocart.java_apirest_2026.model.Address;
+import com.letocart.java_apirest_2026.model.Orders;
+import com.letocart.java_apirest_2026.model.OrdersDetails;
+import com.letocart.java_apirest_2026.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation JSON des vues renvoyées par l'API (dto.*View) et lecture des réponses BAN
+ *
+ * L'ObjectMapper est construit comme celui de Spring Boot (Jackson2ObjectMapperBuilder).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    private static final String BAN_RESPONSE = "{\"type\":\"FeatureCollection\",\"version\":\"draft\",\"features\":[{"
+            + "\"type\":\"Feature\",\"geometry\":{\"type\":\"Point\",\"coordinates\":[2.290084,49.897443]},"
+            + "\"properties\":{\"label\":\"8 Boulevard du Port 80000 Amiens\",\"score\":0.9748,\"housenumber\":\"8\","
+            + "\"id\":\"80021_6590_00008\",\"name\":\"8 Boulevard du Port\",\"postcode\":\"80000\",\"citycode\":\"80021\","
+            + "\"x\":648952.58,\"y\":6977867.14,\"city\":\"Amiens\",\"context\":\"80, Somme, Hauts-de-France\","
+            + "\"type\":\"housenumber\",\"importance\":0.6702,\"street\":\"Boulevard du Port\"}}],"
+            + "\"attribution\":\"BAN\",\"licence\":\"ETALAB-2.0\",\"query\":\"8 bd du port 80000 amiens\",\"limit\":1}";
+
+    private ObjectMapper objectMapper;
+    private ObjectReader banReader;
+    private byte[] banResponseBytes;
+    private ProductView product;
+    private AccountView account;
+    private OrderView order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        banReader = objectMapper.readerFor(AddressValidationResponse.class);
+        banResponseBytes = BAN_RESPONSE.getBytes(StandardCharsets.UTF_8);
+
+        Product keyboard = new Product("Clavier mécanique", "Switchs rouges, rétroéclairage RGB", new BigDecimal("89.90"), 42);
+        keyboard.setProductId(1L);
+        product = ProductView.from(keyboard);
+
+        Account customer = new Account("Jean", "Dupont", "jean.dupont@example.com", "password123");
+        customer.setAccountId(1L);
+        Address address = new Address("8 Boulevard du Port", "Amiens", "80000", "France");
+        address.setAddressId(1L);
+        address.setAccount(customer);
+        customer.setAddress(address);
+        account = AccountView.from(customer);
+
+        Orders orders = new Orders(customer, BigDecimal.ZERO);
+        orders.setOrdersId(1L);
+        List<OrdersDetails> details = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < 5; i++) {
+            Product line = new Product("Produit " + i, "Description du produit " + i, new BigDecimal("12.50"), 100);
+            line.setProductId(10L + i);
+            OrdersDetails detail = new OrdersDetails(orders, line, i + 1, line.getPrice());
+            detail.setId(100L + i);
+            details.add(detail);
+            total = total.add(detail.getSubtotal());
+        }
+        orders.setOrdersDetails(details);
+        orders.setTotalAmount(total);
+        order = OrderView.from(orders);
+    }
+
+    @Benchmark
+    public byte[] serializeProduct() throws Exception {
+        return objectMapper.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public byte[] serializeAccount() throws Exception {
+        return objectMapper.writeValueAsBytes(account);
+    }
+
+    @Benchmark
+    public byte[] serializeOrder() throws Exception {
+        return objectMapper.writeValueAsBytes(order);
+    }
+
+    /**
+     * Lecture d'une réponse BAN comme le fait AddressValidationAdapter : ObjectReader partagé, octets bruts
+     */
+    @Benchmark
+    public AddressValidationResponse deserializeBanResponse() throws Exception {
+        return banReader.readValue(banResponseBytes);
+    }
+
+    /**
+     * Lecture d'une réponse BAN depuis une String (décodage UTF-8 puis analyse), pour comparaison
+     */
+    @Benchmark
+    public AddressValidationResponse deserializeBanResponseFromString() throws Exception {
+        return objectMapper.readValue(new String(banResponseBytes, StandardCharsets.UTF_8), AddressValidationResponse.class);
+    }
+}
@@ -0,0 +1,68 @@
+package com.letocart.java_apirest_2026.benchmark;
+
+import com.letocart.java_apirest_2026.model.Orders;
+import com.letocart.java_apirest_2026.model.OrdersDetails;
+import com.letocart.java_apirest_2026.model.Product;
+import com.letocart.java_apirest_2026.service.OrderPricing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calcul du prix d'une commande (OrdersService.createOrder) : sous-totaux et total en BigDecimal,
+ * pour des paniers de taille croissante. Les quantités vont de 1 à 12 (au-delà de 10, pas de
+ * BigDecimal en cache).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderPricingBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int lines;
+
+    private Orders order;
+    private List<OrdersDetails> basket;
+    private Map<Long, BigDecimal> pricesById;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        order = new Orders();
+        basket = new ArrayList<>(lines);
+        pricesById = new HashMap<>();
+        for (int i = 0; i < lines; i++) {
+            Product product = new Product("Produit " + i, "bench", new BigDecimal("19.99").add(BigDecimal.valueOf(i, 2)), 1000);
+            product.setProductId((long) i);
+            pricesById.put(product.getProductId(), product.getPrice());
+
+            OrdersDetails detail = new OrdersDetails();
+            detail.setProduct(product);
+            detail.setQuantity(1 + i % 12);
+            basket.add(detail);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal priceOrder() {
+        return OrderPricing.price(order, basket, pricesById);
+    }
+}
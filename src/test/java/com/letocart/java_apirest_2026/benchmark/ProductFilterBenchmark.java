@@ -0,0 +1,72 @@
+package com.letocart.java_apirest_2026.benchmark;
+
+import com.letocart.java_apirest_2026.dto.ProductFilterView;
+import com.letocart.java_apirest_2026.model.Product;
+import com.letocart.java_apirest_2026.service.ProductFilterIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût d'une page de catalogue filtrée par l'index en colonnes (20 résultats) :
+ *
+ * - priceRangeInStock : produits en stock entre 10 et 50 €, du moins cher au plus cher
+ * - minRating : note moyenne d'au moins 4, meilleures notes d'abord
+ *
+ * Catalogue synthétique de "products" produits (prix, stock dont un quart à zéro).
+ * Les notes ne sont pas initialisées : minRating mesure le parcours seul.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductFilterBenchmark {
+
+    @Param({"10000"})
+    private int products;
+
+    private ProductFilterIndex index;
+    private ProductFilterIndex.Criteria priceRange;
+    private ProductFilterIndex.Criteria minRating;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Le JdbcTemplate n'est utilisé que par reload() et la relecture des notes
+        index = new ProductFilterIndex(null);
+        Random random = new Random(42);
+        for (long id = 1; id <= products; id++) {
+            Product product = new Product("Produit " + id, "", BigDecimal.valueOf(100 + random.nextInt(20_000), 2),
+                    random.nextInt(4) == 0 ? 0 : random.nextInt(100));
+            product.setProductId(id);
+            index.index(product);
+        }
+        priceRange = new ProductFilterIndex.Criteria(new BigDecimal("10"), new BigDecimal("50"), true, null);
+        minRating = new ProductFilterIndex.Criteria(null, null, false, new BigDecimal("4"));
+    }
+
+    @Benchmark
+    public List<ProductFilterView> priceRangeInStock() {
+        return index.filter(priceRange, ProductFilterIndex.Sort.PRICE_ASC, 0, 20);
+    }
+
+    @Benchmark
+    public List<ProductFilterView> minRating() {
+        return index.filter(minRating, ProductFilterIndex.Sort.RATING_DESC, 0, 20);
+    }
+}
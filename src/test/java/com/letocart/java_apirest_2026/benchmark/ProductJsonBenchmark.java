@@ -0,0 +1,82 @@
+package com.letocart.java_apirest_2026.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.letocart.java_apirest_2026.dto.CursorPage;
+import com.letocart.java_apirest_2026.dto.ProductView;
+import com.letocart.java_apirest_2026.service.ProductJsonCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page du catalogue (GET /api/products) : sérialisation Jackson de toute la page, comparée à
+ * l'assemblage des fragments JSON pré-sérialisés (ProductJsonCache)
+ *
+ * Les vues sont recréées à chaque invocation, comme si elles venaient d'être lues en base :
+ * le cache compare chaque vue à celle de son fragment avant de le réutiliser.
+ * Allocations par opération : colonne gc.alloc.rate.norm (-Djmh.profilers="-prof gc").
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductJsonBenchmark {
+
+    @Param({"50", "500"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private ProductJsonCache jsonCache;
+    private List<ProductView> rows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        jsonCache = new ProductJsonCache(objectMapper, 10_000, new SimpleMeterRegistry());
+        rows = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            rows.add(new ProductView((long) i, "Produit " + i, "Description détaillée du produit " + i,
+                    new BigDecimal("19.99").add(BigDecimal.valueOf(i, 2)), i % 50));
+        }
+        jsonCache.page(page());
+    }
+
+    @Benchmark
+    public byte[] jackson() throws Exception {
+        return objectMapper.writeValueAsBytes(page());
+    }
+
+    @Benchmark
+    public byte[] fragments() {
+        return jsonCache.page(page());
+    }
+
+    /**
+     * Page telle que lue en base : nouvelles instances de ProductView, mêmes valeurs
+     */
+    private CursorPage<ProductView> page() {
+        List<ProductView> items = new ArrayList<>(rows.size());
+        for (ProductView row : rows) {
+            items.add(new ProductView(row.productId(), row.name(), row.description(), row.price(), row.stockQuantity()));
+        }
+        return new CursorPage<>(items, CursorPage.encodeCursor((long) size), true);
+    }
+}
@@ -0,0 +1,96 @@
+package com.letocart.java_apirest_2026.benchmark;
+
+import com.letocart.java_apirest_2026.dto.ProductSuggestion;
+import com.letocart.java_apirest_2026.event.OrderCreatedEvent;
+import com.letocart.java_apirest_2026.service.ProductSearchIndex;
+import com.letocart.java_apirest_2026.service.ProductSuggestIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût d'une recherche dans l'index inversé des produits (sans la lecture des produits en base) :
+ *
+ * - exactTerm : un mot entier ("cafetiere")
+ * - prefix : début de mot tapé au clavier ("caf")
+ * - multiTerm : deux mots, intersection des résultats ("cafetiere inox")
+ * - suggest : saisie semi-automatique, 10 produits les plus vendus pour "caf" (ProductSuggestIndex)
+ *
+ * Catalogue synthétique de "products" produits, noms et descriptions tirés d'un vocabulaire fixe.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "cafetière", "théière", "bouilloire", "tasse", "moulin", "piston", "inox", "fonte", "verre",
+            "céramique", "porcelaine", "expresso", "filtre", "électrique", "manuel", "noir", "blanc", "rouge",
+            "litre", "grand", "petit", "lot", "coffret", "cuisine", "acier", "bambou", "bois", "silicone"
+    };
+
+    @Param({"10000"})
+    private int products;
+
+    private ProductSearchIndex index;
+    private ProductSuggestIndex suggestIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Le JdbcTemplate n'est utilisé que par reload()
+        index = new ProductSearchIndex(null);
+        suggestIndex = new ProductSuggestIndex(null);
+        Random random = new Random(42);
+        for (long id = 1; id <= products; id++) {
+            String name = words(random, 3) + " " + id;
+            index.index(id, name, words(random, 12));
+            suggestIndex.index(id, name);
+            suggestIndex.onOrderCreated(new OrderCreatedEvent(id, Map.of(id, 1 + random.nextInt(1_000))));
+        }
+    }
+
+    @Benchmark
+    public List<Long> exactTerm() {
+        return index.search("cafetiere", 0, 20);
+    }
+
+    @Benchmark
+    public List<Long> prefix() {
+        return index.search("caf", 0, 20);
+    }
+
+    @Benchmark
+    public List<Long> multiTerm() {
+        return index.search("cafetiere inox", 0, 20);
+    }
+
+    @Benchmark
+    public List<ProductSuggestion> suggest() {
+        return suggestIndex.suggest("caf", ProductSuggestIndex.MAX_SUGGESTIONS);
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return text.toString();
+    }
+}
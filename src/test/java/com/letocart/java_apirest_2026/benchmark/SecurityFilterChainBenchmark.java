@@ -0,0 +1,113 @@
+package com.letocart.java_apirest_2026.benchmark;
+
+import com.letocart.java_apirest_2026.JavaApirest2026Application;
+import com.letocart.java_apirest_2026.security.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.FilterChainProxy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de la chaîne de filtres Spring Security de l'application, hors contrôleur :
+ * la requête traverse FilterChainProxy puis s'arrête sur une chaîne terminale vide.
+ *
+ * - anonymousPermitAll : GET /status (aucune authentification)
+ * - basicAuth : GET /api/products en HTTP Basic (BCrypt à chaque requête)
+ * - bearerToken : GET /api/products avec un jeton de POST /api/auth/token
+ *
+ * Le contexte Spring complet est démarré (base H2 des tests, port HTTP aléatoire).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityFilterChainBenchmark {
+
+    private static final FilterChain TERMINAL = (request, response) -> { };
+
+    private ConfigurableApplicationContext context;
+    private FilterChainProxy filterChain;
+    private String basicHeader;
+    private String bearerHeader;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(JavaApirest2026Application.class)
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+        filterChain = context.getBean(FilterChainProxy.class);
+
+        basicHeader = "Basic " + Base64.getEncoder()
+                .encodeToString("user:userpassword".getBytes(StandardCharsets.UTF_8));
+        bearerHeader = "Bearer " + context.getBean(TokenService.class).issue(
+                UsernamePasswordAuthenticationToken.authenticated("user", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int anonymousPermitAll() throws Exception {
+        return filter(get("/status"));
+    }
+
+    @Benchmark
+    public int basicAuth() throws Exception {
+        MockHttpServletRequest request = get("/api/products");
+        request.addHeader(HttpHeaders.AUTHORIZATION, basicHeader);
+        return filter(request);
+    }
+
+    @Benchmark
+    public int bearerToken() throws Exception {
+        MockHttpServletRequest request = get("/api/products");
+        request.addHeader(HttpHeaders.AUTHORIZATION, bearerHeader);
+        return filter(request);
+    }
+
+    /**
+     * Requête telle que la transmet DispatcherServlet (les règles d'autorisation portent sur le servletPath)
+     */
+    private static MockHttpServletRequest get(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        return request;
+    }
+
+    private int filter(MockHttpServletRequest request) throws IOException, ServletException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filterChain.doFilter(request, response, TERMINAL);
+        if (response.getStatus() != HttpServletResponse.SC_OK) {
+            throw new IllegalStateException("Requête refusée par la chaîne de sécurité : " + response.getStatus());
+        }
+        return response.getStatus();
+    }
+}
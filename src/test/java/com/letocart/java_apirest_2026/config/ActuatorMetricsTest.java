@@ -0,0 +1,56 @@
+package com.letocart.java_apirest_2026.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+
+import static com.letocart.java_apirest_2026.support.HttpBasic.basic;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Scrape Prometheus : métriques HTTP, use cases / services, repositories, pool de connexions et cache
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class ActuatorMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheusScrapeExposesApplicationMetrics() throws Exception {
+        mockMvc.perform(get("/api/products").header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isOk());
+
+        // Scrape réservé aux ADMIN
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isForbidden());
+        String scrape = mockMvc.perform(get("/actuator/prometheus")
+                        .header(HttpHeaders.AUTHORIZATION, basic("admin", "adminpassword")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket")
+                .contains("app_service_seconds_bucket{application=\"java-apirest-2026\",class=\"com.letocart.java_apirest_2026.service.ProductService\"")
+                .contains("spring_data_repository_invocations_seconds_bucket")
+                .contains("hikaricp_connections_active")
+                .contains("cache_gets_total{application=\"java-apirest-2026\",cache=\"address-validation\"");
+
+        // Les autres endpoints Actuator aussi
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics").header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics").header(HttpHeaders.AUTHORIZATION, basic("admin", "adminpassword")))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,129 @@
+package com.letocart.java_apirest_2026.controller;
+
+import com.letocart.java_apirest_2026.dto.OrderView;
+import com.letocart.java_apirest_2026.model.Account;
+import com.letocart.java_apirest_2026.model.Product;
+import com.letocart.java_apirest_2026.monitoring.SqlStatementBudget;
+import com.letocart.java_apirest_2026.repository.AccountRepository;
+import com.letocart.java_apirest_2026.service.NoticeService;
+import com.letocart.java_apirest_2026.service.OrdersService;
+import com.letocart.java_apirest_2026.service.ProductCatalogVersion;
+import com.letocart.java_apirest_2026.service.ProductService;
+import com.letocart.java_apirest_2026.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.letocart.java_apirest_2026.support.Baskets.basket;
+import static com.letocart.java_apirest_2026.support.Baskets.line;
+import static com.letocart.java_apirest_2026.support.HttpBasic.basic;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Requêtes conditionnelles (ETag / If-None-Match) sur le catalogue, une commande et les avis
+ * d'un produit : 304 sans lire la ressource tant qu'elle n'a pas changé, 200 dès qu'elle change
+ */
+@IntegrationTest
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrdersService ordersService;
+
+    @Autowired
+    private NoticeService noticeService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ProductCatalogVersion catalogVersion;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void unchangedResourcesAreAnsweredWithNotModified() throws Exception {
+        Account account = accountRepository.save(new Account("Inès", "Morel", "etag@example.com", "secret"));
+        Product lamp = productService.createProduct(new Product("Lampe", "", new BigDecimal("25.00"), 10));
+
+        // Catalogue : 304 sans aucune requête SQL, puis 200 après une commande (stock)
+        String catalog = etag("/api/products?limit=10");
+        mockMvc.perform(get("/api/products?limit=10").header(HttpHeaders.IF_NONE_MATCH, catalog)
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, catalog))
+                .andExpect(SqlStatementBudget.atMost(0));
+        assertThat(etag("/api/products?limit=5")).isNotEqualTo(catalog);
+        OrderView order = ordersService.createOrder(account.getAccountId(), basket(line(lamp, 2)));
+        assertThat(etag("/api/products?limit=10")).isNotEqualTo(catalog);
+
+        // Version du catalogue déjà changée quand le commit est visible, puis encore après la transaction
+        String beforeWrite = catalogVersion.current();
+        AtomicReference<String> atCommit = new AtomicReference<>();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            catalogVersion.changed();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    atCommit.set(catalogVersion.current());
+                }
+            });
+        });
+        assertThat(atCommit.get()).isNotEqualTo(beforeWrite);
+        assertThat(catalogVersion.current()).isNotEqualTo(atCommit.get());
+
+        // Commande : 304 sur une seule requête d'agrégat, puis 200 après changement de statut
+        String orderUrl = "/api/orders/" + order.ordersId();
+        String orderTag = etag(orderUrl);
+        mockMvc.perform(get(orderUrl).header(HttpHeaders.IF_NONE_MATCH, orderTag)
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isNotModified())
+                .andExpect(SqlStatementBudget.atMost(1));
+        ordersService.updateOrderStatus(order.ordersId(), "CONFIRMED");
+        String confirmedTag = etag(orderUrl);
+        assertThat(confirmedTag).isNotEqualTo(orderTag);
+        // Le nom du produit fait partie de la réponse : le renommer change l'ETag de la commande
+        productService.updateProduct(lamp.getProductId(), new Product("Lampe de bureau", "", new BigDecimal("25.00"), 8));
+        assertThat(etag(orderUrl)).isNotEqualTo(confirmedTag);
+
+        // Avis d'un produit : 304 sur une seule requête d'agrégat, puis 200 après un nouvel avis
+        String noticesUrl = "/api/notices/product/" + lamp.getProductId();
+        String noticesTag = etag(noticesUrl);
+        mockMvc.perform(get(noticesUrl).header(HttpHeaders.IF_NONE_MATCH, noticesTag)
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isNotModified())
+                .andExpect(SqlStatementBudget.atMost(1));
+        noticeService.createNotice(account.getAccountId(), lamp.getProductId(), 4, "Bonne lumière");
+        mockMvc.perform(get(noticesUrl).header(HttpHeaders.IF_NONE_MATCH, noticesTag)
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * ETag renvoyé par une première lecture complète
+     */
+    private String etag(String url) throws Exception {
+        String etag = mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"");
+        return etag;
+    }
+}
@@ -0,0 +1,185 @@
+package com.letocart.java_apirest_2026.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.letocart.java_apirest_2026.model.Account;
+import com.letocart.java_apirest_2026.model.OrdersDetails;
+import com.letocart.java_apirest_2026.model.Product;
+import com.letocart.java_apirest_2026.monitoring.SqlStatementBudget;
+import com.letocart.java_apirest_2026.repository.AccountRepository;
+import com.letocart.java_apirest_2026.repository.ProductRepository;
+import com.letocart.java_apirest_2026.service.OrderIdempotencyService;
+import com.letocart.java_apirest_2026.service.OrdersService;
+import com.letocart.java_apirest_2026.support.IntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.letocart.java_apirest_2026.support.Baskets.basket;
+import static com.letocart.java_apirest_2026.support.Baskets.line;
+import static com.letocart.java_apirest_2026.support.HttpBasic.basic;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Création de commande avec Idempotency-Key : un renvoi rejoue la première réponse sans requête SQL,
+ * une seule commande est créée (y compris pour des doublons concurrents), la clé est liée au panier
+ */
+@IntegrationTest
+class IdempotencyKeyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderIdempotencyService orderIdempotencyService;
+
+    @Autowired
+    private OrdersService ordersService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void retriedCheckoutCreatesASingleOrder() throws Exception {
+        Account account = accountRepository.save(new Account("Lina", "Roux", "idempotency@example.com", "secret"));
+        Product lamp = productRepository.save(new Product("Lampe", "", new BigDecimal("15.00"), 10));
+        Product desk = productRepository.save(new Product("Bureau", "", new BigDecimal("120.00"), 1));
+        String uri = "/api/orders/account/" + account.getAccountId();
+        String lampBasket = "[{\"product\":{\"productId\":" + lamp.getProductId() + "},\"quantity\":2}]";
+
+        String first = mockMvc.perform(post(uri).contentType(MediaType.APPLICATION_JSON).content(lampBasket)
+                        .header("Idempotency-Key", "checkout-1")
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "false"))
+                .andReturn().getResponse().getContentAsString();
+
+        // Renvoi après un délai dépassé : même réponse, servie par l'index en mémoire
+        String retried = mockMvc.perform(post(uri).contentType(MediaType.APPLICATION_JSON).content(lampBasket)
+                        .header("Idempotency-Key", "checkout-1")
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(SqlStatementBudget.atMost(0))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(retried).isEqualTo(first);
+        assertThat(ordersService.getOrdersByAccount(account.getAccountId())).hasSize(1);
+        assertThat(productRepository.findById(lamp.getProductId()).orElseThrow().getStockQuantity()).isEqualTo(8);
+
+        // Même clé, autre panier : refusé
+        mockMvc.perform(post(uri).contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"product\":{\"productId\":" + lamp.getProductId() + "},\"quantity\":3}]")
+                        .header("Idempotency-Key", "checkout-1")
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isUnprocessableEntity());
+
+        // Création en échec (stock insuffisant) : rien n'est enregistré, la clé reste utilisable
+        String deskBasket = "[{\"product\":{\"productId\":" + desk.getProductId() + "},\"quantity\":2}]";
+        mockMvc.perform(post(uri).contentType(MediaType.APPLICATION_JSON).content(deskBasket)
+                        .header("Idempotency-Key", "checkout-2")
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isBadRequest());
+        assertThat(storedKeys("checkout-2")).isZero();
+
+        // Doublons concurrents : une seule exécution, la même réponse pour tous
+        List<OrdersDetails> basket = basket(line(lamp, 1));
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<OrderIdempotencyService.IdempotentResponse>> responses = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                responses.add(pool.submit(() -> {
+                    start.await();
+                    return orderIdempotencyService.createOrder(account.getAccountId(), "checkout-3", basket);
+                }));
+            }
+            start.countDown();
+            List<String> bodies = new ArrayList<>();
+            int executed = 0;
+            for (Future<OrderIdempotencyService.IdempotentResponse> response : responses) {
+                bodies.add(response.get().body());
+                executed += response.get().replayed() ? 0 : 1;
+            }
+            assertThat(executed).isEqualTo(1);
+            assertThat(bodies).containsOnly(bodies.get(0));
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(ordersService.getOrdersByAccount(account.getAccountId())).hasSize(2);
+        assertThat(productRepository.findById(lamp.getProductId()).orElseThrow().getStockQuantity()).isEqualTo(7);
+
+        // Autre instance (index mémoire vide) : réponse rejouée depuis la base
+        OrderIdempotencyService otherInstance = new OrderIdempotencyService(ordersService, jdbcTemplate,
+                transactionManager, objectMapper, Duration.ofHours(24), 1000, Duration.ofSeconds(30), meterRegistry);
+        OrderIdempotencyService.IdempotentResponse fromDatabase =
+                otherInstance.createOrder(account.getAccountId(), "checkout-1", basket(line(lamp, 2)));
+        assertThat(fromDatabase.replayed()).isTrue();
+        assertThat(fromDatabase.body()).isEqualTo(first);
+
+        // Doublons concurrents sur deux instances : la clé en base n'autorise qu'une exécution
+        List<Future<OrderIdempotencyService.IdempotentResponse>> crossInstance = new ArrayList<>();
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService twoInstances = Executors.newFixedThreadPool(2);
+        try {
+            for (OrderIdempotencyService instance : List.of(orderIdempotencyService, otherInstance)) {
+                crossInstance.add(twoInstances.submit(() -> {
+                    go.await();
+                    return instance.createOrder(account.getAccountId(), "checkout-4", basket(line(lamp, 1)));
+                }));
+            }
+            go.countDown();
+            assertThat(crossInstance.get(0).get().body()).isEqualTo(crossInstance.get(1).get().body());
+            assertThat(crossInstance.get(0).get().replayed()).isNotEqualTo(crossInstance.get(1).get().replayed());
+        } finally {
+            twoInstances.shutdownNow();
+        }
+        assertThat(productRepository.findById(lamp.getProductId()).orElseThrow().getStockQuantity()).isEqualTo(6);
+
+        // Clés expirées : une clé pas encore purgée est reprise par une nouvelle commande, les autres purgées
+        jdbcTemplate.update("UPDATE idempotency_key SET expires_at = created_at WHERE idempotency_key IN (?, ?)",
+                "checkout-1", "checkout-3");
+        assertThat(otherInstance.createOrder(account.getAccountId(), "checkout-3", basket(line(lamp, 2))).replayed()).isFalse();
+        assertThat(productRepository.findById(lamp.getProductId()).orElseThrow().getStockQuantity()).isEqualTo(4);
+        orderIdempotencyService.purgeExpired();
+        assertThat(storedKeys("checkout-1")).isZero();
+        assertThat(storedKeys("checkout-3")).isEqualTo(1);
+    }
+
+    private int storedKeys(String key) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_key WHERE idempotency_key = ?",
+                Integer.class, key);
+    }
+}
@@ -0,0 +1,110 @@
+package com.letocart.java_apirest_2026.controller;
+
+import com.letocart.java_apirest_2026.dto.OrderView;
+import com.letocart.java_apirest_2026.model.Account;
+import com.letocart.java_apirest_2026.model.Product;
+import com.letocart.java_apirest_2026.monitoring.SqlStatementBudget;
+import com.letocart.java_apirest_2026.repository.AccountRepository;
+import com.letocart.java_apirest_2026.service.OrdersService;
+import com.letocart.java_apirest_2026.service.ProductService;
+import com.letocart.java_apirest_2026.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.letocart.java_apirest_2026.support.Baskets.basket;
+import static com.letocart.java_apirest_2026.support.Baskets.line;
+import static com.letocart.java_apirest_2026.support.HttpBasic.basic;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Changement de statut en masse : machine à états respectée, résultat par commande,
+ * une lecture et un UPDATE par lot, version incrémentée (ETag)
+ */
+@IntegrationTest
+class OrderStatusBulkUpdateTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrdersService ordersService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void bulkTransitionsFollowTheStateMachine() throws Exception {
+        Account account = accountRepository.save(new Account("Hugo", "Petit", "bulk@example.com", "secret"));
+        Product box = productService.createProduct(new Product("Carton", "", new BigDecimal("2.00"), 100));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            OrderView order = ordersService.createOrder(account.getAccountId(), basket(line(box, 1)));
+            ids.add(order.ordersId());
+            if (i > 0) {
+                ordersService.updateOrderStatus(order.ordersId(), "confirmed");
+            }
+        }
+        Long pending = ids.get(0);
+        assertThatThrownBy(() -> ordersService.updateOrderStatus(pending, "SHIPPED"))
+                .hasMessageContaining("PENDING -> SHIPPED");
+        String etag = ordersService.getOrderETag(ids.get(1)).orElseThrow();
+
+        String body = "{\"status\":\"SHIPPED\",\"ids\":[" + ids.get(1) + "," + ids.get(2) + "," + pending + ",999999]}";
+        mockMvc.perform(patch("/api/orders/status").contentType(MediaType.APPLICATION_JSON).content(body)
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isForbidden());
+
+        // Une lecture des statuts et un UPDATE conditionnel pour le lot
+        mockMvc.perform(patch("/api/orders/status").contentType(MediaType.APPLICATION_JSON).content(body)
+                        .header(HttpHeaders.AUTHORIZATION, basic("admin", "adminpassword")))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.atMost(2))
+                .andExpect(jsonPath("$.updated").value(2))
+                .andExpect(jsonPath("$.results[0].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.results[0].previousStatus").value("CONFIRMED"))
+                .andExpect(jsonPath("$.results[1].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.results[2].outcome").value("INVALID_TRANSITION"))
+                .andExpect(jsonPath("$.results[3].outcome").value("NOT_FOUND"));
+        assertThat(ordersService.getOrderById(ids.get(1)).orElseThrow().status()).isEqualTo("SHIPPED");
+        assertThat(ordersService.getOrderETag(ids.get(1)).orElseThrow()).isNotEqualTo(etag);
+
+        // Rejouer la même requête ne modifie plus rien
+        mockMvc.perform(patch("/api/orders/status").contentType(MediaType.APPLICATION_JSON).content(body)
+                        .header(HttpHeaders.AUTHORIZATION, basic("admin", "adminpassword")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(0))
+                .andExpect(jsonPath("$.results[0].outcome").value("UNCHANGED"));
+
+        // Filtre : toutes les commandes encore confirmées
+        mockMvc.perform(patch("/api/orders/status").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"SHIPPED\",\"fromStatus\":\"CONFIRMED\"}")
+                        .header(HttpHeaders.AUTHORIZATION, basic("admin", "adminpassword")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2))
+                .andExpect(jsonPath("$.results[0].ordersId").value(ids.get(3)))
+                .andExpect(jsonPath("$.results[1].ordersId").value(ids.get(4)));
+
+        // Requêtes invalides : transition interdite, statut inconnu, ids et filtre à la fois
+        for (String invalid : List.of("{\"status\":\"PENDING\",\"fromStatus\":\"SHIPPED\"}",
+                "{\"status\":\"LOST\",\"ids\":[" + pending + "]}",
+                "{\"status\":\"CANCELLED\",\"ids\":[" + pending + "],\"fromStatus\":\"PENDING\"}")) {
+            mockMvc.perform(patch("/api/orders/status").contentType(MediaType.APPLICATION_JSON).content(invalid)
+                            .header(HttpHeaders.AUTHORIZATION, basic("admin", "adminpassword")))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+}
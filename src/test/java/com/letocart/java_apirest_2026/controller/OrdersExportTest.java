@@ -0,0 +1,106 @@
+package com.letocart.java_apirest_2026.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.letocart.java_apirest_2026.dto.OrderView;
+import com.letocart.java_apirest_2026.model.Account;
+import com.letocart.java_apirest_2026.model.Product;
+import com.letocart.java_apirest_2026.repository.AccountRepository;
+import com.letocart.java_apirest_2026.service.OrdersService;
+import com.letocart.java_apirest_2026.service.ProductService;
+import com.letocart.java_apirest_2026.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static com.letocart.java_apirest_2026.support.Baskets.basket;
+import static com.letocart.java_apirest_2026.support.Baskets.line;
+import static com.letocart.java_apirest_2026.support.HttpBasic.basic;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Export en continu des commandes : une commande par ligne NDJSON (lignes de détail imbriquées),
+ * une ligne CSV par ligne de commande, commandes sans ligne comprises
+ */
+@IntegrationTest
+class OrdersExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrdersService ordersService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportsEveryOrderWithItsLines() throws Exception {
+        Account account = accountRepository.save(new Account("Zoé", "Garnier", "export@example.com", "secret"));
+        Product lamp = productService.createProduct(new Product("Lampe", "", new BigDecimal("25.00"), 10));
+        Product pen = productService.createProduct(new Product("Stylo", "", new BigDecimal("1.50"), 10));
+        OrderView first = ordersService.createOrder(account.getAccountId(), basket(line(lamp, 2), line(pen, 1)));
+        OrderView second = ordersService.createOrder(account.getAccountId(), basket(line(pen, 3)));
+        jdbcTemplate.update("INSERT INTO orders (account_id, order_date, status, total_amount, version) "
+                + "VALUES (?, CURRENT_TIMESTAMP, 'CANCELLED', 0, 0)", account.getAccountId());
+
+        // NDJSON : une commande par ligne, dans l'ordre des identifiants
+        String[] orders = export("ndjson", "application/x-ndjson").split("\n");
+        assertThat(orders).hasSize(3);
+        JsonNode firstOrder = objectMapper.readTree(orders[0]);
+        assertThat(firstOrder.get("orderId").asLong()).isEqualTo(first.ordersId());
+        assertThat(firstOrder.get("accountId").asLong()).isEqualTo(account.getAccountId());
+        assertThat(firstOrder.get("totalAmount").decimalValue()).isEqualByComparingTo("51.50");
+        assertThat(firstOrder.get("orderDate").asText()).isNotBlank();
+        assertThat(firstOrder.get("lines")).hasSize(2);
+        assertThat(firstOrder.get("lines").get(0).get("productId").asLong()).isEqualTo(lamp.getProductId());
+        assertThat(firstOrder.get("lines").get(0).get("subtotal").decimalValue()).isEqualByComparingTo("50.00");
+        assertThat(objectMapper.readTree(orders[1]).get("orderId").asLong()).isEqualTo(second.ordersId());
+        JsonNode withoutLines = objectMapper.readTree(orders[2]);
+        assertThat(withoutLines.get("status").asText()).isEqualTo("CANCELLED");
+        assertThat(withoutLines.get("lines")).isEmpty();
+
+        // CSV : en-tête puis une ligne par ligne de commande, colonnes de détail vides sans ligne
+        String[] rows = export("csv", "text/csv").split("\n");
+        assertThat(rows).hasSize(5);
+        assertThat(rows[0]).startsWith("order_id,order_date,status");
+        assertThat(rows[1]).startsWith(first.ordersId() + ",").endsWith("," + lamp.getProductId() + ",2,25.00,50.00");
+        assertThat(rows[3]).endsWith("," + pen.getProductId() + ",3,1.50,4.50");
+        assertThat(rows[4]).contains(",CANCELLED,0.00," + account.getAccountId() + ",").endsWith(",,,,,");
+
+        mockMvc.perform(get("/api/orders/export").param("format", "xml")
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String export(String format, String contentType) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/orders/export").param("format", format)
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, contentType))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+}
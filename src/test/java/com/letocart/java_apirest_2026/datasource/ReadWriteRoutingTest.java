@@ -0,0 +1,77 @@
+package com.letocart.java_apirest_2026.datasource;
+
+import com.letocart.java_apirest_2026.dto.ProductView;
+import com.letocart.java_apirest_2026.model.Product;
+import com.letocart.java_apirest_2026.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routage lecture / écriture avec deux bases H2 locales (primaire et réplica) : lectures seules
+ * sur le réplica tant qu'il est à jour, sur le primaire sinon, écritures toujours sur le primaire
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.datasource.replicas[0].url=jdbc:h2:mem:routing_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica-max-lag-ms=60000",
+        "app.datasource.replica-check-interval-ms=3600000"})
+class ReadWriteRoutingTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void readOnlyTransactionsGoToUpToDateReplicas() {
+        ReadWriteRoutingDataSource.Replica replica = routingDataSource.getReplicas().get(0);
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica.getPool());
+        productService.createProduct(new Product("Lampe", "", new BigDecimal("25.00"), 10));
+
+        // Réplica sans battement répliqué : écarté, les lectures restent sur le primaire
+        assertThat(replica.isHealthy()).isFalse();
+        assertThat(productService.getProductsInStock()).extracting(ProductView::name).containsExactly("Lampe");
+
+        // Réplica à jour (battement récent) : il sert les transactions en lecture seule
+        replicaJdbc.execute("CREATE TABLE product (product_id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL, "
+                + "description VARCHAR(1000), price DECIMAL(10,2) NOT NULL, stock_quantity INT NOT NULL, version BIGINT NOT NULL)");
+        replicaJdbc.update("INSERT INTO product VALUES (1, 'Lampe (réplica)', '', 25.00, 10, 0)");
+        replicaJdbc.execute("CREATE TABLE replication_heartbeat (id INT PRIMARY KEY, beat_millis BIGINT NOT NULL)");
+        replicaJdbc.update("INSERT INTO replication_heartbeat VALUES (1, ?)", System.currentTimeMillis());
+        replicaLagMonitor.check();
+        assertThat(replica.isHealthy()).isTrue();
+        double reads = routingCount(replica.getName(), "read");
+        assertThat(productService.getProductsInStock()).extracting(ProductView::name).containsExactly("Lampe (réplica)");
+        assertThat(routingCount(replica.getName(), "read")).isEqualTo(reads + 1);
+
+        // Les écritures restent sur le primaire
+        productService.createProduct(new Product("Plateau", "", new BigDecimal("15.00"), 3));
+        assertThat(replicaJdbc.queryForObject("SELECT count(*) FROM product", Integer.class)).isEqualTo(1);
+
+        // Réplica en retard : écarté, les lectures reviennent au primaire
+        replicaJdbc.update("UPDATE replication_heartbeat SET beat_millis = ?", System.currentTimeMillis() - 600_000);
+        replicaLagMonitor.check();
+        assertThat(replica.isHealthy()).isFalse();
+        assertThat(meterRegistry.get("app.datasource.replica.healthy").tag("pool", replica.getName()).gauge().value())
+                .isZero();
+        assertThat(productService.getProductsInStock()).extracting(ProductView::name).containsExactly("Lampe", "Plateau");
+    }
+
+    private double routingCount(String pool, String reason) {
+        return meterRegistry.get("app.datasource.routing").tag("pool", pool).tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,73 @@
+package com.letocart.java_apirest_2026.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remplaçant local de l'API BAN (GET /search) pour les tests de charge
+ *
+ * Répond après une latence fixe, avec un score de 0.97, ou 0.1 si la requête contient "Nowhere".
+ */
+public class BanStub implements AutoCloseable {
+
+    private static final String VALID = "{\"type\":\"FeatureCollection\",\"features\":[{\"properties\":"
+            + "{\"label\":\"8 Boulevard du Port 80000 Amiens\",\"score\":0.97,\"postcode\":\"80000\",\"city\":\"Amiens\"}}]}";
+    private static final String INVALID = "{\"type\":\"FeatureCollection\",\"features\":[{\"properties\":"
+            + "{\"label\":\"Nowhere\",\"score\":0.1}}]}";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final long latencyMs;
+    private final AtomicLong requests = new AtomicLong();
+
+    public BanStub(long latencyMs) throws IOException {
+        this.latencyMs = latencyMs;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/search", this::search);
+        server.start();
+    }
+
+    /**
+     * URL à utiliser pour app.address-validation.base-url
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/search";
+    }
+
+    public long requests() {
+        return requests.get();
+    }
+
+    private void search(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String query = exchange.getRequestURI().getRawQuery();
+        boolean invalid = query != null && URLDecoder.decode(query, StandardCharsets.UTF_8).contains("Nowhere");
+        byte[] body = (invalid ? INVALID : VALID).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,421 @@
+package com.letocart.java_apirest_2026.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.letocart.java_apirest_2026.JavaApirest2026Application;
+import com.letocart.java_apirest_2026.model.Account;
+import com.letocart.java_apirest_2026.model.Product;
+import com.letocart.java_apirest_2026.repository.AccountRepository;
+import com.letocart.java_apirest_2026.repository.ProductRepository;
+import com.letocart.java_apirest_2026.service.ProductFilterIndex;
+import com.letocart.java_apirest_2026.service.ProductSearchIndex;
+import com.letocart.java_apirest_2026.service.ProductSuggestIndex;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import static com.letocart.java_apirest_2026.support.HttpBasic.basic;
+
+/**
+ * Test de charge de bout en bout, sans dépendance externe
+ *
+ * L'application est démarrée sur un port aléatoire avec la base H2 des tests et un
+ * remplaçant local de l'API BAN (BanStub). Des clients en boucle fermée enchaînent un mélange
+ * pondéré de requêtes (catalogue, commande, avis, création de compte) pendant une phase de
+ * chauffe puis une phase de mesure. Le rapport donne, par endpoint, le débit, les erreurs et
+ * les percentiles de latence. Les histogrammes complets sont écrits dans target/loadtest/*.hgrm
+ * et les métriques serveur (scrape de /actuator/prometheus) dans target/loadtest/metrics.prom.
+ *
+ * Lancement : ./mvnw -Ploadtest verify [-Dloadtest.threads=32 -Dloadtest.duration=120s ...]
+ *
+ * Paramètres (propriétés système) :
+ * - loadtest.threads : clients simultanés (16)
+ * - loadtest.warmup / loadtest.duration : durée de chauffe (10s) et de mesure (60s)
+ * - loadtest.ban-latency-ms : latence simulée de l'API BAN (30)
+ * - loadtest.auth : bearer (jeton de POST /api/auth/token) ou basic (BCrypt à chaque requête)
+ * - loadtest.mix : pondération des requêtes, ex. "browse=40,product=20,checkout=20,notice=10,account=10"
+ *   (scénarios disponibles : browse, product, search, suggest, filter, checkout, notice, account)
+ *
+ * Les clients attendent chaque réponse avant d'envoyer la suivante : sous saturation, la latence
+ * mesurée sous-estime celle que verraient des clients au débit constant (omission coordonnée).
+ */
+public final class LoadTest {
+
+    private static final int PRODUCTS = 500;
+    private static final int ACCOUNTS = 200;
+    private static final long HIGHEST_LATENCY_US = TimeUnit.MINUTES.toMicros(1);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private String baseUrl;
+    private String userAuthorization;
+    private String adminAuthorization;
+    private List<Long> productIds;
+    private List<Long> accountIds;
+
+    /**
+     * Statistiques d'un endpoint : latences (µs), erreurs par statut HTTP (ou "JSON" si le corps est tronqué)
+     */
+    private static final class Endpoint {
+        final Histogram latencies = new ConcurrentHistogram(HIGHEST_LATENCY_US, 3);
+        final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+        void record(long micros, String error) {
+            latencies.recordValue(Math.min(micros, HIGHEST_LATENCY_US));
+            if (error != null) {
+                errors.computeIfAbsent(error, e -> new LongAdder()).increment();
+            }
+        }
+
+        void reset() {
+            latencies.reset();
+            errors.clear();
+        }
+
+        long errorCount() {
+            return errors.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+    }
+
+    /**
+     * Une requête du mélange
+     */
+    @FunctionalInterface
+    private interface Scenario {
+        void run() throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = Integer.getInteger("loadtest.threads", 16);
+        Duration warmup = parseDuration(System.getProperty("loadtest.warmup", "10s"));
+        Duration duration = parseDuration(System.getProperty("loadtest.duration", "60s"));
+        long banLatencyMs = Long.getLong("loadtest.ban-latency-ms", 30);
+        boolean basicAuth = "basic".equalsIgnoreCase(System.getProperty("loadtest.auth", "bearer"));
+        Map<String, Integer> mix = parseMix(System.getProperty("loadtest.mix",
+                "browse=40,product=20,checkout=20,notice=10,account=10"));
+
+        try (BanStub ban = new BanStub(banLatencyMs)) {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(JavaApirest2026Application.class)
+                    .properties(
+                            "server.port=0",
+                            "app.address-validation.base-url=" + ban.baseUrl(),
+                            "spring.jpa.show-sql=false",
+                            "logging.level.root=WARN")
+                    .run(args);
+            try {
+                LoadTest test = new LoadTest();
+                test.setUp(context, basicAuth);
+                List<Scenario> weighted = test.weightedScenarios(mix);
+
+                System.out.printf("Chauffe %ds, mesure %ds, %d clients, authentification %s, BAN %d ms%n",
+                        warmup.toSeconds(), duration.toSeconds(), threads, basicAuth ? "basic" : "bearer", banLatencyMs);
+                test.run(weighted, threads, warmup);
+                test.endpoints.values().forEach(Endpoint::reset);
+                long banBefore = ban.requests();
+                test.run(weighted, threads, duration);
+
+                test.report(System.out, duration);
+                System.out.printf("Appels à l'API BAN pendant la mesure : %d%n", ban.requests() - banBefore);
+                test.writeHistograms(Path.of("target", "loadtest"));
+                test.writeMetrics(Path.of("target", "loadtest"));
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private void setUp(ConfigurableApplicationContext context, boolean basicAuth) throws Exception {
+        baseUrl = "http://127.0.0.1:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+
+        // Jeu de données : stock suffisant pour toute la durée du test
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(new Product("Produit " + i, "Produit de test de charge " + i,
+                    BigDecimal.valueOf(500 + i, 2), 10_000_000));
+        }
+        productIds = new ArrayList<>();
+        productRepository.saveAll(products).forEach(p -> productIds.add(p.getProductId()));
+        // Produits écrits sans ProductService : index de recherche reconstruit
+        context.getBean(ProductSearchIndex.class).reload();
+        context.getBean(ProductSuggestIndex.class).reload();
+        context.getBean(ProductFilterIndex.class).reload();
+
+        AccountRepository accountRepository = context.getBean(AccountRepository.class);
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accounts.add(new Account("Client", "Charge" + i, "load-" + i + "-" + System.nanoTime() + "@example.com", "secret"));
+        }
+        accountIds = new ArrayList<>();
+        accountRepository.saveAll(accounts).forEach(a -> accountIds.add(a.getAccountId()));
+
+        String userBasic = basic("user", "userpassword");
+        String adminBasic = basic("admin", "adminpassword");
+        userAuthorization = basicAuth ? userBasic : "Bearer " + issueToken(userBasic);
+        adminAuthorization = basicAuth ? adminBasic : "Bearer " + issueToken(adminBasic);
+    }
+
+    private List<Scenario> weightedScenarios(Map<String, Integer> mix) {
+        Map<String, Scenario> scenarios = new LinkedHashMap<>();
+        scenarios.put("browse", this::browseCatalog);
+        scenarios.put("product", this::viewProduct);
+        scenarios.put("search", this::searchProducts);
+        scenarios.put("suggest", this::suggestProducts);
+        scenarios.put("filter", this::filterProducts);
+        scenarios.put("checkout", this::checkout);
+        scenarios.put("notice", this::postNotice);
+        scenarios.put("account", this::createAccount);
+
+        List<Scenario> weighted = new ArrayList<>();
+        mix.forEach((name, weight) -> {
+            Scenario scenario = scenarios.get(name);
+            if (scenario == null) {
+                throw new IllegalArgumentException("Scénario inconnu : " + name + " (" + scenarios.keySet() + ")");
+            }
+            for (int i = 0; i < weight; i++) {
+                weighted.add(scenario);
+            }
+        });
+        return weighted;
+    }
+
+    private void run(List<Scenario> weighted, int threads, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        LongAdder failures = new LongAdder();
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    try {
+                        weighted.get(random.nextInt(weighted.size())).run();
+                    } catch (Exception e) {
+                        failures.increment();
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        if (failures.sum() > 0) {
+            System.out.printf("%d requêtes en échec réseau%n", failures.sum());
+        }
+    }
+
+    // ---- Scénarios ----
+
+    private void browseCatalog() throws Exception {
+        send("GET /api/products", get("/api/products?limit=20", userAuthorization));
+    }
+
+    private void viewProduct() throws Exception {
+        send("GET /api/products/{id}", get("/api/products/" + pick(productIds), userAuthorization));
+    }
+
+    private void searchProducts() throws Exception {
+        send("GET /api/products/search",
+                get("/api/products/search?limit=20&name=produit+" + ThreadLocalRandom.current().nextInt(PRODUCTS), userAuthorization));
+    }
+
+    private void suggestProducts() throws Exception {
+        // Frappe d'un numéro de produit : "produit 4", "produit 42"...
+        send("GET /api/products/suggest",
+                get("/api/products/suggest?k=5&prefix=produit+" + (1 + ThreadLocalRandom.current().nextInt(99)), userAuthorization));
+    }
+
+    private void filterProducts() throws Exception {
+        // Fourchette de 1 € (les prix du jeu de données vont de 5,00 à 9,99 €)
+        int minPrice = 5 + ThreadLocalRandom.current().nextInt(5);
+        send("GET /api/products/filter", get("/api/products/filter?inStock=true&sort=price_asc&limit=20&minPrice="
+                + minPrice + "&maxPrice=" + (minPrice + 1), userAuthorization));
+    }
+
+    private void checkout() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Map<String, Object>> lines = new ArrayList<>();
+        int count = 1 + random.nextInt(3);
+        for (int i = 0; i < count; i++) {
+            lines.add(Map.of("product", Map.of("productId", pick(productIds)), "quantity", 1 + random.nextInt(3)));
+        }
+        send("POST /api/orders/account/{id}",
+                post("/api/orders/account/" + pick(accountIds), lines, userAuthorization));
+    }
+
+    private void postNotice() throws Exception {
+        Map<String, Object> notice = Map.of(
+                "accountId", pick(accountIds),
+                "productId", pick(productIds),
+                "rating", 1 + ThreadLocalRandom.current().nextInt(5),
+                "comment", "Avis de test de charge");
+        send("POST /api/notices", post("/api/notices", notice, userAuthorization));
+    }
+
+    private void createAccount() throws Exception {
+        // Numéro de rue variable : une partie des validations d'adresse passe par le cache
+        int number = 1 + ThreadLocalRandom.current().nextInt(200);
+        Map<String, Object> account = Map.of(
+                "firstName", "Nouveau",
+                "lastName", "Client",
+                "email", "new-" + sequence.incrementAndGet() + "-" + System.nanoTime() + "@example.com",
+                "password", "secret",
+                "address", Map.of("street", number + " Boulevard du Port", "city", "Amiens",
+                        "postalCode", "80000", "country", "France"));
+        send("POST /api/accounts", post("/api/accounts", account, adminAuthorization));
+    }
+
+    // ---- HTTP ----
+
+    private HttpRequest get(String path, String authorization) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, Object body, String authorization) throws IOException {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private void send(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        long micros = (System.nanoTime() - start) / 1_000;
+        endpoints.computeIfAbsent(endpoint, e -> new Endpoint()).record(micros, error(response));
+    }
+
+    /**
+     * Motif d'erreur d'une réponse : statut hors 2xx, ou corps JSON invalide
+     * (une erreur de sérialisation survenue après l'envoi des en-têtes laisse un statut 200)
+     */
+    private String error(HttpResponse<byte[]> response) {
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            return String.valueOf(response.statusCode());
+        }
+        if (response.body().length > 0) {
+            try {
+                objectMapper.readTree(response.body());
+            } catch (IOException e) {
+                return "JSON";
+            }
+        }
+        return null;
+    }
+
+    private String issueToken(String basicAuthorization) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/token"))
+                .header("Authorization", basicAuthorization)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Émission du jeton refusée : HTTP " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body()).get("accessToken").asText();
+    }
+
+    // ---- Rapport ----
+
+    private void report(PrintStream out, Duration duration) {
+        out.println();
+        out.printf("%-32s %9s %8s %9s %9s %9s %9s %9s %9s  %s%n",
+                "Endpoint", "Requêtes", "Erreurs", "Req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "Statuts en erreur");
+        long total = 0;
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Histogram h = entry.getValue().latencies;
+            long count = h.getTotalCount();
+            total += count;
+            out.printf("%-32s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                    entry.getKey(), count, entry.getValue().errorCount(),
+                    count / (double) duration.toSeconds(),
+                    ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)),
+                    ms(h.getValueAtPercentile(99)), ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()),
+                    entry.getValue().errors.entrySet().stream()
+                            .map(e -> e.getKey() + "×" + e.getValue().sum())
+                            .collect(Collectors.joining(" ")));
+        }
+        out.printf("%-32s %9d %8s %9.1f%n", "Total", total, "", total / (double) duration.toSeconds());
+    }
+
+    private void writeHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            String fileName = entry.getKey().replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "") + ".hgrm";
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(fileName)), false, StandardCharsets.UTF_8)) {
+                // Valeurs en millisecondes
+                entry.getValue().latencies.outputPercentileDistribution(out, 1_000.0);
+            }
+        }
+        System.out.println("Histogrammes : " + directory.toAbsolutePath());
+    }
+
+    /**
+     * Scrape Prometheus de fin de test : latences côté serveur (use cases, repositories, BAN),
+     * pool de connexions et cache, à comparer aux latences mesurées par les clients
+     */
+    private void writeMetrics(Path directory) throws IOException, InterruptedException {
+        HttpResponse<Path> response = client.send(
+                get("/actuator/prometheus", adminAuthorization),
+                HttpResponse.BodyHandlers.ofFile(directory.resolve("metrics.prom")));
+        System.out.println("Métriques serveur : " + response.body().toAbsolutePath() + " (HTTP " + response.statusCode() + ")");
+    }
+
+    // ---- Utilitaires ----
+
+    private static double ms(long micros) {
+        return micros / 1_000.0;
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private static Duration parseDuration(String value) {
+        return DurationStyle.detectAndParse(value);
+    }
+
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] entry = part.trim().split("=");
+            mix.put(entry[0].trim(), Integer.parseInt(entry[1].trim()));
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,51 @@
+package com.letocart.java_apirest_2026.monitoring;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Assertions MockMvc sur le budget de requêtes SQL d'un endpoint (en-têtes de SqlStatementBudgetFilter)
+ *
+ * mockMvc.perform(get("/api/accounts")).andExpect(SqlStatementBudget.atMost(3));
+ */
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    /**
+     * Échoue si la requête a exécuté plus de maxStatements requêtes SQL
+     */
+    public static ResultMatcher atMost(int maxStatements) {
+        return result -> assertThat(statements(result))
+                .as("Requêtes SQL de %s %s (même requête répétée jusqu'à %d fois)",
+                        result.getRequest().getMethod(), result.getRequest().getRequestURI(),
+                        header(result, SqlStatementBudgetFilter.MAX_REPEATS_HEADER))
+                .isLessThanOrEqualTo(maxStatements);
+    }
+
+    /**
+     * Échoue si un même texte SQL a été exécuté plus de maxRepeats fois (signature d'un N+1)
+     */
+    public static ResultMatcher maxRepeats(int maxRepeats) {
+        return result -> assertThat(header(result, SqlStatementBudgetFilter.MAX_REPEATS_HEADER))
+                .as("Exécutions d'une même requête SQL pour %s %s",
+                        result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(maxRepeats);
+    }
+
+    /**
+     * Nombre de requêtes SQL exécutées par la requête
+     */
+    public static int statements(MvcResult result) {
+        return header(result, SqlStatementBudgetFilter.STATEMENTS_HEADER);
+    }
+
+    private static int header(MvcResult result, String name) {
+        String value = result.getResponse().getHeader(name);
+        assertThat(value).as("En-tête %s absent", name).isNotNull();
+        return Integer.parseInt(value);
+    }
+}
@@ -0,0 +1,101 @@
+package com.letocart.java_apirest_2026.monitoring;
+
+import com.letocart.java_apirest_2026.model.Account;
+import com.letocart.java_apirest_2026.model.Address;
+import com.letocart.java_apirest_2026.model.OrdersDetails;
+import com.letocart.java_apirest_2026.model.Product;
+import com.letocart.java_apirest_2026.repository.AccountRepository;
+import com.letocart.java_apirest_2026.repository.ProductRepository;
+import com.letocart.java_apirest_2026.service.OrdersService;
+import com.letocart.java_apirest_2026.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.letocart.java_apirest_2026.support.HttpBasic.basic;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Budget de requêtes SQL des endpoints de liste : une page coûte un nombre constant de requêtes,
+ * quel que soit le nombre d'éléments et l'historique de chacun (pas de N+1)
+ */
+@IntegrationTest
+class SqlStatementBudgetTest {
+
+    private static final int ROWS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrdersService ordersService;
+
+    @Test
+    void listEndpointsStayWithinStatementBudget() throws Exception {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Account account = new Account("Prénom" + i, "Nom", "budget" + i + "@example.com", "secret");
+            account.setAddress(new Address(i + " rue de la Paix", "Paris", "75002", "France"));
+            accounts.add(account);
+        }
+        accountRepository.saveAll(accounts);
+        Product product = productRepository.save(new Product("Produit", "budget", new BigDecimal("5.00"), 1_000));
+        for (Account account : accounts) {
+            // Historique de commandes : ne doit pas être chargé par la liste des comptes
+            OrdersDetails line = new OrdersDetails();
+            line.setProduct(product);
+            line.setQuantity(2);
+            ordersService.createOrder(account.getAccountId(), new ArrayList<>(List.of(line)));
+        }
+
+        // Comptes et adresses : une seule requête (jointure), sans mot de passe
+        MvcResult result = mockMvc.perform(get("/api/accounts").param("limit", String.valueOf(ROWS))
+                        .header(HttpHeaders.AUTHORIZATION, basic("admin", "adminpassword")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(ROWS))
+                .andExpect(jsonPath("$.items[0].address.city").value("Paris"))
+                .andExpect(jsonPath("$.items[0].password").doesNotExist())
+                .andExpect(jsonPath("$.items[0].orders").doesNotExist())
+                .andExpect(SqlStatementBudget.atMost(1))
+                .andExpect(SqlStatementBudget.maxRepeats(1))
+                .andReturn();
+        assertThat(result.getResponse().getHeader(SqlStatementBudgetFilter.TIME_HEADER)).isNotBlank();
+        assertThatThrownBy(() -> SqlStatementBudget.atMost(0).match(result))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Requêtes SQL de GET /api/accounts");
+
+        // Commandes : en-têtes, puis lignes de toute la page avec le nom du produit
+        mockMvc.perform(get("/api/orders").param("limit", String.valueOf(ROWS))
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(ROWS))
+                .andExpect(jsonPath("$.items[0].ordersDetails[0].productName").value("Produit"))
+                .andExpect(jsonPath("$.items[0].ordersDetails[0].ordersId").doesNotExist())
+                .andExpect(SqlStatementBudget.atMost(2));
+
+        mockMvc.perform(get("/api/products").header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].ordersDetails").doesNotExist())
+                .andExpect(SqlStatementBudget.atMost(1));
+
+        mockMvc.perform(get("/api/notices").header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.atMost(1));
+    }
+}
@@ -0,0 +1,138 @@
+package com.letocart.java_apirest_2026.repository;
+
+import com.letocart.java_apirest_2026.model.Account;
+import com.letocart.java_apirest_2026.model.Product;
+import com.letocart.java_apirest_2026.monitoring.SqlStatementStats;
+import com.letocart.java_apirest_2026.service.NoticeService;
+import com.letocart.java_apirest_2026.service.OrdersService;
+import com.letocart.java_apirest_2026.service.ProductService;
+import com.letocart.java_apirest_2026.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.letocart.java_apirest_2026.support.Baskets.basket;
+import static com.letocart.java_apirest_2026.support.Baskets.line;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Schéma créé par les migrations Flyway : chaque requête des repositories lit ses tables par un index
+ *
+ * Le SQL réellement généré par Hibernate est capturé (SqlStatementStats) puis passé à EXPLAIN :
+ * aucun parcours complet de table n'est accepté, et l'accès attendu doit apparaître dans le plan.
+ * Quand un index composite commence par la colonne d'une clé étrangère, H2 peut lui préférer l'index
+ * qu'il crée pour la contrainte (MySQL n'en garde qu'un) : seule la colonne de l'accès est alors vérifiée.
+ * L'export des commandes (streamExportRows) lit toute la table par construction et n'est pas vérifié.
+ *
+ * Test de fumée sur H2 (mode MySQL) uniquement : il garantit qu'un index existe pour chaque accès et
+ * qu'une requête modifiée ne retombe pas sur un parcours complet, pas que l'optimiseur de MySQL choisira
+ * le même plan. Les plans MySQL se vérifient par EXPLAIN sur une base MySQL réelle, hors de ces tests
+ * (aucun MySQL ni conteneur n'est disponible pour la suite de tests).
+ */
+@IntegrationTest
+class RepositoryIndexUsageTest {
+
+    private static final Pattern TABLE_ACCESS = Pattern.compile("/\\* public\\.([^*]*) \\*/");
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrdersRepository ordersRepository;
+
+    @Autowired
+    private OrdersDetailsRepository ordersDetailsRepository;
+
+    @Autowired
+    private NoticeRepository noticeRepository;
+
+    @Autowired
+    private ProductRatingRepository productRatingRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrdersService ordersService;
+
+    @Autowired
+    private NoticeService noticeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void everyRepositoryQueryUsesAnIndex() throws Exception {
+        Account account = accountRepository.save(new Account("Léa", "Roux", "index@example.com", "secret"));
+        for (int i = 0; i < 20; i++) {
+            Product product = productService.createProduct(
+                    new Product("Produit " + i, "", new BigDecimal("10.00"), i % 4 == 0 ? 0 : 5));
+            if (i % 4 != 0) {
+                ordersService.createOrder(account.getAccountId(), basket(line(product, 1)));
+                noticeService.createNotice(account.getAccountId(), product.getProductId(), 1 + i % 5, "Avis " + i);
+            }
+        }
+        Long id = 1L;
+
+        assertIndexed(() -> ordersRepository.findViewsByAccount(id), ": account_id =");
+        assertIndexed(() -> ordersRepository.findByStatus("CONFIRMED"), "idx_orders_status_date: status =");
+        assertIndexed(() -> ordersRepository.findViewsAfter(0, Limit.of(10)), ": orders_id >");
+        assertIndexed(() -> ordersRepository.findViewById(id), ": orders_id =");
+        assertIndexed(() -> ordersRepository.findVersionStampById(id), ": orders_id = o1_0.orders_id");
+        assertIndexed(() -> ordersDetailsRepository.findViewsByOrders(List.of(1L, 2L)), ": orders_id in(");
+
+        assertIndexed(() -> noticeRepository.findViewsByProduct(id), ": product_id =");
+        assertIndexed(() -> noticeRepository.findVersionStampByProduct(id), "idx_notice_product_date: product_id =");
+        assertIndexed(() -> noticeRepository.findViewsByAccount(id), ": account_id =");
+        assertIndexed(() -> noticeRepository.findProductIdsByAccount(id), "idx_notice_account_date: account_id =");
+        assertIndexed(() -> noticeRepository.findViewsAfter(0, Limit.of(10)), ": notice_id >");
+
+        assertIndexed(() -> productRepository.findViewsInStock(), "idx_product_stock: stock_quantity >");
+        assertIndexed(() -> productRepository.findViewsByIds(List.of(1L, 2L)), ": product_id in(");
+        assertIndexed(() -> productRepository.findViewsAfter(0, Limit.of(10)), ": product_id >");
+        assertIndexed(() -> productRepository.findViewById(id), ": product_id =");
+
+        assertIndexed(() -> productRatingRepository.findViewByProductId(id), ": product_id =");
+        // Parcours de l'index dans l'ordre du classement, arrêté après :limit lignes
+        assertIndexed(() -> productRatingRepository.findTopRated(1, Limit.of(10)), "idx_product_rating_average");
+
+        assertIndexed(() -> accountRepository.findByEmail("index@example.com"), ": email =");
+        assertIndexed(() -> accountRepository.findExistingEmails(List.of("index@example.com", "autre@example.com")), ": email in(");
+        assertIndexed(() -> accountRepository.findViewsAfter(0, Limit.of(10)), ": account_id >");
+        assertIndexed(() -> accountRepository.findViewById(id), ": account_id =");
+    }
+
+    /**
+     * Exécute un appel de repository et vérifie le plan (EXPLAIN) de chaque requête SQL qu'il a produite
+     * @param access Accès par index attendu dans l'un des plans, tel qu'affiché par H2 ("index: condition")
+     */
+    private void assertIndexed(Runnable call, String access) {
+        SqlStatementStats.start();
+        call.run();
+        Set<String> sqlTexts = SqlStatementStats.stop().getSqlTexts();
+        assertThat(sqlTexts).isNotEmpty();
+        List<String> accesses = new ArrayList<>();
+        for (String sql : sqlTexts) {
+            // Paramètres remplacés par une valeur : EXPLAIN ne prend pas de paramètres liés
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql.replace("?", "'1'"), String.class);
+            assertThat(plan).as("Plan de %s", sql).doesNotContainIgnoringCase("tableScan");
+            // Accès aux tables : commentaires /* public.index: condition */ du plan
+            Matcher matcher = TABLE_ACCESS.matcher(plan.toLowerCase());
+            while (matcher.find()) {
+                accesses.add(matcher.group(1));
+            }
+        }
+        assertThat(accesses).as("Accès aux tables pour %s", sqlTexts).anyMatch(index -> index.contains(access));
+    }
+}
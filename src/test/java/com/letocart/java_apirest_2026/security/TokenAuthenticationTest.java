@@ -0,0 +1,92 @@
+package com.letocart.java_apirest_2026.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.letocart.java_apirest_2026.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static com.letocart.java_apirest_2026.support.HttpBasic.basic;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Jetons Bearer : émission contre HTTP Basic, vérification, droits, révocation et expiration
+ */
+@IntegrationTest
+class TokenAuthenticationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void bearerTokenReplacesBasicCredentials() throws Exception {
+        String userToken = issueToken("user", "userpassword");
+
+        mockMvc.perform(get("/api/products").header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken))
+                .andExpect(status().isOk());
+        // Les rôles du jeton sont ceux de l'utilisateur
+        mockMvc.perform(get("/api/accounts").header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+        // Un jeton ne se renouvelle pas lui-même
+        mockMvc.perform(post("/api/auth/token").header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken))
+                .andExpect(status().isBadRequest());
+        // Jeton falsifié
+        mockMvc.perform(get("/api/products").header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken + "x"))
+                .andExpect(status().isUnauthorized());
+
+        // Révocation : le jeton n'est plus accepté, un nouveau jeton l'est
+        mockMvc.perform(delete("/api/auth/token").header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/products").header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken))
+                .andExpect(status().isUnauthorized());
+        String newToken = issueToken("user", "userpassword");
+        mockMvc.perform(get("/api/products").header(HttpHeaders.AUTHORIZATION, "Bearer " + newToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/token").header(HttpHeaders.AUTHORIZATION, basic("user", "wrong")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        Instant issuedAt = Instant.parse("2026-01-01T10:00:00Z");
+        String secret = Base64.getEncoder().encodeToString(new byte[32]);
+        TokenService issuer = new TokenService(secret, Duration.ofMinutes(15), Clock.fixed(issuedAt, ZoneOffset.UTC));
+        String token = issuer.issue(UsernamePasswordAuthenticationToken.authenticated(
+                "user", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+
+        TokenService beforeExpiry = new TokenService(secret, Duration.ofMinutes(15),
+                Clock.fixed(issuedAt.plus(Duration.ofMinutes(14)), ZoneOffset.UTC));
+        TokenService afterExpiry = new TokenService(secret, Duration.ofMinutes(15),
+                Clock.fixed(issuedAt.plus(Duration.ofMinutes(15)), ZoneOffset.UTC));
+
+        assertThat(beforeExpiry.verify(token).getName()).isEqualTo("user");
+        assertThat(afterExpiry.verify(token)).isNull();
+    }
+
+    private String issueToken(String username, String password) throws Exception {
+        String body = mockMvc.perform(post("/api/auth/token").header(HttpHeaders.AUTHORIZATION, basic(username, password)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(body);
+        assertThat(json.get("tokenType").asText()).isEqualTo("Bearer");
+        return json.get("accessToken").asText();
+    }
+}
@@ -0,0 +1,135 @@
+package com.letocart.java_apirest_2026.service;
+
+import com.letocart.java_apirest_2026.dto.OrderView;
+import com.letocart.java_apirest_2026.model.Account;
+import com.letocart.java_apirest_2026.model.Product;
+import com.letocart.java_apirest_2026.repository.AccountRepository;
+import com.letocart.java_apirest_2026.repository.ProductRepository;
+import com.letocart.java_apirest_2026.support.CleanDatabaseExtension;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.letocart.java_apirest_2026.support.Baskets.basket;
+import static com.letocart.java_apirest_2026.support.Baskets.line;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Validation groupée : des paniers concurrents sont créés par lots, chacun reçoit sa commande
+ * ou son refus, sans survente
+ */
+@SpringBootTest(properties = {
+        "app.checkout.group-commit.enabled=true",
+        "app.checkout.group-commit.batch-size=16",
+        "app.checkout.group-commit.max-wait=50ms"})
+@ExtendWith(CleanDatabaseExtension.class)
+class CheckoutBatcherTest {
+
+    private static final int ORDERS = 40;
+
+    @Autowired
+    private CheckoutBatcher checkoutBatcher;
+
+    @Autowired
+    private OrdersService ordersService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void concurrentCheckoutsShareOneCommitPerBatch() throws Exception {
+        Account account = accountRepository.save(new Account("Nora", "Blanc", "batch@example.com", "secret"));
+        Product hot = productRepository.save(new Product("Console", "flash", new BigDecimal("299.00"), 30));
+        Product cable = productRepository.save(new Product("Câble", "flash", new BigDecimal("5.00"), 100));
+        // Prix baissé hors de ProductService après mise en cache : le lot est facturé au prix de la base
+        productCache.getAll(List.of(hot.getProductId(), cable.getProductId()));
+        jdbcTemplate.update("UPDATE product SET price = 4.00 WHERE product_id = ?", cable.getProductId());
+
+        List<CompletableFuture<OrderView>> results = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            results.add(checkoutBatcher.submit(account.getAccountId(), basket(line(hot, 1), line(cable, 1))));
+        }
+        CompletableFuture<OrderView> unknownAccount = checkoutBatcher.submit(999_999L, basket(line(cable, 1)));
+        CompletableFuture<OrderView> unknownProduct = checkoutBatcher.submit(account.getAccountId(),
+                basket(line(new Product("Fantôme", "", BigDecimal.ONE, 1), 1)));
+
+        int accepted = 0;
+        int rejected = 0;
+        for (CompletableFuture<OrderView> result : results) {
+            try {
+                OrderView order = result.get();
+                assertThat(order.ordersId()).isNotNull();
+                assertThat(order.totalAmount()).isEqualByComparingTo("303.00");
+                assertThat(order.ordersDetails()).hasSize(2).allSatisfy(line -> assertThat(line.id()).isNotNull());
+                accepted++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).hasMessage("Stock insuffisant pour le produit: Console");
+                rejected++;
+            }
+        }
+        assertThat(accepted).isEqualTo(30);
+        assertThat(rejected).isEqualTo(ORDERS - 30);
+        assertThat(unknownAccount).failsWithin(Duration.ofSeconds(5))
+                .withThrowableOfType(ExecutionException.class)
+                .withMessageContaining("Compte non trouvé");
+        assertThat(unknownProduct).failsWithin(Duration.ofSeconds(5))
+                .withThrowableOfType(ExecutionException.class)
+                .withMessageContaining("Produit non");
+
+        // Stock décrémenté une fois par commande acceptée, commandes et lignes relues depuis la base
+        assertThat(productRepository.findById(hot.getProductId()).orElseThrow().getStockQuantity()).isZero();
+        assertThat(productRepository.findById(cable.getProductId()).orElseThrow().getStockQuantity()).isEqualTo(70);
+        List<OrderView> stored = ordersService.getOrdersByAccount(account.getAccountId());
+        assertThat(stored).hasSize(30);
+        OrderView first = results.get(0).get();
+        // Date tronquée à la microseconde par la colonne DATETIME(6)
+        assertThat(ordersService.getOrderById(first.ordersId()).orElseThrow())
+                .usingRecursiveComparison().ignoringFields("orderDate").isEqualTo(first);
+
+        // Moins de transactions que de commandes
+        DistributionSummary batches = meterRegistry.get("app.checkout.batch.size").summary();
+        assertThat(batches.totalAmount()).isEqualTo(ORDERS + 2);
+        assertThat(batches.count()).isLessThan(ORDERS / 2);
+    }
+
+    @Test
+    void stoppedBatcherRejectsInsteadOfLeavingCallersWaiting() throws Exception {
+        Product pen = productRepository.save(new Product("Stylo", "", new BigDecimal("2.00"), 10));
+        CheckoutBatcher stopped = new CheckoutBatcher(ordersService, meterRegistry, true, 16,
+                Duration.ofMillis(5), 10, Duration.ofSeconds(1));
+        stopped.afterSingletonsInstantiated();
+        stopped.shutdown();
+
+        assertThat(stopped.submit(1L, basket(line(pen, 1)))).failsWithin(Duration.ofSeconds(1))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(RejectedExecutionException.class);
+        assertThatThrownBy(() -> stopped.createOrder(1L, basket(line(pen, 1))))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(productRepository.findById(pen.getProductId()).orElseThrow().getStockQuantity()).isEqualTo(10);
+    }
+}
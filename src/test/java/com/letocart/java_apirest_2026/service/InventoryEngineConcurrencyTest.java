@@ -0,0 +1,60 @@
+package com.letocart.java_apirest_2026.service;
+
+import com.letocart.java_apirest_2026.model.Product;
+import com.letocart.java_apirest_2026.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Même scénario de vente flash, avec le moteur d'inventaire en mémoire activé
+ */
+@SpringBootTest(properties = "app.inventory.in-memory.enabled=true")
+class InventoryEngineConcurrencyTest extends OrdersServiceConcurrencyTest {
+
+    @Autowired
+    private InventoryEngine inventoryEngine;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Test
+    void reservationMadeBeforeAStockResetIsNotGivenBack() throws Exception {
+        Product lamp = productService.createProduct(new Product("Lampe", "", new BigDecimal("25.00"), 10));
+        InventoryEngine.Reservation reservation = inventoryEngine.reserve(new TreeMap<>(Map.of(lamp.getProductId(), 3)));
+        assertThat(reservation.insufficient()).isEmpty();
+
+        // Stock fixé par l'administrateur, puis commande annulée : la réservation n'est pas rendue
+        productService.updateProduct(lamp.getProductId(), new Product("Lampe", "", new BigDecimal("25.00"), 20));
+        inventoryEngine.release(reservation);
+        inventoryEngine.flush();
+
+        assertThat(inventoryEngine.availableStock(lamp.getProductId())).isEqualTo(20);
+        assertThat(productRepository.findById(lamp.getProductId()).orElseThrow().getStockQuantity()).isEqualTo(20);
+
+        // Réservation faite après la remise à zéro : rendue normalement
+        InventoryEngine.Reservation after = inventoryEngine.reserve(new TreeMap<>(Map.of(lamp.getProductId(), 4)));
+        inventoryEngine.release(after);
+        inventoryEngine.flush();
+        assertThat(inventoryEngine.availableStock(lamp.getProductId())).isEqualTo(20);
+        assertThat(productRepository.findById(lamp.getProductId()).orElseThrow().getStockQuantity()).isEqualTo(20);
+
+        // Écriture différée : le stock en cache est relu après l'écriture en base
+        assertThat(productCache.get(lamp.getProductId()).orElseThrow().stockQuantity()).isEqualTo(20);
+        inventoryEngine.reserve(new TreeMap<>(Map.of(lamp.getProductId(), 5)));
+        inventoryEngine.flush();
+        assertThat(productCache.get(lamp.getProductId()).orElseThrow().stockQuantity()).isEqualTo(15);
+    }
+}
@@ -0,0 +1,105 @@
+package com.letocart.java_apirest_2026.service;
+
+import com.letocart.java_apirest_2026.model.Account;
+import com.letocart.java_apirest_2026.model.OrdersDetails;
+import com.letocart.java_apirest_2026.model.Product;
+import com.letocart.java_apirest_2026.repository.AccountRepository;
+import com.letocart.java_apirest_2026.repository.OrdersRepository;
+import com.letocart.java_apirest_2026.repository.ProductRepository;
+import com.letocart.java_apirest_2026.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test de charge concurrente sur OrdersService.createOrder :
+ * de nombreux paniers se disputent le même stock, aucune survente ne doit avoir lieu.
+ */
+@IntegrationTest
+class OrdersServiceConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int ORDERS = 400;
+
+    @Autowired
+    private OrdersService ordersService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private OrdersRepository ordersRepository;
+
+    @Autowired
+    private InventoryEngine inventoryEngine;
+
+    @Test
+    void concurrentCheckoutsNeverOversell() throws Exception {
+        Account account = accountRepository.save(
+                new Account("Stress", "Test", "stress-" + System.nanoTime() + "@example.com", "secret"));
+        Product hot = productRepository.save(new Product("Produit phare", "flash", new BigDecimal("9.99"), 150));
+        Product other = productRepository.save(new Product("Accessoire", "flash", new BigDecimal("4.50"), 120));
+
+        long ordersBefore = ordersRepository.count();
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            // Les paniers listent les produits dans des ordres différents (risque d'interblocage)
+            boolean reversed = i % 2 == 0;
+            futures.add(pool.submit(() -> {
+                start.await();
+                List<OrdersDetails> basket = reversed
+                        ? List.of(line(other, 1), line(hot, 1))
+                        : List.of(line(hot, 1), line(other, 1));
+                try {
+                    ordersService.createOrder(account.getAccountId(), new ArrayList<>(basket));
+                    accepted.incrementAndGet();
+                } catch (Exception e) {
+                    assertThat(e.getMessage()).startsWith("Stock insuffisant");
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        inventoryEngine.flush(); // sans effet si le moteur en mémoire est désactivé
+
+        // "other" est le produit limitant : exactement 120 paniers acceptés
+        assertThat(accepted.get()).isEqualTo(120);
+        assertThat(rejected.get()).isEqualTo(ORDERS - 120);
+        assertThat(productRepository.findById(hot.getProductId()).orElseThrow().getStockQuantity()).isEqualTo(30);
+        assertThat(productRepository.findById(other.getProductId()).orElseThrow().getStockQuantity()).isZero();
+        assertThat(ordersRepository.count() - ordersBefore).isEqualTo(120);
+    }
+
+    private static OrdersDetails line(Product product, int quantity) {
+        Product reference = new Product();
+        reference.setProductId(product.getProductId());
+        OrdersDetails detail = new OrdersDetails();
+        detail.setProduct(reference);
+        detail.setQuantity(quantity);
+        return detail;
+    }
+}
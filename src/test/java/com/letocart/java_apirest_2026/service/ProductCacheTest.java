@@ -0,0 +1,99 @@
+package com.letocart.java_apirest_2026.service;
+
+import com.letocart.java_apirest_2026.model.Account;
+import com.letocart.java_apirest_2026.model.Product;
+import com.letocart.java_apirest_2026.monitoring.SqlStatementBudget;
+import com.letocart.java_apirest_2026.repository.AccountRepository;
+import com.letocart.java_apirest_2026.support.IntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static com.letocart.java_apirest_2026.support.Baskets.basket;
+import static com.letocart.java_apirest_2026.support.Baskets.line;
+import static com.letocart.java_apirest_2026.support.HttpBasic.basic;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cache local des produits : lecture sans SQL une fois chargé, invalidation par la modification,
+ * la commande et la suppression, refus de stock et prix facturé toujours décidés par la base
+ */
+@IntegrationTest
+class ProductCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrdersService ordersService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void cachedProductsStayCoherentWithWrites() throws Exception {
+        Account account = accountRepository.save(new Account("Hugo", "Petit", "cache@example.com", "secret"));
+        Product kettle = productService.createProduct(new Product("Bouilloire", "1,7 L", new BigDecimal("29.90"), 3));
+        String url = "/api/products/" + kettle.getProductId();
+
+        // Premier accès : une lecture ; suivants : aucune requête SQL
+        mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stockQuantity").value(3));
+        mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(29.9))
+                .andExpect(SqlStatementBudget.atMost(0));
+
+        // Modification : le nouveau prix est servi
+        productService.updateProduct(kettle.getProductId(), new Product("Bouilloire", "1,7 L", new BigDecimal("24.90"), 3));
+        mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(jsonPath("$.price").value(24.9));
+
+        // Commande : le stock servi est celui de la base, et le panier est valorisé au nouveau prix
+        assertThat(ordersService.createOrder(account.getAccountId(), basket(line(kettle, 2))).totalAmount())
+                .isEqualByComparingTo("49.80");
+        mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(jsonPath("$.stockQuantity").value(1));
+
+        // Le stock en cache ne décide pas : la base refuse, le cache suit
+        assertThatThrownBy(() -> ordersService.createOrder(account.getAccountId(), basket(line(kettle, 2))))
+                .hasMessageContaining("Stock insuffisant pour le produit: Bouilloire");
+        mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(jsonPath("$.stockQuantity").value(1));
+
+        // Prix modifié hors de ProductService (cache non invalidé) : la commande est facturée au prix de la base
+        jdbcTemplate.update("UPDATE product SET price = 19.90 WHERE product_id = ?", kettle.getProductId());
+        mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(jsonPath("$.price").value(24.9));
+        assertThat(ordersService.createOrder(account.getAccountId(), basket(line(kettle, 1))).totalAmount())
+                .isEqualByComparingTo("19.90");
+
+        // Suppression : plus servi
+        productService.deleteProduct(kettle.getProductId());
+        mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isNotFound());
+
+        assertThat(meterRegistry.get("app.products.cache.hit.ratio").gauge().value()).isBetween(0.0, 1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "products").tag("result", "hit")
+                .functionCounter().count()).isPositive();
+    }
+}
@@ -0,0 +1,130 @@
+package com.letocart.java_apirest_2026.service;
+
+import com.letocart.java_apirest_2026.dto.CursorPage;
+import com.letocart.java_apirest_2026.dto.ProductFilterView;
+import com.letocart.java_apirest_2026.model.Account;
+import com.letocart.java_apirest_2026.model.OrdersDetails;
+import com.letocart.java_apirest_2026.model.Product;
+import com.letocart.java_apirest_2026.monitoring.SqlStatementBudget;
+import com.letocart.java_apirest_2026.repository.AccountRepository;
+import com.letocart.java_apirest_2026.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.letocart.java_apirest_2026.support.HttpBasic.basic;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Catalogue filtré par l'index en colonnes : critères, tris, pagination, et mise à jour
+ * par les produits, les commandes et les avis
+ */
+@IntegrationTest
+class ProductFilterTest {
+
+    private static final ProductFilterIndex.Criteria ALL = new ProductFilterIndex.Criteria(null, null, false, null);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrdersService ordersService;
+
+    @Autowired
+    private NoticeService noticeService;
+
+    @Autowired
+    private ProductFilterIndex filterIndex;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void filtersFollowProductsOrdersAndNotices() throws Exception {
+        Account account = accountRepository.save(new Account("Léa", "Roux", "filter@example.com", "secret"));
+        Product pen = create("Stylo", "1.50", 10);
+        Product notebook = create("Cahier", "3.20", 2);
+        Product bag = create("Cartable", "45.00", 0);
+        Product lamp = create("Lampe", "19.99", 5);
+
+        // Prix bornes incluses, tri par prix
+        assertThat(ids(productService.filterProducts(
+                new ProductFilterIndex.Criteria(new BigDecimal("1.50"), new BigDecimal("19.99"), false, null), "price_desc", null, 10)))
+                .containsExactly(lamp.getProductId(), notebook.getProductId(), pen.getProductId());
+        assertThat(ids(productService.filterProducts(
+                new ProductFilterIndex.Criteria(null, null, true, null), "price_asc", null, 10)))
+                .containsExactly(pen.getProductId(), notebook.getProductId(), lamp.getProductId());
+
+        // Commande validée : le cahier n'est plus en stock
+        OrdersDetails line = new OrdersDetails();
+        line.setProduct(notebook);
+        line.setQuantity(2);
+        ordersService.createOrder(account.getAccountId(), new ArrayList<>(List.of(line)));
+        assertThat(ids(productService.filterProducts(
+                new ProductFilterIndex.Criteria(null, null, true, null), null, null, 10)))
+                .containsExactly(pen.getProductId(), lamp.getProductId());
+
+        // Avis : filtre et tri par note
+        noticeService.createNotice(account.getAccountId(), lamp.getProductId(), 5, null);
+        noticeService.createNotice(account.getAccountId(), pen.getProductId(), 4, null);
+        noticeService.createNotice(account.getAccountId(), pen.getProductId(), 3, null);
+        CursorPage<ProductFilterView> rated = productService.filterProducts(
+                new ProductFilterIndex.Criteria(null, null, false, new BigDecimal("3.5")), "rating_desc", null, 10);
+        assertThat(ids(rated)).containsExactly(lamp.getProductId(), pen.getProductId());
+        assertThat(rated.getItems().get(1).averageRating()).isEqualByComparingTo("3.50");
+        assertThat(rated.getItems().get(1).ratingCount()).isEqualTo(2);
+
+        // Modification (prix, stock) et suppression
+        productService.updateProduct(bag.getProductId(), new Product("Cartable", "", new BigDecimal("39.00"), 3));
+        productService.deleteProduct(notebook.getProductId());
+        CursorPage<ProductFilterView> first = productService.filterProducts(ALL, "price_desc", null, 2);
+        assertThat(ids(first)).containsExactly(bag.getProductId(), lamp.getProductId());
+        assertThat(first.getItems().get(0).price()).isEqualByComparingTo("39.00");
+        assertThat(first.isHasNext()).isTrue();
+        CursorPage<ProductFilterView> second = productService.filterProducts(ALL, "price_desc", first.getNextCursor(), 2);
+        assertThat(ids(second)).containsExactly(pen.getProductId());
+        assertThat(second.isHasNext()).isFalse();
+
+        // Rechargement depuis la base (notes lues dans product_rating) : mêmes résultats
+        filterIndex.reload();
+        CursorPage<ProductFilterView> reloaded = productService.filterProducts(
+                new ProductFilterIndex.Criteria(null, null, false, new BigDecimal("3.5")), "rating_desc", null, 10);
+        assertThat(ids(reloaded)).containsExactly(lamp.getProductId(), pen.getProductId());
+        assertThat(reloaded.getItems().get(1).averageRating()).isEqualByComparingTo("3.50");
+        assertThat(ids(productService.filterProducts(ALL, "price_desc", null, 10)))
+                .containsExactly(bag.getProductId(), lamp.getProductId(), pen.getProductId());
+
+        // Endpoint : aucune requête SQL
+        mockMvc.perform(get("/api/products/filter").param("inStock", "true").param("maxPrice", "20")
+                        .param("sort", "price_asc")
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].name").value("Stylo"))
+                .andExpect(jsonPath("$.items[0].price").value(1.5))
+                .andExpect(jsonPath("$.items[0].ratingCount").value(2))
+                .andExpect(SqlStatementBudget.atMost(0));
+        mockMvc.perform(get("/api/products/filter").param("sort", "popularity")
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Product create(String name, String price, int stock) {
+        return productService.createProduct(new Product(name, "", new BigDecimal(price), stock));
+    }
+
+    private static List<Long> ids(CursorPage<ProductFilterView> page) {
+        return page.getItems().stream().map(ProductFilterView::productId).toList();
+    }
+}
@@ -0,0 +1,84 @@
+package com.letocart.java_apirest_2026.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.letocart.java_apirest_2026.dto.CursorPage;
+import com.letocart.java_apirest_2026.dto.ProductView;
+import com.letocart.java_apirest_2026.model.Product;
+import com.letocart.java_apirest_2026.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.letocart.java_apirest_2026.support.HttpBasic.basic;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Listes du catalogue assemblées depuis le JSON pré-sérialisé : même contenu que Jackson,
+ * fragments réutilisés, et jamais périmés après une modification
+ */
+@IntegrationTest
+class ProductJsonCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductJsonCache productJsonCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void assembledListsMatchJacksonAndFollowUpdates() throws Exception {
+        Product mug = productService.createProduct(new Product("Mug \"Café\"", "Grès, 35 cl\nlavable", new BigDecimal("8.50"), 12));
+        Product tray = productService.createProduct(new Product("Plateau", null, new BigDecimal("15.00"), 0));
+
+        // Même arbre JSON que la sérialisation Jackson (échappements, null, décimales)
+        CursorPage<ProductView> page = productService.getAllProducts(null, 1);
+        assertThat(objectMapper.readTree(productJsonCache.page(page))).isEqualTo(jackson(page));
+        CursorPage<ProductView> empty = new CursorPage<>(List.of(), null, false);
+        assertThat(objectMapper.readTree(productJsonCache.page(empty))).isEqualTo(jackson(empty));
+        List<ProductView> inStock = productService.getProductsInStock();
+        assertThat(objectMapper.readTree(productJsonCache.list(inStock))).isEqualTo(jackson(inStock));
+
+        // Vue inchangée : le même fragment est réutilisé
+        ProductView view = productService.getProductById(mug.getProductId()).orElseThrow();
+        assertThat(productJsonCache.fragment(view)).isSameAs(productJsonCache.fragment(view));
+
+        mockMvc.perform(get("/api/products").param("limit", "10")
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].name").value("Mug \"Café\""))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        // Modification : le nouveau prix et le nouveau stock sont servis
+        productService.updateProduct(tray.getProductId(), new Product("Plateau", null, new BigDecimal("13.00"), 4));
+        mockMvc.perform(get("/api/products/in-stock").header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].price").value(13.0))
+                .andExpect(jsonPath("$[1].stockQuantity").value(4));
+    }
+
+    /**
+     * Arbre JSON de la sérialisation Jackson habituelle (relue depuis les octets : mêmes types de nombres)
+     */
+    private JsonNode jackson(Object value) throws Exception {
+        return objectMapper.readTree(objectMapper.writeValueAsBytes(value));
+    }
+}
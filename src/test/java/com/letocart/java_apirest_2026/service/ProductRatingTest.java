@@ -0,0 +1,117 @@
+package com.letocart.java_apirest_2026.service;
+
+import com.letocart.java_apirest_2026.application.port.in.ManageAccountUseCase;
+import com.letocart.java_apirest_2026.dto.ProductRatingView;
+import com.letocart.java_apirest_2026.model.Account;
+import com.letocart.java_apirest_2026.model.Notice;
+import com.letocart.java_apirest_2026.model.Product;
+import com.letocart.java_apirest_2026.monitoring.SqlStatementBudget;
+import com.letocart.java_apirest_2026.repository.AccountRepository;
+import com.letocart.java_apirest_2026.repository.ProductRepository;
+import com.letocart.java_apirest_2026.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.letocart.java_apirest_2026.support.HttpBasic.basic;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Agrégats de notes des produits : tenus à jour à la création et à la suppression des avis
+ * (y compris en cascade avec un compte), et lus sans parcourir les avis
+ */
+@IntegrationTest
+class ProductRatingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private NoticeService noticeService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ManageAccountUseCase manageAccountUseCase;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void aggregatesFollowNoticeLifecycle() throws Exception {
+        Account alice = accountRepository.save(new Account("Alice", "Martin", "alice.rating@example.com", "secret"));
+        Account bob = accountRepository.save(new Account("Bob", "Durand", "bob.rating@example.com", "secret"));
+        Product lamp = productRepository.save(new Product("Lampe", "rating", new BigDecimal("20.00"), 10));
+        Product chair = productRepository.save(new Product("Chaise", "rating", new BigDecimal("40.00"), 10));
+        Product table = productRepository.save(new Product("Table", "rating", new BigDecimal("90.00"), 10));
+
+        noticeService.createNotice(alice.getAccountId(), lamp.getProductId(), 5, "Parfait");
+        Notice bobLamp = noticeService.createNotice(bob.getAccountId(), lamp.getProductId(), 2, "Fragile");
+        noticeService.createNotice(alice.getAccountId(), chair.getProductId(), 4, "Confortable");
+        noticeService.createNotice(bob.getAccountId(), chair.getProductId(), 4, null);
+
+        ProductRatingView lampRating = productService.getRating(lamp.getProductId()).orElseThrow();
+        assertThat(lampRating.ratingCount()).isEqualTo(2);
+        assertThat(lampRating.averageRating()).isEqualByComparingTo("3.50");
+        assertThat(lampRating.histogram()).containsEntry("5", 1).containsEntry("2", 1).containsEntry("1", 0);
+
+        // Classement : Chaise (4.00) devant Lampe (3.50) ; Table, sans avis, n'est pas classée
+        assertThat(productService.getTopRated(10, 1)).extracting(ProductRatingView::productId)
+                .containsExactly(chair.getProductId(), lamp.getProductId());
+
+        noticeService.deleteNotice(bobLamp.getNoticeId());
+        lampRating = productService.getRating(lamp.getProductId()).orElseThrow();
+        assertThat(lampRating.ratingCount()).isEqualTo(1);
+        assertThat(lampRating.averageRating()).isEqualByComparingTo("5.00");
+        assertThat(productService.getTopRated(10, 1)).extracting(ProductRatingView::productId)
+                .containsExactly(lamp.getProductId(), chair.getProductId());
+        assertThat(productService.getTopRated(10, 2)).extracting(ProductRatingView::productId)
+                .containsExactly(chair.getProductId());
+
+        // Les avis d'Alice disparaissent avec son compte : agrégats recalculés
+        manageAccountUseCase.deleteAccount(alice.getAccountId());
+        assertThat(productService.getRating(lamp.getProductId()).orElseThrow().ratingCount()).isZero();
+        ProductRatingView chairRating = productService.getRating(chair.getProductId()).orElseThrow();
+        assertThat(chairRating.ratingCount()).isEqualTo(1);
+        assertThat(chairRating.histogram()).containsEntry("4", 1);
+        assertThat(productService.getTopRated(10, 1)).extracting(ProductRatingView::productId)
+                .containsExactly(chair.getProductId());
+
+        // Endpoints : une seule requête SQL, quel que soit le nombre d'avis
+        mockMvc.perform(get("/api/products/{id}/rating", chair.getProductId())
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productName").value("Chaise"))
+                .andExpect(jsonPath("$.ratingCount").value(1))
+                .andExpect(jsonPath("$.averageRating").value(4.0))
+                .andExpect(jsonPath("$.histogram.4").value(1))
+                .andExpect(SqlStatementBudget.atMost(1));
+        mockMvc.perform(get("/api/products/{id}/rating", table.getProductId())
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ratingCount").value(0));
+        mockMvc.perform(get("/api/products/{id}/rating", Long.MAX_VALUE)
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/products/top-rated").param("limit", "5")
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].productId").value(chair.getProductId()))
+                .andExpect(SqlStatementBudget.atMost(1));
+        mockMvc.perform(get("/api/products/top-rated").param("limit", "0")
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,146 @@
+package com.letocart.java_apirest_2026.service;
+
+import com.letocart.java_apirest_2026.dto.CursorPage;
+import com.letocart.java_apirest_2026.dto.ProductView;
+import com.letocart.java_apirest_2026.model.Product;
+import com.letocart.java_apirest_2026.monitoring.SqlStatementBudget;
+import com.letocart.java_apirest_2026.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.letocart.java_apirest_2026.support.HttpBasic.basic;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Recherche de produits par l'index inversé en mémoire : accents, mots multiples,
+ * pertinence, pagination et mise à jour de l'index avec les produits
+ */
+@IntegrationTest
+class ProductSearchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void tokenizerFoldsCaseAccentsAndLigatures() {
+        assertThat(ProductSearchIndex.tokenize("Cafetière À PISTON, œuf-cœur 2L"))
+                .containsExactly("cafetiere", "a", "piston", "oeuf", "coeur", "2l");
+        assertThat(ProductSearchIndex.tokenize("  ")).isEmpty();
+    }
+
+    @Test
+    void searchRanksAndPagesMatchingProducts() throws Exception {
+        Product cafetiere = create("Cafetière à piston", "Verre borosilicaté, 1 litre");
+        Product moulin = create("Moulin à café", "Meules céramique pour cafetière à piston");
+        Product tasse = create("Tasse expresso", "Porcelaine, idéale pour le café");
+        Product theiere = create("Théière en fonte", "Fonte émaillée");
+
+        // Accents indifférents ; le nom pèse plus que la description
+        assertThat(ids(productService.searchProducts("CAFETIERE", null, 10)))
+                .containsExactly(cafetiere.getProductId(), moulin.getProductId());
+        // Tous les mots sont requis
+        assertThat(ids(productService.searchProducts("café porcelaine", null, 10)))
+                .containsExactly(tasse.getProductId());
+        // Préfixe ("caf") et sous-chaîne ("iere" : cafetière, moulin pour cafetière, théière)
+        assertThat(ids(productService.searchProducts("caf", null, 10)))
+                .containsExactlyInAnyOrder(cafetiere.getProductId(), moulin.getProductId(), tasse.getProductId());
+        assertThat(ids(productService.searchProducts("iere", null, 10)))
+                .containsExactlyInAnyOrder(cafetiere.getProductId(), moulin.getProductId(), theiere.getProductId());
+        assertThat(ids(productService.searchProducts("xyz", null, 10))).isEmpty();
+
+        // Pagination par rang
+        CursorPage<ProductView> first = productService.searchProducts("iere", null, 2);
+        assertThat(first.isHasNext()).isTrue();
+        CursorPage<ProductView> second = productService.searchProducts("iere", first.getNextCursor(), 2);
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(ids(second)).hasSize(1).doesNotContainAnyElementsOf(ids(first));
+
+        // L'index suit les modifications et suppressions
+        productService.updateProduct(theiere.getProductId(),
+                new Product("Bouilloire", "Inox", new BigDecimal("30.00"), 5));
+        assertThat(ids(productService.searchProducts("theiere", null, 10))).isEmpty();
+        assertThat(ids(productService.searchProducts("bouilloire inox", null, 10)))
+                .containsExactly(theiere.getProductId());
+        productService.deleteProduct(tasse.getProductId());
+        assertThat(ids(productService.searchProducts("expresso", null, 10))).isEmpty();
+
+        // Modification annulée : l'index n'est mis à jour qu'après le commit
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try {
+                productService.updateProduct(moulin.getProductId(),
+                        new Product("Grille-pain", "Inox", new BigDecimal("25.00"), 5));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            status.setRollbackOnly();
+        });
+        assertThat(ids(productService.searchProducts("grille", null, 10))).isEmpty();
+        assertThat(ids(productService.searchProducts("moulin", null, 10))).containsExactly(moulin.getProductId());
+
+        // Endpoint : une seule requête SQL (les produits de la page), jamais de parcours de la table
+        mockMvc.perform(get("/api/products/search").param("name", "piston").param("limit", "1")
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].name").value("Cafetière à piston"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(SqlStatementBudget.atMost(1));
+        mockMvc.perform(get("/api/products/search").param("name", "piston").param("after", "???")
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void changesMadeWhileReloadingAreReplayedOnTheNewIndex() throws Exception {
+        Product cafetiere = create("Cafetière à piston", "Verre");
+        Product tasse = create("Tasse expresso", "Porcelaine");
+        // Modifications reçues entre la lecture de la table et le remplacement de l'index
+        AtomicReference<ProductSearchIndex> index = new AtomicReference<>();
+        JdbcTemplate concurrentWrites = new JdbcTemplate(dataSource) {
+            @Override
+            public void query(String sql, RowCallbackHandler handler) {
+                super.query(sql, handler);
+                index.get().index(cafetiere.getProductId(), "Bouilloire", "Inox");
+                index.get().remove(tasse.getProductId());
+            }
+        };
+        index.set(new ProductSearchIndex(concurrentWrites));
+
+        index.get().reload();
+
+        assertThat(index.get().search("bouilloire", 0, 10)).containsExactly(cafetiere.getProductId());
+        assertThat(index.get().search("cafetiere", 0, 10)).isEmpty();
+        assertThat(index.get().search("expresso", 0, 10)).isEmpty();
+    }
+
+    private Product create(String name, String description) {
+        return productService.createProduct(new Product(name, description, new BigDecimal("10.00"), 5));
+    }
+
+    private static List<Long> ids(CursorPage<ProductView> page) {
+        return page.getItems().stream().map(ProductView::productId).toList();
+    }
+}
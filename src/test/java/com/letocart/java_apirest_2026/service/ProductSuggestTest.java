@@ -0,0 +1,168 @@
+package com.letocart.java_apirest_2026.service;
+
+import com.letocart.java_apirest_2026.dto.ProductSuggestion;
+import com.letocart.java_apirest_2026.event.OrderCreatedEvent;
+import com.letocart.java_apirest_2026.model.Account;
+import com.letocart.java_apirest_2026.model.OrdersDetails;
+import com.letocart.java_apirest_2026.model.Product;
+import com.letocart.java_apirest_2026.monitoring.SqlStatementBudget;
+import com.letocart.java_apirest_2026.repository.AccountRepository;
+import com.letocart.java_apirest_2026.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.letocart.java_apirest_2026.support.HttpBasic.basic;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Saisie semi-automatique : classement par ventes tenu à jour à chaque commande validée,
+ * suivi des renommages et suppressions, réponses sans requête SQL
+ */
+@IntegrationTest
+class ProductSuggestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrdersService ordersService;
+
+    @Autowired
+    private ProductSuggestIndex suggestIndex;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void suggestionsFollowSalesAndProductChanges() throws Exception {
+        Account account = accountRepository.save(new Account("Claire", "Petit", "suggest@example.com", "secret"));
+        Product cafetiere = create("Cafetière à piston");
+        Product cafe = create("Café moulu");
+        Product capsules = create("Capsules de café");
+        Product tasse = create("Tasse");
+
+        // Sans vente : ordre alphabétique ; un mot du nom suffit ("café" dans "Capsules de café")
+        assertThat(ids(productService.suggest("caf", 5)))
+                .containsExactly(cafe.getProductId(), cafetiere.getProductId(), capsules.getProductId());
+
+        order(account, cafetiere, 3);
+        order(account, capsules, 1);
+        assertThat(productService.suggest("CAF", 5)).extracting(ProductSuggestion::unitsSold).containsExactly(3L, 1L, 0L);
+        assertThat(ids(productService.suggest("caf", 5)))
+                .containsExactly(cafetiere.getProductId(), capsules.getProductId(), cafe.getProductId());
+        assertThat(ids(productService.suggest("Café  M", 5))).containsExactly(cafe.getProductId());
+        assertThat(ids(productService.suggest("pist", 5))).containsExactly(cafetiere.getProductId());
+        assertThat(ids(productService.suggest("ca", 1))).containsExactly(cafetiere.getProductId());
+
+        // Commande refusée (stock insuffisant) : ventes inchangées
+        assertThatThrownBy(() -> order(account, cafe, 1_000)).hasMessageContaining("Stock insuffisant");
+        assertThat(productService.suggest("cafe m", 5)).extracting(ProductSuggestion::unitsSold).containsExactly(0L);
+
+        // Renommage (ventes conservées) et suppression
+        productService.updateProduct(cafetiere.getProductId(), new Product("Théière", "", new BigDecimal("10.00"), 100));
+        assertThat(ids(productService.suggest("caf", 5))).containsExactly(capsules.getProductId(), cafe.getProductId());
+        assertThat(productService.suggest("the", 5)).extracting(ProductSuggestion::unitsSold).containsExactly(3L);
+        productService.deleteProduct(tasse.getProductId());
+        assertThat(productService.suggest("tas", 5)).isEmpty();
+
+        // Suppression d'un produit classé : le suivant du sous-arbre le remplace, les branches vides sont coupées
+        int nodes = suggestIndex.nodeCount();
+        List<Long> bols = new ArrayList<>();
+        for (int i = 0; i <= ProductSuggestIndex.MAX_SUGGESTIONS; i++) {
+            bols.add(create("Bol " + (char) ('a' + i) + " xylophone").getProductId());
+        }
+        assertThat(ids(productService.suggest("bol", ProductSuggestIndex.MAX_SUGGESTIONS))).hasSize(ProductSuggestIndex.MAX_SUGGESTIONS)
+                .doesNotContain(bols.get(ProductSuggestIndex.MAX_SUGGESTIONS));
+        productService.deleteProduct(bols.get(0));
+        assertThat(ids(productService.suggest("bol", ProductSuggestIndex.MAX_SUGGESTIONS))).hasSize(ProductSuggestIndex.MAX_SUGGESTIONS)
+                .doesNotContain(bols.get(0)).contains(bols.get(ProductSuggestIndex.MAX_SUGGESTIONS));
+        assertThat(ids(productService.suggest("xylo", 1))).containsExactly(bols.get(1));
+        for (Long bol : bols.subList(1, bols.size())) {
+            productService.deleteProduct(bol);
+        }
+        assertThat(productService.suggest("bol", 5)).isEmpty();
+        assertThat(suggestIndex.nodeCount()).isEqualTo(nodes);
+
+        // Rechargement depuis la base : mêmes ventes
+        suggestIndex.reload();
+        assertThat(productService.suggest("the", 5)).extracting(ProductSuggestion::unitsSold).containsExactly(3L);
+        assertThat(ids(productService.suggest("c", 5))).containsExactly(capsules.getProductId(), cafe.getProductId());
+
+        // Endpoint : aucune requête SQL
+        mockMvc.perform(get("/api/products/suggest").param("prefix", "caps").param("k", "3")
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Capsules de café"))
+                .andExpect(jsonPath("$[0].unitsSold").value(1))
+                .andExpect(SqlStatementBudget.atMost(0));
+        mockMvc.perform(get("/api/products/suggest").param("prefix", "caf").param("k", "50")
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "userpassword")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void salesAndRenamesReceivedWhileReloadingAreReplayed() {
+        Product cafetiere = create("Cafetière à piston");
+        Product cafe = create("Café moulu");
+        Product tasse = create("Tasse");
+        // Vente, renommage et suppression reçus entre la lecture des tables et le remplacement du trie
+        AtomicReference<ProductSuggestIndex> index = new AtomicReference<>();
+        JdbcTemplate concurrentWrites = new JdbcTemplate(dataSource) {
+            @Override
+            public void query(String sql, RowCallbackHandler handler) {
+                super.query(sql, handler);
+                index.get().onOrderCreated(new OrderCreatedEvent(1L, Map.of(cafe.getProductId(), 4)));
+                index.get().index(cafetiere.getProductId(), "Cafetière italienne");
+                index.get().remove(tasse.getProductId());
+            }
+        };
+        index.set(new ProductSuggestIndex(concurrentWrites));
+
+        index.get().reload();
+
+        assertThat(index.get().suggest("caf", 5))
+                .extracting(ProductSuggestion::productId, ProductSuggestion::unitsSold)
+                .containsExactly(tuple(cafe.getProductId(), 4L), tuple(cafetiere.getProductId(), 0L));
+        assertThat(index.get().suggest("italienne", 5)).hasSize(1);
+        assertThat(index.get().suggest("piston", 5)).isEmpty();
+        assertThat(index.get().suggest("tasse", 5)).isEmpty();
+    }
+
+    private Product create(String name) {
+        return productService.createProduct(new Product(name, "", new BigDecimal("10.00"), 100));
+    }
+
+    private void order(Account account, Product product, int quantity) throws Exception {
+        OrdersDetails line = new OrdersDetails();
+        line.setProduct(product);
+        line.setQuantity(quantity);
+        ordersService.createOrder(account.getAccountId(), new ArrayList<>(List.of(line)));
+    }
+
+    private static List<Long> ids(List<ProductSuggestion> suggestions) {
+        return suggestions.stream().map(ProductSuggestion::productId).toList();
+    }
+}
@@ -0,0 +1,30 @@
+package com.letocart.java_apirest_2026.support;
+
+import com.letocart.java_apirest_2026.model.OrdersDetails;
+import com.letocart.java_apirest_2026.model.Product;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Paniers passés à OrdersService.createOrder dans les tests : basket(line(lampe, 2), line(stylo, 1))
+ */
+public final class Baskets {
+
+    private Baskets() {
+    }
+
+    public static OrdersDetails line(Product product, int quantity) {
+        OrdersDetails line = new OrdersDetails();
+        line.setProduct(product);
+        line.setQuantity(quantity);
+        return line;
+    }
+
+    /**
+     * Liste modifiable, comme celle reçue par le contrôleur
+     */
+    public static List<OrdersDetails> basket(OrdersDetails... lines) {
+        return new ArrayList<>(List.of(lines));
+    }
+}
@@ -0,0 +1,45 @@
+package com.letocart.java_apirest_2026.support;
+
+import com.letocart.java_apirest_2026.service.InventoryEngine;
+import com.letocart.java_apirest_2026.service.ProductFilterIndex;
+import com.letocart.java_apirest_2026.service.ProductSearchIndex;
+import com.letocart.java_apirest_2026.service.ProductSuggestIndex;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+/**
+ * Base vide avant chaque test, index en mémoire rechargés
+ *
+ * Les lignes sont supprimées (DELETE, pas TRUNCATE) : les identifiants ne sont jamais réattribués,
+ * une entrée de cache restée en mémoire ne peut donc pas désigner une autre ligne.
+ * id_generator, replication_heartbeat et l'historique Flyway sont conservés.
+ */
+public class CleanDatabaseExtension implements BeforeEachCallback {
+
+    // Tables filles avant leurs parents (clés étrangères)
+    private static final List<String> TABLES = List.of("idempotency_key", "orders_details", "notice",
+            "product_rating", "orders", "account", "address", "product");
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        ApplicationContext applicationContext = SpringExtension.getApplicationContext(context);
+        InventoryEngine inventoryEngine = applicationContext.getBean(InventoryEngine.class);
+        // Réservations en attente écrites avant l'effacement, pas sur les lignes suivantes
+        inventoryEngine.flush();
+
+        JdbcTemplate jdbcTemplate = applicationContext.getBean(JdbcTemplate.class);
+        TABLES.forEach(table -> jdbcTemplate.update("DELETE FROM " + table));
+
+        applicationContext.getBean(ProductSearchIndex.class).reload();
+        applicationContext.getBean(ProductSuggestIndex.class).reload();
+        applicationContext.getBean(ProductFilterIndex.class).reload();
+        if (inventoryEngine.isEnabled()) {
+            inventoryEngine.reload();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.letocart.java_apirest_2026.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * En-tête Authorization des requêtes de test (HTTP Basic)
+ */
+public final class HttpBasic {
+
+    private HttpBasic() {
+    }
+
+    public static String basic(String username, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+}
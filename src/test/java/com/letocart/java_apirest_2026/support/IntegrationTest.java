@@ -0,0 +1,27 @@
+package com.letocart.java_apirest_2026.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Test d'intégration sur le contexte Spring partagé (base H2 de src/test/resources/application.properties)
+ *
+ * Toutes les classes annotées ont la même configuration : Spring ne démarre qu'un contexte pour
+ * elles. Les données sont effacées avant chaque test (CleanDatabaseExtension). Un test qui a besoin
+ * d'autres propriétés déclare son propre @SpringBootTest, et donc son propre contexte.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@SpringBootTest
+@AutoConfigureMockMvc
+@ExtendWith(CleanDatabaseExtension.class)
+public @interface IntegrationTest {
+}
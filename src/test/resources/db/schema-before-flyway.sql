@@ -0,0 +1,95 @@
+-- Schéma d'avant Flyway : DDL généré par Hibernate (MySQLDialect) depuis les entités d'origine
+-- Point de départ de SchemaUpgradeTest (base créée par ddl-auto=update)
+
+    create table account (
+        account_id bigint not null auto_increment,
+        address_id bigint,
+        email varchar(255) not null,
+        first_name varchar(255) not null,
+        last_name varchar(255) not null,
+        password varchar(255) not null,
+        primary key (account_id)
+    ) engine=InnoDB;
+
+    create table address (
+        address_id bigint not null auto_increment,
+        postal_code varchar(10) not null,
+        city varchar(255) not null,
+        country varchar(255) not null,
+        street varchar(255) not null,
+        primary key (address_id)
+    ) engine=InnoDB;
+
+    create table notice (
+        rating integer not null,
+        account_id bigint not null,
+        created_at datetime(6) not null,
+        notice_id bigint not null auto_increment,
+        product_id bigint not null,
+        comment varchar(2000),
+        primary key (notice_id)
+    ) engine=InnoDB;
+
+    create table orders (
+        total_amount decimal(10,2) not null,
+        account_id bigint not null,
+        order_date datetime(6) not null,
+        orders_id bigint not null auto_increment,
+        status varchar(255) not null,
+        primary key (orders_id)
+    ) engine=InnoDB;
+
+    create table orders_details (
+        quantity integer not null,
+        subtotal decimal(10,2) not null,
+        unit_price decimal(10,2) not null,
+        id bigint not null auto_increment,
+        orders_id bigint not null,
+        product_id bigint not null,
+        primary key (id)
+    ) engine=InnoDB;
+
+    create table product (
+        price decimal(10,2) not null,
+        stock_quantity integer not null,
+        product_id bigint not null auto_increment,
+        description varchar(1000),
+        name varchar(255) not null,
+        primary key (product_id)
+    ) engine=InnoDB;
+
+    alter table account 
+       add constraint UKq4mt85fqye0pwgamg8vlw8mrb unique (address_id);
+
+    alter table account 
+       add constraint UKq0uja26qgu1atulenwup9rxyr unique (email);
+
+    alter table account 
+       add constraint FK9lna4d7ow9qbs27m5psafys58 
+       foreign key (address_id) 
+       references address (address_id);
+
+    alter table notice 
+       add constraint FK6dmg4qb0732lwc6fxxli20ice 
+       foreign key (account_id) 
+       references account (account_id);
+
+    alter table notice 
+       add constraint FKprdve0edic7ac64re25smdj6t 
+       foreign key (product_id) 
+       references product (product_id);
+
+    alter table orders 
+       add constraint FK3c7gbsfawn58r27cf5b2km72f 
+       foreign key (account_id) 
+       references account (account_id);
+
+    alter table orders_details 
+       add constraint FKdigmarmdh97eoqop1agvaea0j 
+       foreign key (orders_id) 
+       references orders (orders_id);
+
+    alter table orders_details 
+       add constraint FKpnhck06jl5as1kxb6fk2jtthq 
+       foreign key (product_id) 
+       references product (product_id);